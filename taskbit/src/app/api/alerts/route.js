@@ -13,7 +13,9 @@ export async function GET(req) {
       );
     }
 
-    const response = await fetch("http://localhost:8080/api/alerts", {
+    // Reenviar filtros y paginación (status, cursor, limit) al backend
+    const search = req.nextUrl.search || "";
+    const response = await fetch(`http://localhost:8080/api/alerts${search}`, {
       method: "GET",
       headers: {
         "Authorization": `Bearer ${token}`,
@@ -0,0 +1,51 @@
+import { NextResponse } from "next/server";
+
+// La respuesta es un stream abierto: no se puede generar ni cachear de forma estática
+export const dynamic = "force-dynamic";
+
+export async function GET(req) {
+  try {
+    // Obtener el token del header Authorization
+    const authHeader = req.headers.get("authorization");
+    const token = authHeader?.startsWith("Bearer ") ? authHeader.substring(7) : null;
+
+    if (!token) {
+      return NextResponse.json(
+        { error: "No autorizado" },
+        { status: 401 }
+      );
+    }
+
+    // Al cerrar el cliente se aborta también la conexión con el backend
+    const response = await fetch("http://localhost:8080/api/alerts/stream", {
+      method: "GET",
+      headers: {
+        "Authorization": `Bearer ${token}`,
+        "Accept": "text/event-stream",
+      },
+      signal: req.signal,
+    });
+
+    if (!response.ok || !response.body) {
+      return NextResponse.json(
+        { error: "Error al abrir el stream de eventos" },
+        { status: response.status || 500 }
+      );
+    }
+
+    // Reenviar el cuerpo tal cual, sin leerlo completo
+    return new Response(response.body, {
+      headers: {
+        "Content-Type": "text/event-stream",
+        "Cache-Control": "no-cache, no-transform",
+        "Connection": "keep-alive",
+      },
+    });
+  } catch (error) {
+    console.error("Error en GET /api/alerts/stream:", error);
+    return NextResponse.json(
+      { error: "Error en el servidor" },
+      { status: 500 }
+    );
+  }
+}
@@ -13,7 +13,9 @@ export async function GET(req) {
       );
     }
 
-    const response = await fetch("http://localhost:8080/api/tasks", {
+    // Reenviar filtros, ordenamiento y cursor al backend
+    const search = req.nextUrl.search || "";
+    const response = await fetch(`http://localhost:8080/api/tasks${search}`, {
       method: "GET",
       headers: {
         "Authorization": `Bearer ${token}`,
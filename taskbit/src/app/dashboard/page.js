@@ -1,6 +1,6 @@
 "use client";
 
-import { useEffect, useState, useMemo } from "react";
+import { useEffect, useState, useRef } from "react";
 import AuthService from "@/services/auth.service";
 import HttpClient from "@/services/http.client";
 import { useRouter } from "next/navigation";
@@ -10,9 +10,29 @@ import TaskFilters from "@/components/TaskFilters";
 import EditTaskForm from "@/components/EditTaskForm";
 import DeleteTaskConfirmation from "@/components/DeleteTaskConfirmation";
 
+// Tamaño de página de /api/tasks; el resto se pide con nextCursor
+const PAGE_SIZE = 50;
+
+// Traduce el estado de los filtros a los parámetros que entiende GET /api/tasks
+const buildTaskQuery = (filters, cursor) => {
+  const params = new URLSearchParams({ limit: String(PAGE_SIZE) });
+  if (filters.status) params.set("status", filters.status);
+  if (filters.priority) params.set("priority", filters.priority);
+  if (filters.course) params.set("course", filters.course);
+  if (filters.searchTitle.trim()) params.set("title", filters.searchTitle.trim());
+  if (filters.sortBy !== "none") {
+    params.set("sortBy", filters.sortBy);
+    params.set("sortOrder", filters.sortOrder);
+  }
+  if (cursor) params.set("cursor", cursor);
+  return params.toString();
+};
+
 export default function DashboardPage() {
   const [user, setUser] = useState(null);
   const [tasks, setTasks] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [alerts, setAlerts] = useState([]);
   const [loading, setLoading] = useState(true);
   const [selectedTask, setSelectedTask] = useState(null);
@@ -28,26 +48,45 @@ export default function DashboardPage() {
   });
   const router = useRouter();
   const { logout } = useAuth();
-
-  const loadTasks = async () => {
+  // Los filtros vigentes y la última petición se guardan en refs para que las
+  // recargas lanzadas desde el stream de eventos usen siempre los filtros actuales
+  const filtersRef = useRef(filters);
+  const requestIdRef = useRef(0);
+  const filterTimeoutRef = useRef(null);
+
+  // Sin cursor recarga la primera página; con cursor añade la siguiente a la lista
+  const loadTasks = async (cursor = null) => {
+    const requestId = ++requestIdRef.current;
     try {
       const token = AuthService.getToken();
-      const response = await fetch("/api/tasks", {
+      const response = await fetch(`/api/tasks?${buildTaskQuery(filtersRef.current, cursor)}`, {
         headers: {
           "Content-Type": "application/json",
           "Authorization": `Bearer ${token}`,
         },
       });
 
+      // Descartar respuestas de peticiones ya reemplazadas por otras más recientes
+      if (requestId !== requestIdRef.current) return;
+
       if (response.ok) {
         const tasksData = await response.json();
-        setTasks(tasksData);
+        const items = tasksData.items || [];
+        setTasks(prevTasks => (cursor ? [...prevTasks, ...items] : items));
+        setNextCursor(tasksData.nextCursor || null);
       }
     } catch (error) {
       console.error("Error cargando tareas:", error);
     }
   };
 
+  const handleLoadMore = async () => {
+    if (!nextCursor || loadingMore) return;
+    setLoadingMore(true);
+    await loadTasks(nextCursor);
+    setLoadingMore(false);
+  };
+
   const loadAlerts = async () => {
     try {
       const token = AuthService.getToken();
@@ -91,6 +130,58 @@ export default function DashboardPage() {
     loadUserData();
   }, []);
 
+  // Eventos en tiempo real: se recargan alertas o tareas solo cuando el backend avisa
+  useEffect(() => {
+    const controller = new AbortController();
+    let retryTimeout = null;
+
+    const connect = async () => {
+      try {
+        const token = AuthService.getToken();
+        const response = await fetch("/api/alerts/stream", {
+          headers: { "Authorization": `Bearer ${token}` },
+          signal: controller.signal,
+        });
+        if (!response.ok || !response.body) {
+          throw new Error(`Status ${response.status}`);
+        }
+
+        const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = "";
+        while (true) {
+          const { value, done } = await reader.read();
+          if (done) break;
+          buffer += value;
+          // Los eventos SSE terminan con una línea en blanco
+          const events = buffer.split("\n\n");
+          buffer = events.pop();
+          for (const rawEvent of events) {
+            const eventLine = rawEvent.split("\n").find(line => line.startsWith("event:"));
+            const eventName = eventLine ? eventLine.substring(6).trim() : null;
+            if (eventName === "alert-fired") {
+              loadAlerts();
+            } else if (eventName === "task-changed") {
+              loadTasks();
+            }
+          }
+        }
+      } catch (error) {
+        if (controller.signal.aborted) return;
+        console.error("Dashboard: Error en el stream de eventos:", error);
+      }
+      // El servidor cierra la conexión al vencer su tiempo máximo: reconectar
+      if (!controller.signal.aborted) {
+        retryTimeout = setTimeout(connect, 5000);
+      }
+    };
+
+    connect();
+    return () => {
+      controller.abort();
+      clearTimeout(retryTimeout);
+    };
+  }, []);
+
   const handleLogout = () => {
     logout();
     router.push("/login");
@@ -196,8 +287,16 @@ export default function DashboardPage() {
 
   const handleFilterChange = (newFilters) => {
     setFilters(newFilters);
+    filtersRef.current = newFilters;
+    // El cursor pertenece al ordenamiento anterior: no se puede seguir paginando con él
+    setNextCursor(null);
+    // Esperar a que el usuario deje de escribir antes de pedir la primera página
+    clearTimeout(filterTimeoutRef.current);
+    filterTimeoutRef.current = setTimeout(() => loadTasks(), 300);
   };
 
+  useEffect(() => () => clearTimeout(filterTimeoutRef.current), []);
+
   const handleTaskClick = async (task) => {
     // Cargar los datos completos de la tarea antes de abrir el editor
     try {
@@ -243,75 +342,6 @@ export default function DashboardPage() {
     setTaskToDelete(null);
   };
 
-  // Filtrar y ordenar tareas
-  const filteredAndSortedTasks = useMemo(() => {
-    let result = [...tasks];
-
-    // Aplicar filtros
-    if (filters.status) {
-      result = result.filter(task => task.status === filters.status);
-    }
-
-    if (filters.priority) {
-      result = result.filter(task => 
-        task.priority && task.priority.toLowerCase() === filters.priority.toLowerCase()
-      );
-    }
-
-    if (filters.course) {
-      result = result.filter(task => task.course === filters.course);
-    }
-
-    // Búsqueda por título (combinada con otros filtros)
-    if (filters.searchTitle) {
-      const searchLower = filters.searchTitle.toLowerCase();
-      result = result.filter(task => 
-        task.title && task.title.toLowerCase().includes(searchLower)
-      );
-    }
-
-    // Aplicar ordenamiento
-    if (filters.sortBy !== "none") {
-      result.sort((a, b) => {
-        let comparison = 0;
-
-        switch (filters.sortBy) {
-          case "dueDate":
-            // Ordenar por fecha de entrega
-            const dateA = a.dueDate ? new Date(a.dueDate).getTime() : 0;
-            const dateB = b.dueDate ? new Date(b.dueDate).getTime() : 0;
-            comparison = dateA - dateB;
-            // Si no hay fecha, van al final
-            if (!a.dueDate && b.dueDate) comparison = 1;
-            if (a.dueDate && !b.dueDate) comparison = -1;
-            break;
-
-          case "priority":
-            // Ordenar por prioridad: alta > media > baja
-            const priorityOrder = { alta: 3, media: 2, baja: 1 };
-            const priorityA = priorityOrder[a.priority?.toLowerCase()] || 0;
-            const priorityB = priorityOrder[b.priority?.toLowerCase()] || 0;
-            comparison = priorityA - priorityB;
-            break;
-
-          case "title":
-            // Ordenar por título alfabéticamente
-            const titleA = (a.title || "").toLowerCase();
-            const titleB = (b.title || "").toLowerCase();
-            comparison = titleA.localeCompare(titleB);
-            break;
-
-          default:
-            return 0;
-        }
-
-        return filters.sortOrder === "asc" ? comparison : -comparison;
-      });
-    }
-
-    return result;
-  }, [tasks, filters]);
-
   if (loading) {
     return (
       <div className="flex items-center justify-center min-h-screen">
@@ -389,11 +419,11 @@ export default function DashboardPage() {
           <div className="bg-white rounded-lg shadow p-6">
             <h3 className="text-xl font-bold mb-4">Lista de Tareas</h3>
             
-            {filteredAndSortedTasks.length === 0 ? (
+            {tasks.length === 0 ? (
               <p className="text-gray-500 text-center py-8">No se encontraron tareas</p>
             ) : (
               <div className="space-y-4">
-                {filteredAndSortedTasks.map((task) => (
+                {tasks.map((task) => (
                   <div
                     key={task.id}
                     onClick={() => handleTaskClick(task)}
@@ -476,6 +506,18 @@ export default function DashboardPage() {
                 ))}
               </div>
             )}
+
+            {nextCursor && (
+              <div className="mt-6 text-center">
+                <button
+                  onClick={handleLoadMore}
+                  disabled={loadingMore}
+                  className="px-4 py-2 text-sm font-medium text-indigo-700 bg-indigo-50 border border-indigo-200 rounded-md hover:bg-indigo-100 disabled:opacity-50"
+                >
+                  {loadingMore ? "Cargando..." : "Cargar más tareas"}
+                </button>
+              </div>
+            )}
           </div>
         </div>
       </main>
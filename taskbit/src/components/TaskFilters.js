@@ -1,6 +1,7 @@
 "use client";
 
 import { useState, useEffect } from "react";
+import AuthService from "@/services/auth.service";
 
 export default function TaskFilters({ tasks, onFilterChange }) {
   const [filters, setFilters] = useState({
@@ -15,9 +16,11 @@ export default function TaskFilters({ tasks, onFilterChange }) {
   const [uniqueCourses, setUniqueCourses] = useState([]);
 
   useEffect(() => {
-    // Extraer cursos únicos de las tareas
-    const courses = [...new Set(tasks.map(task => task.course).filter(Boolean))].sort();
-    setUniqueCourses(courses);
+    // Extraer cursos únicos de las tareas. La lista ya llega filtrada del servidor,
+    // así que se acumulan para no perder opciones al elegir un curso
+    setUniqueCourses(prevCourses =>
+      [...new Set([...prevCourses, ...tasks.map(task => task.course).filter(Boolean)])].sort()
+    );
   }, [tasks]);
 
   const handleFilterChange = (name, value) => {
@@ -26,12 +29,40 @@ export default function TaskFilters({ tasks, onFilterChange }) {
     onFilterChange(newFilters);
   };
 
-  // Contadores por estado
-  const taskCounts = {
-    Pendiente: tasks.filter(t => t.status === "Pendiente").length,
-    "En progreso": tasks.filter(t => t.status === "En progreso").length,
-    Completada: tasks.filter(t => t.status === "Completada").length,
-  };
+  // Contadores por estado (calculados en el servidor)
+  const [taskCounts, setTaskCounts] = useState({
+    Pendiente: 0,
+    "En progreso": 0,
+    Completada: 0,
+  });
+
+  useEffect(() => {
+    // Recargar los contadores cada vez que cambia la lista de tareas
+    const loadCounts = async () => {
+      try {
+        const token = AuthService.getToken();
+        const response = await fetch("/api/tasks/counts", {
+          headers: {
+            "Content-Type": "application/json",
+            "Authorization": `Bearer ${token}`,
+          },
+        });
+
+        if (response.ok) {
+          const counts = await response.json();
+          setTaskCounts({
+            Pendiente: counts.pending,
+            "En progreso": counts.inProgress,
+            Completada: counts.completed,
+          });
+        }
+      } catch (error) {
+        console.error("Error cargando contadores:", error);
+      }
+    };
+
+    loadCounts();
+  }, [tasks]);
 
   return (
     <div className="bg-white rounded-lg shadow p-6 mb-6">
@@ -1,8 +1,13 @@
 package auth.service;
 
+import com.taskbit.backend.config.CacheConfig;
 import com.taskbit.backend.email.EmailService;
 import com.taskbit.backend.exception.AuthenticationException;
+import com.taskbit.backend.task.TaskStatusCounterService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,11 +28,14 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final EmailService emailService;
+    private final TaskStatusCounterService taskStatusCounterService;
+    private final CacheManager cacheManager;
     
     // Duración del token de reset (24 horas)
     private static final int TOKEN_EXPIRATION_HOURS = 24;
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#request.email")
     public AppUser registerUser(RegisterRequest request) {
         // Verificar si el email ya existe
         if (userRepository.findByEmail(request.getEmail()).isPresent()) {
@@ -43,7 +51,12 @@ public class UserService {
                 .createdAt(OffsetDateTime.now())
                 .build();
 
-        return userRepository.save(newUser);
+        AppUser savedUser = userRepository.save(newUser);
+
+        // Crear los contadores de tareas vacíos del nuevo usuario
+        taskStatusCounterService.initialize(savedUser.getId());
+
+        return savedUser;
     }
 
     @Transactional(readOnly = true)
@@ -89,8 +102,8 @@ public class UserService {
 
         passwordResetTokenRepository.save(resetToken);
 
-        // Enviar email con el enlace de recuperación
-        emailService.sendPasswordResetEmail(user.getEmail(), tokenValue);
+        // Encolar el email con el enlace de recuperación (se envía tras confirmar la transacción)
+        emailService.queuePasswordResetEmail(user.getEmail(), tokenValue);
         
         return tokenValue;
     }
@@ -125,5 +138,15 @@ public class UserService {
         // Marcar token como usado
         resetToken.setUsed(true);
         passwordResetTokenRepository.save(resetToken);
+
+        // El hash cacheado ya no es válido; la caché es transaccional y desaloja tras el commit
+        evictCachedUser(user.getEmail());
+    }
+
+    private void evictCachedUser(String email) {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_BY_EMAIL);
+        if (cache != null) {
+            cache.evict(email);
+        }
     }
 }
\ No newline at end of file
@@ -22,6 +22,10 @@ public class Alert {
     @Column(name = "time_before", nullable = false)
     private String timeBefore; // ej: '24 hours' (puedes migrarlo a Duration con un AttributeConverter)
 
+    // timeBefore ya interpretado; la reprogramación calcula scheduledFor con él en SQL
+    @Column(name = "offset_minutes", nullable = false)
+    private Integer offsetMinutes;
+
     @Column(name = "scheduled_for", nullable = false)
     private OffsetDateTime scheduledFor;
 
@@ -31,4 +35,24 @@ public class Alert {
 
     @Column(name = "created_at")
     private OffsetDateTime createdAt;
+
+    // Cuándo entró la alerta disparada en un resumen; nulo mientras no se ha notificado (ver V17)
+    @Column(name = "digested_at")
+    private OffsetDateTime digestedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Asignado por la base de datos en cada INSERT/UPDATE (ver V7); usado por /api/sync
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+
+    // Transacción que hizo la última escritura (ver V16); orden del cursor de /api/sync
+    @Column(name = "change_xid", insertable = false, updatable = false)
+    private Long changeXid;
+
+    // Dueño de la tarea, copiado por un trigger al insertar (ver V16); solo para /api/sync
+    @Column(name = "user_id", insertable = false, updatable = false)
+    private Long userId;
 }
\ No newline at end of file
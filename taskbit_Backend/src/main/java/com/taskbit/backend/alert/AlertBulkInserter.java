@@ -0,0 +1,13 @@
+package com.taskbit.backend.alert;
+
+import java.util.List;
+
+/**
+ * Inserción en bloque de alertas nuevas dentro de la transacción actual. Las que ya existen
+ * para la misma (tarea, tiempo de aviso) según ux_alert_nodup se omiten sin error.
+ * Devuelve solo las alertas insertadas, con su id asignado.
+ * La implementación se elige según la base de datos (ver {@link AlertVendorConfig}).
+ */
+public interface AlertBulkInserter {
+    List<Alert> insert(List<Alert> alerts);
+}
@@ -1,17 +1,22 @@
 package com.taskbit.backend.alert;
 
+import com.taskbit.backend.alert.dto.AlertListRequest;
+import com.taskbit.backend.alert.dto.AlertPageResponse;
 import com.taskbit.backend.alert.dto.AlertResponse;
 import com.taskbit.backend.alert.dto.CreateAlertRequest;
+import com.taskbit.backend.security.AuthenticatedUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.security.Principal;
 import java.util.List;
 
 @RestController
@@ -21,65 +26,63 @@ import java.util.List;
 @SecurityRequirement(name = "Bearer Authentication")
 public class AlertController {
     private final AlertService alertService;
+    private final AlertStreamService alertStreamService;
 
     @PostMapping
     @Operation(summary = "Crear nueva alerta", description = "Crea una nueva alerta para una tarea existente")
-    public ResponseEntity<AlertResponse> createAlert(@Valid @RequestBody CreateAlertRequest request, Principal principal) {
-        try {
-            String userEmail = principal != null ? principal.getName() : null;
-            if (userEmail == null) {
-                System.err.println("AlertController: Usuario no autenticado");
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-            }
-
-            System.out.println("AlertController: Creando alerta para usuario: " + userEmail + ", taskId: " + request.getTaskId() + ", timeBefore: " + request.getTimeBefore());
-            
-            AlertResponse alert = alertService.createAlert(request, userEmail);
-            
-            System.out.println("AlertController: Alerta creada exitosamente con ID: " + alert.getId());
-            
-            return ResponseEntity.status(HttpStatus.CREATED).body(alert);
-        } catch (Exception e) {
-            System.err.println("AlertController: Error al crear alerta: " + e.getMessage());
-            e.printStackTrace();
-            // Las excepciones serán manejadas por GlobalExceptionHandler
-            throw e;
+    public ResponseEntity<AlertResponse> createAlert(@Valid @RequestBody CreateAlertRequest request, @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
+
+        AlertResponse alert = alertService.createAlert(request, currentUser.getUserId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(alert);
     }
 
     @GetMapping
-    @Operation(summary = "Listar alertas del usuario", description = "Obtiene todas las alertas de las tareas del usuario autenticado")
-    public ResponseEntity<List<AlertResponse>> getUserAlerts(Principal principal) {
-        String userEmail = principal != null ? principal.getName() : null;
-        if (userEmail == null) {
+    @Operation(summary = "Listar alertas del usuario", description = "Obtiene una página de alertas de las tareas del usuario autenticado, ordenadas por fecha programada. Admite filtro por estado (activa, desactivada, ejecutada) y paginación por cursor (cursor/limit)")
+    public ResponseEntity<AlertPageResponse> getUserAlerts(@ModelAttribute AlertListRequest request, @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        List<AlertResponse> alerts = alertService.getUserAlerts(userEmail);
+        AlertPageResponse alerts = alertService.getUserAlerts(request, currentUser.getUserId());
         return ResponseEntity.ok(alerts);
     }
 
     @GetMapping("/active")
     @Operation(summary = "Listar alertas activas", description = "Obtiene todas las alertas activas de las tareas del usuario autenticado")
-    public ResponseEntity<List<AlertResponse>> getActiveAlerts(Principal principal) {
-        String userEmail = principal != null ? principal.getName() : null;
-        if (userEmail == null) {
+    public ResponseEntity<List<AlertResponse>> getActiveAlerts(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        List<AlertResponse> alerts = alertService.getActiveAlerts(userEmail);
+        List<AlertResponse> alerts = alertService.getActiveAlerts(currentUser.getUserId());
         return ResponseEntity.ok(alerts);
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Eventos en tiempo real", description = "Stream Server-Sent Events del usuario autenticado: 'alert-fired' con las alertas disparadas y 'task-changed' con los cambios de tareas (change, taskIds). Envía un comentario de heartbeat periódico")
+    public ResponseEntity<SseEmitter> streamEvents(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        SseEmitter emitter = alertStreamService.subscribe(currentUser.getUserId());
+        return ResponseEntity.ok()
+                // Evita que un proxy (nginx) acumule los eventos
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
     @GetMapping("/task/{taskId}")
     @Operation(summary = "Listar alertas de una tarea", description = "Obtiene todas las alertas de una tarea específica")
-    public ResponseEntity<List<AlertResponse>> getTaskAlerts(@PathVariable Long taskId, Principal principal) {
-        String userEmail = principal != null ? principal.getName() : null;
-        if (userEmail == null) {
+    public ResponseEntity<List<AlertResponse>> getTaskAlerts(@PathVariable Long taskId, @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        List<AlertResponse> alerts = alertService.getTaskAlerts(taskId, userEmail);
+        List<AlertResponse> alerts = alertService.getTaskAlerts(taskId, currentUser.getUserId());
         return ResponseEntity.ok(alerts);
     }
 }
@@ -0,0 +1,45 @@
+package com.taskbit.backend.alert;
+
+import com.taskbit.backend.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Posición dentro del listado de alertas, ordenado por (scheduledFor, id).
+ * Se serializa como un token opaco en Base64 URL-safe.
+ */
+@Getter
+@AllArgsConstructor
+public class AlertCursor {
+    private final OffsetDateTime scheduledFor;
+    private final Long id;
+
+    public String encode() {
+        String raw = id + ":" + scheduledFor.toInstant();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AlertCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // El instante va al final porque contiene ':'
+            String[] parts = raw.split(":", 2);
+            if (parts.length != 2) {
+                throw new BusinessException("Cursor no válido");
+            }
+            Long id = Long.parseLong(parts[0]);
+            OffsetDateTime scheduledFor = Instant.parse(parts[1]).atOffset(ZoneOffset.UTC);
+            return new AlertCursor(scheduledFor, id);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BusinessException("Cursor no válido");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.taskbit.backend.alert;
+
+import com.taskbit.backend.alert.dto.AlertResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Publicado por {@link AlertDigestService} al vaciar el resumen de un usuario: una sola
+ * notificación con todas las alertas agrupadas en la ventana.
+ */
+@Getter
+@AllArgsConstructor
+public class AlertDigestEvent {
+    private final Long userId;
+    private final List<AlertResponse> alerts;
+}
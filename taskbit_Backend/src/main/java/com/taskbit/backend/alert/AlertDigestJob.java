@@ -0,0 +1,39 @@
+package com.taskbit.backend.alert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskbit.backend.job.JobHandler;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cierra la ventana de resumen de un usuario desde la cola de trabajos (ver {@link AlertDigestService}).
+ */
+@Component
+@RequiredArgsConstructor
+public class AlertDigestJob implements JobHandler {
+    public static final String TYPE = "alert.digest";
+
+    private final AlertDigestService alertDigestService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void handle(String payload) throws Exception {
+        Payload digest = objectMapper.readValue(payload, Payload.class);
+        alertDigestService.sendDigest(digest.getUserId());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Payload {
+        private Long userId;
+    }
+}
@@ -0,0 +1,139 @@
+package com.taskbit.backend.alert;
+
+import com.taskbit.backend.alert.dto.AlertResponse;
+import com.taskbit.backend.email.AlertDigestEmailJob;
+import com.taskbit.backend.email.EmailService;
+import com.taskbit.backend.job.JobQueue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Agrupa las alertas disparadas de cada usuario en un resumen: la primera alerta abre una
+ * ventana (taskbit.alerts.digest.window) y al cerrarse se envía una sola notificación
+ * ({@link AlertDigestEvent}) y un solo correo.
+ *
+ * <p>La ventana es un trabajo alert.digest del usuario con run_at al final de la ventana,
+ * encolado en la misma transacción que marca las alertas como ejecutadas. Al ejecutarse, el
+ * trabajo recoge las alertas ejecutadas del usuario con digested_at nulo, las marca y encola
+ * el correo en una sola transacción: sobrevive a reinicios y, con varias instancias, cada
+ * alerta entra en un único resumen. Un resumen lleva como mucho max-size alertas; si quedan
+ * más, se encola otro de inmediato.
+ */
+@Service
+public class AlertDigestService {
+
+    private static final String EXECUTED = "ejecutada";
+
+    private final AlertRepository alertRepository;
+    private final EmailService emailService;
+    private final JobQueue jobQueue;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Duration window;
+    private final int maxSize;
+    private final Counter digestsCounter;
+    private final DistributionSummary digestSize;
+
+    public AlertDigestService(AlertRepository alertRepository,
+                              EmailService emailService,
+                              JobQueue jobQueue,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              @Value("${taskbit.alerts.digest.enabled:true}") boolean enabled,
+                              @Value("${taskbit.alerts.digest.window:5m}") Duration window,
+                              @Value("${taskbit.alerts.digest.max-size:50}") int maxSize) {
+        this.alertRepository = alertRepository;
+        this.emailService = emailService;
+        this.jobQueue = jobQueue;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.window = window;
+        this.maxSize = maxSize;
+
+        this.digestsCounter = Counter.builder("alerts.digest.sent")
+                .description("Resúmenes de alertas enviados")
+                .register(meterRegistry);
+        this.digestSize = DistributionSummary.builder("alerts.digest.size")
+                .description("Alertas por resumen")
+                .register(meterRegistry);
+    }
+
+    // Dentro de la transacción del disparo: si se confirma, el trabajo del resumen existe
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onAlertsFired(AlertsFiredEvent event) {
+        if (!enabled) {
+            return;
+        }
+        OffsetDateTime windowEnd = event.getFiredAt().plus(window);
+        for (Long userId : alertRepository.findUserIdsByIdIn(event.getAlertIds())) {
+            // Si el usuario ya tiene una ventana abierta, sus alertas entran en ella
+            jobQueue.enqueueIfAbsent(AlertDigestJob.TYPE, new AlertDigestJob.Payload(userId), windowEnd);
+        }
+    }
+
+    /**
+     * Cierra la ventana del usuario: agrupa sus alertas disparadas pendientes de resumen,
+     * las marca y encola el correo. Sin alertas pendientes (p. ej. otro trabajo ya las
+     * envió) no hace nada.
+     */
+    @Transactional
+    public void sendDigest(Long userId) {
+        List<Long> candidates = alertRepository.findUndigestedIdsForUser(userId, EXECUTED, PageRequest.of(0, maxSize));
+        if (candidates.isEmpty()) {
+            return;
+        }
+        List<Long> alertIds = alertRepository.lockUndigestedByIdIn(candidates).stream()
+                .map(Alert::getId)
+                .toList();
+        if (alertIds.isEmpty()) {
+            return;
+        }
+        alertRepository.markDigested(alertIds, OffsetDateTime.now());
+
+        String email = null;
+        String name = null;
+        List<AlertResponse> alerts = new ArrayList<>(alertIds.size());
+        List<AlertDigestEmailJob.Item> items = new ArrayList<>(alertIds.size());
+        List<Object[]> rows = new ArrayList<>(alertRepository.findDigestRowsByIdIn(alertIds));
+        rows.sort(Comparator.comparing(row -> (OffsetDateTime) row[8]));
+        for (Object[] row : rows) {
+            email = (String) row[1];
+            name = (String) row[2];
+            alerts.add(AlertResponse.builder()
+                    .id((Long) row[3])
+                    .taskId((Long) row[4])
+                    .taskTitle((String) row[5])
+                    .timeBefore((String) row[7])
+                    .scheduledFor((OffsetDateTime) row[8])
+                    .status((String) row[9])
+                    .createdAt((OffsetDateTime) row[10])
+                    .build());
+            items.add(new AlertDigestEmailJob.Item((String) row[5], (LocalDate) row[6], (String) row[7]));
+        }
+
+        emailService.queueAlertDigestEmail(email, name, items);
+        eventPublisher.publishEvent(new AlertDigestEvent(userId, List.copyOf(alerts)));
+        digestsCounter.increment();
+        digestSize.record(alerts.size());
+
+        if (candidates.size() == maxSize) {
+            // Puede haber más alertas pendientes que las de este resumen
+            jobQueue.enqueue(AlertDigestJob.TYPE, new AlertDigestJob.Payload(userId));
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.taskbit.backend.alert;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dispara las alertas activas a su hora. Mantiene en una {@link HierarchicalTimingWheel} las
+ * alertas programadas dentro del horizonte (taskbit.alerts.dispatcher.horizon); cada
+ * refill-interval carga solo el tramo nuevo del horizonte, así que la tabla no se vuelve a
+ * recorrer. Las altas, reprogramaciones y desactivaciones llegan por {@link #schedule} y
+ * {@link #cancel} al confirmarse la transacción que las hizo.
+ *
+ * <p>Al vencer, las alertas se marcan como ejecutadas por lotes en un pequeño pool de hilos.
+ * Cada lote bloquea las filas que siguen activas y cuya hora ya llegó, de modo que una alerta
+ * desactivada entre tanto no se dispara y dos instancias no disparan la misma alerta. Las
+ * reprogramaciones solo avisan a la rueda de la instancia que las hizo: si otra instancia
+ * tiene la hora antigua, al vencer encuentra la alerta pendiente y la vuelve a colocar.
+ */
+@Component
+@Slf4j
+public class AlertDispatcher {
+
+    private static final String ACTIVE = "activa";
+    private static final String EXECUTED = "ejecutada";
+    // 4 niveles de 64 ranuras: con ticks de 1 s la rueda alcanza unos 194 días
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 4;
+    private static final int PRELOAD_PAGE_SIZE = 5_000;
+    private static final OffsetDateTime EPOCH = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private final AlertRepository alertRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter firedCounter;
+    private final boolean enabled;
+    private final Duration horizon;
+    private final Duration refillInterval;
+    private final Duration tick;
+    private final Duration retryDelay;
+    private final int fireThreads;
+    private final int batchSize;
+
+    // Acceso a la rueda siempre con el monitor de this
+    private volatile HierarchicalTimingWheel wheel;
+    // Hasta dónde (ms) está cargada la rueda; -1 antes de la primera carga
+    private volatile long loadedUntil = -1;
+    private ScheduledExecutorService scheduler;
+    private ExecutorService firingPool;
+
+    public AlertDispatcher(AlertRepository alertRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${taskbit.alerts.dispatcher.enabled:true}") boolean enabled,
+                           @Value("${taskbit.alerts.dispatcher.horizon:6h}") Duration horizon,
+                           @Value("${taskbit.alerts.dispatcher.refill-interval:15m}") Duration refillInterval,
+                           @Value("${taskbit.alerts.dispatcher.tick:1s}") Duration tick,
+                           @Value("${taskbit.alerts.dispatcher.retry-delay:30s}") Duration retryDelay,
+                           @Value("${taskbit.alerts.dispatcher.fire-threads:2}") int fireThreads,
+                           @Value("${taskbit.alerts.dispatcher.batch-size:500}") int batchSize) {
+        this.alertRepository = alertRepository;
+        this.eventPublisher = eventPublisher;
+        // Sin readOnly a propósito: la precarga debe leer del primario (ver load)
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.horizon = horizon;
+        this.refillInterval = refillInterval;
+        this.tick = tick;
+        this.retryDelay = retryDelay;
+        this.fireThreads = fireThreads;
+        this.batchSize = batchSize;
+
+        this.firedCounter = Counter.builder("alerts.fired")
+                .description("Alertas disparadas y marcadas como ejecutadas")
+                .register(meterRegistry);
+        Gauge.builder("alerts.dispatcher.pending", this, AlertDispatcher::pending)
+                .description("Alertas cargadas en la rueda de tiempo")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Despachador de alertas desactivado (taskbit.alerts.dispatcher.enabled=false)");
+            return;
+        }
+        HierarchicalTimingWheel timingWheel = new HierarchicalTimingWheel(
+                tick.toMillis(), WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+        if (horizon.plus(refillInterval).toMillis() > timingWheel.spanMillis()) {
+            throw new IllegalStateException("taskbit.alerts.dispatcher.horizon supera el alcance de la rueda de tiempo");
+        }
+        firingPool = Executors.newFixedThreadPool(fireThreads, threadFactory("alert-fire"));
+        wheel = timingWheel;
+        // Un hilo para los ticks y otro para la precarga, que puede tardar
+        scheduler = Executors.newScheduledThreadPool(2, threadFactory("alert-dispatcher"));
+        scheduler.scheduleWithFixedDelay(this::refill, 0, refillInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleAtFixedRate(this::advance, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (firingPool != null) {
+            firingPool.shutdown();
+        }
+    }
+
+    /**
+     * Programa una alerta nueva o reprogramada cuando se confirme la transacción actual.
+     */
+    public void schedule(Long alertId, OffsetDateTime scheduledFor) {
+        long deadline = scheduledFor.toInstant().toEpochMilli();
+        afterCommit(() -> place(alertId, deadline));
+    }
+
+    /**
+     * Quita de la rueda alertas desactivadas cuando se confirme la transacción actual.
+     */
+    public void cancel(Collection<Long> alertIds) {
+        if (alertIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(alertIds);
+        afterCommit(() -> {
+            if (wheel == null) {
+                return;
+            }
+            synchronized (this) {
+                ids.forEach(wheel::cancel);
+            }
+        });
+    }
+
+    private void place(long alertId, long deadline) {
+        if (wheel == null) {
+            return;
+        }
+        HierarchicalTimingWheel.Placement placement;
+        synchronized (this) {
+            // Fuera del tramo ya cargado la recogerá la próxima precarga
+            if (deadline >= loadedUntil) {
+                wheel.cancel(alertId);
+                return;
+            }
+            placement = wheel.schedule(alertId, deadline);
+        }
+        if (placement == HierarchicalTimingWheel.Placement.EXPIRED) {
+            fire(List.of(alertId));
+        }
+    }
+
+    private void refill() {
+        long previous = loadedUntil;
+        long until = System.currentTimeMillis() + horizon.toMillis();
+        // Se avanza antes de consultar: una alerta confirmada después de empezar la consulta
+        // ya ve el nuevo límite en schedule() y entra por ahí
+        loadedUntil = until;
+        try {
+            int loaded = load(previous < 0 ? EPOCH : toOffsetDateTime(previous), toOffsetDateTime(until));
+            if (loaded > 0) {
+                log.info("Despachador de alertas: {} alertas cargadas hasta {}", loaded, toOffsetDateTime(until));
+            }
+        } catch (RuntimeException e) {
+            // Se repetirá el mismo tramo en la próxima precarga (insertar de nuevo es idempotente)
+            loadedUntil = previous;
+            log.error("No se pudieron cargar las alertas programadas", e);
+        }
+    }
+
+    private int load(OffsetDateTime from, OffsetDateTime until) {
+        // Transacción de escritura para ir al primario: en una réplica retrasada podrían faltar
+        // alertas cuya llamada a schedule() ya se descartó por estar fuera del tramo cargado
+        OffsetDateTime afterTime = from;
+        long afterId = 0;
+        int loaded = 0;
+        while (true) {
+            OffsetDateTime pageAfterTime = afterTime;
+            long pageAfterId = afterId;
+            List<Object[]> rows = transactionTemplate.execute(status -> alertRepository.findScheduledAfter(
+                    ACTIVE, pageAfterTime, pageAfterId, until, PageRequest.of(0, PRELOAD_PAGE_SIZE)));
+
+            List<Long> expired = new ArrayList<>();
+            synchronized (this) {
+                for (Object[] row : rows) {
+                    long alertId = (Long) row[0];
+                    long deadline = ((OffsetDateTime) row[1]).toInstant().toEpochMilli();
+                    if (wheel.schedule(alertId, deadline) == HierarchicalTimingWheel.Placement.EXPIRED) {
+                        expired.add(alertId);
+                    }
+                }
+            }
+            fire(expired);
+            loaded += rows.size();
+
+            if (rows.size() < PRELOAD_PAGE_SIZE) {
+                return loaded;
+            }
+            Object[] last = rows.get(rows.size() - 1);
+            afterId = (Long) last[0];
+            afterTime = (OffsetDateTime) last[1];
+        }
+    }
+
+    private void advance() {
+        try {
+            List<Long> expired = new ArrayList<>();
+            synchronized (this) {
+                wheel.advanceTo(System.currentTimeMillis(), expired);
+            }
+            fire(expired);
+        } catch (RuntimeException e) {
+            // Una excepción cancelaría los ticks siguientes
+            log.error("Error al avanzar la rueda de alertas", e);
+        }
+    }
+
+    private void fire(List<Long> alertIds) {
+        for (int start = 0; start < alertIds.size(); start += batchSize) {
+            List<Long> batch = alertIds.subList(start, Math.min(start + batchSize, alertIds.size()));
+            List<Long> ids = List.copyOf(batch);
+            firingPool.execute(() -> fireBatch(ids));
+        }
+    }
+
+    private void fireBatch(List<Long> alertIds) {
+        try {
+            List<Object[]> notDue = new ArrayList<>();
+            List<Long> fired = transactionTemplate.execute(status -> {
+                OffsetDateTime now = OffsetDateTime.now();
+                List<Long> locked = alertRepository.lockDueByIdInAndStatus(alertIds, ACTIVE, now).stream()
+                        .map(Alert::getId)
+                        .toList();
+                if (locked.size() < alertIds.size()) {
+                    // Las que no vencieron siguen activas con otra hora; las demás ya no están pendientes
+                    List<Long> others = new ArrayList<>(alertIds);
+                    others.removeAll(locked);
+                    notDue.addAll(alertRepository.findSchedulesByIdInAndStatus(others, ACTIVE));
+                }
+                if (locked.isEmpty()) {
+                    return locked;
+                }
+                alertRepository.updateStatusByIdIn(locked, EXECUTED);
+                eventPublisher.publishEvent(new AlertsFiredEvent(locked, now));
+                return locked;
+            });
+            firedCounter.increment(fired.size());
+            for (Object[] row : notDue) {
+                place((Long) row[0], ((OffsetDateTime) row[1]).toInstant().toEpochMilli());
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron marcar {} alertas como ejecutadas; se reintentará en {}",
+                    alertIds.size(), retryDelay, e);
+            long retryAt = System.currentTimeMillis() + retryDelay.toMillis();
+            synchronized (this) {
+                alertIds.forEach(alertId -> wheel.schedule(alertId, retryAt));
+            }
+        }
+    }
+
+    private double pending() {
+        HierarchicalTimingWheel current = wheel;
+        if (current == null) {
+            return 0;
+        }
+        synchronized (this) {
+            return current.size();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static OffsetDateTime toOffsetDateTime(long epochMillis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
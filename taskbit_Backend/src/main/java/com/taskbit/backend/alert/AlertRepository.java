@@ -1,15 +1,22 @@
 package com.taskbit.backend.alert;
 
+import com.taskbit.backend.alert.dto.AlertResponse;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AlertRepository extends JpaRepository<Alert, Long> {
+public interface AlertRepository extends JpaRepository<Alert, Long>, AlertRepositoryCustom {
     List<Alert> findByTaskId(Long taskId);
     List<Alert> findByTaskIdAndStatus(Long taskId, String status);
     
@@ -21,5 +28,97 @@ public interface AlertRepository extends JpaRepository<Alert, Long> {
     @Query("SELECT a FROM Alert a JOIN FETCH a.task WHERE a.id = :id")
     Optional<Alert> findByIdWithTask(@Param("id") Long id);
     
-    List<Alert> findByStatus(String status);
+    // Alertas de las tareas del usuario en el estado dado, proyectadas sin cargar las entidades
+    @Query("SELECT new com.taskbit.backend.alert.dto.AlertResponse(a.id, t.id, t.title, a.timeBefore, a.scheduledFor, a.status, a.createdAt) " +
+            "FROM Alert a JOIN a.task t WHERE t.user.id = :userId AND a.status = :status ORDER BY a.scheduledFor, a.id")
+    List<AlertResponse> findResponsesForUserByStatus(@Param("userId") Long userId, @Param("status") String status);
+
+    // Ids de las tareas (de entre las indicadas) que tienen alertas en el estado dado
+    @Query("SELECT DISTINCT a.task.id FROM Alert a WHERE a.task.id IN :taskIds AND a.status = :status")
+    List<Long> findTaskIdsByStatus(@Param("taskIds") Collection<Long> taskIds, @Param("status") String status);
+
+    @Query("SELECT a.id FROM Alert a WHERE a.task.id IN :taskIds")
+    List<Long> findIdsByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    // Alertas del usuario posteriores al cursor (xid, seq) y anteriores al horizonte (sincronización);
+    // filtra por alert.user_id para recorrer ix_alert_user_change sin pasar por task
+    @Query("SELECT a FROM Alert a JOIN FETCH a.task WHERE a.userId = :userId AND a.changeXid < :horizon " +
+            "AND (a.changeXid > :xid OR (a.changeXid = :xid AND a.changeSeq > :seq)) " +
+            "ORDER BY a.changeXid, a.changeSeq")
+    List<Alert> findChangedForUser(@Param("userId") Long userId, @Param("xid") long xid, @Param("seq") long seq,
+                                   @Param("horizon") long horizon, Pageable pageable);
+
+    // Alertas de una tarea siempre que pertenezca al usuario (pertenencia verificada en la misma consulta)
+    @Query("SELECT a FROM Alert a JOIN FETCH a.task t WHERE t.id = :taskId AND t.user.id = :userId")
+    List<Alert> findByTaskIdForUser(@Param("taskId") Long taskId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Alert a SET a.status = :newStatus, a.version = a.version + 1 WHERE a.task.id = :taskId AND a.status = :status")
+    int updateStatusForTask(@Param("taskId") Long taskId, @Param("status") String status, @Param("newStatus") String newStatus);
+
+    // Alertas disparadas con el usuario dueño, para el stream SSE
+    @Query("SELECT t.user.id, a.id, t.id, t.title, a.timeBefore, a.scheduledFor, a.status, a.createdAt " +
+            "FROM Alert a JOIN a.task t WHERE a.id IN :ids")
+    List<Object[]> findStreamRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Alertas disparadas con el usuario dueño y la fecha de entrega, para los resúmenes
+    @Query("SELECT u.id, u.email, u.name, a.id, t.id, t.title, t.dueDate, a.timeBefore, a.scheduledFor, a.status, a.createdAt " +
+            "FROM Alert a JOIN a.task t JOIN t.user u WHERE a.id IN :ids")
+    List<Object[]> findDigestRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Usuarios dueños de las alertas indicadas
+    @Query("SELECT DISTINCT t.user.id FROM Alert a JOIN a.task t WHERE a.id IN :ids")
+    List<Long> findUserIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Alertas del usuario en el estado dado que aún no entraron en un resumen, las más antiguas primero
+    @Query("SELECT a.id FROM Alert a JOIN a.task t WHERE t.user.id = :userId AND a.status = :status " +
+            "AND a.digestedAt IS NULL ORDER BY a.scheduledFor, a.id")
+    List<Long> findUndigestedIdsForUser(@Param("userId") Long userId, @Param("status") String status, Pageable pageable);
+
+    // Bloquea las que siguen sin resumen: un trabajo concurrente del mismo usuario espera y luego las excluye
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Alert a WHERE a.id IN :ids AND a.digestedAt IS NULL")
+    List<Alert> lockUndigestedByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Sube la versión como el resto de UPDATE masivos: el trigger avanza change_seq y la sincronización
+    // reenvía la alerta, que debe llegar con una versión nueva
+    @Modifying
+    @Query("UPDATE Alert a SET a.digestedAt = :now, a.version = a.version + 1 WHERE a.id IN :ids")
+    int markDigested(@Param("ids") Collection<Long> ids, @Param("now") OffsetDateTime now);
+
+    // Bloques de la reprogramación completa, por keyset sobre la clave primaria
+    @Query("SELECT a.id FROM Alert a WHERE a.status = :status AND a.id > :afterId ORDER BY a.id")
+    List<Long> findIdsByStatusAfter(@Param("status") String status, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT a.id FROM Alert a WHERE a.task.id = :taskId AND a.status = :status")
+    List<Long> findIdsByTaskIdAndStatus(@Param("taskId") Long taskId, @Param("status") String status);
+
+    // Precarga del despachador: (id, scheduledFor) por keyset sobre ix_alert_status_scheduled_for
+    @Query("SELECT a.id, a.scheduledFor FROM Alert a WHERE a.status = :status AND a.scheduledFor < :until " +
+            "AND (a.scheduledFor > :afterTime OR (a.scheduledFor = :afterTime AND a.id > :afterId)) " +
+            "ORDER BY a.scheduledFor, a.id")
+    List<Object[]> findScheduledAfter(@Param("status") String status,
+                                      @Param("afterTime") OffsetDateTime afterTime,
+                                      @Param("afterId") Long afterId,
+                                      @Param("until") OffsetDateTime until,
+                                      Pageable pageable);
+
+    // Bloquea las alertas que siguen en el estado dado y ya vencieron; una desactivación concurrente
+    // espera o queda excluida, y una reprogramada hecha en otra instancia no vence antes de tiempo
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Alert a WHERE a.id IN :ids AND a.status = :status AND a.scheduledFor <= :now")
+    List<Alert> lockDueByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") String status,
+                                       @Param("now") OffsetDateTime now);
+
+    // Hora actual de las alertas que siguen en el estado dado: id, scheduledFor
+    @Query("SELECT a.id, a.scheduledFor FROM Alert a WHERE a.id IN :ids AND a.status = :status")
+    List<Object[]> findSchedulesByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    @Modifying
+    @Query("UPDATE Alert a SET a.status = :newStatus, a.version = a.version + 1 WHERE a.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("newStatus") String newStatus);
+
+    @Modifying
+    @Query("DELETE FROM Alert a WHERE a.task.id IN :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
 }
\ No newline at end of file
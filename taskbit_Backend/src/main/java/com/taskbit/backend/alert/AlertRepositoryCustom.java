@@ -0,0 +1,9 @@
+package com.taskbit.backend.alert;
+
+import com.taskbit.backend.alert.dto.AlertResponse;
+
+import java.util.List;
+
+public interface AlertRepositoryCustom {
+    List<AlertResponse> findAlertPage(Long userId, String status, AlertCursor cursor, int maxResults);
+}
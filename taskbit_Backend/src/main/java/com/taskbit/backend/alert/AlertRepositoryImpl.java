@@ -0,0 +1,45 @@
+package com.taskbit.backend.alert;
+
+import com.taskbit.backend.alert.dto.AlertResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+
+/**
+ * Listado de alertas de un usuario paginado por keyset sobre (scheduledFor, id).
+ * La pertenencia se resuelve con el JOIN a task, así que solo se recorren las alertas de
+ * las tareas del usuario, y el resultado se proyecta directamente en AlertResponse.
+ */
+class AlertRepositoryImpl implements AlertRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AlertResponse> findAlertPage(Long userId, String status, AlertCursor cursor, int maxResults) {
+        StringBuilder jpql = new StringBuilder("SELECT new com.taskbit.backend.alert.dto.AlertResponse(")
+                .append("a.id, t.id, t.title, a.timeBefore, a.scheduledFor, a.status, a.createdAt) ")
+                .append("FROM Alert a JOIN a.task t WHERE t.user.id = :userId");
+        if (status != null) {
+            jpql.append(" AND a.status = :status");
+        }
+        if (cursor != null) {
+            jpql.append(" AND (a.scheduledFor > :cursorTime OR (a.scheduledFor = :cursorTime AND a.id > :cursorId))");
+        }
+        jpql.append(" ORDER BY a.scheduledFor, a.id");
+
+        TypedQuery<AlertResponse> query = entityManager.createQuery(jpql.toString(), AlertResponse.class)
+                .setParameter("userId", userId)
+                .setMaxResults(maxResults);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (cursor != null) {
+            query.setParameter("cursorTime", cursor.getScheduledFor());
+            query.setParameter("cursorId", cursor.getId());
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,41 @@
+package com.taskbit.backend.alert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskbit.backend.job.JobHandler;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Procesa un bloque del recálculo completo de alertas desde la cola de trabajos.
+ * Una migración que cambie la regla de programación puede encolarlo directamente con
+ * payload {"afterId":0} (ver V15).
+ */
+@Component
+@RequiredArgsConstructor
+public class AlertRescheduleJob implements JobHandler {
+    public static final String TYPE = "alert.reschedule";
+
+    private final AlertRescheduleService alertRescheduleService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void handle(String payload) throws Exception {
+        Payload chunk = objectMapper.readValue(payload, Payload.class);
+        alertRescheduleService.rescheduleChunk(chunk.getAfterId());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Payload {
+        private long afterId;
+    }
+}
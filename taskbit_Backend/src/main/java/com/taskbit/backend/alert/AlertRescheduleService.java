@@ -0,0 +1,76 @@
+package com.taskbit.backend.alert;
+
+import com.taskbit.backend.job.JobQueue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mantiene scheduledFor de las alertas activas al día con la fecha de entrega de su tarea.
+ * Al editar una tarea se reprograman sus alertas con una sentencia; tras cambiar la regla de
+ * programación, {@link #rescheduleAll()} recorre todas las alertas activas por bloques de id
+ * desde la cola de trabajos (ver {@link AlertRescheduleJob}).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AlertRescheduleService {
+    private final AlertRepository alertRepository;
+    private final AlertRescheduler alertRescheduler;
+    private final AlertDispatcher alertDispatcher;
+    private final JobQueue jobQueue;
+
+    @Value("${taskbit.alerts.reschedule.chunk-size:1000}")
+    private int chunkSize;
+
+    @Transactional
+    public void rescheduleTask(Long taskId, LocalDate dueDate) {
+        if (dueDate == null) {
+            // Sin fecha de entrega no hay referencia; las alertas conservan su hora
+            return;
+        }
+        notifyDispatcher(alertRescheduler.rescheduleTask(taskId, dueDate));
+    }
+
+    // Encola el recálculo completo; el primer bloque empieza por el id más bajo
+    @Transactional
+    public void rescheduleAll() {
+        jobQueue.enqueue(AlertRescheduleJob.TYPE, new AlertRescheduleJob.Payload(0L));
+    }
+
+    /**
+     * Reprograma el bloque de alertas activas con id mayor que {@code afterId} y, si puede
+     * haber más, encola el siguiente en la misma transacción: cada bloque se confirma o se
+     * reintenta de forma independiente.
+     */
+    @Transactional
+    public void rescheduleChunk(long afterId) {
+        List<Long> ids = alertRepository.findIdsByStatusAfter("activa", afterId, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            log.info("Reprogramación de alertas completada");
+            return;
+        }
+
+        Map<Long, OffsetDateTime> rescheduled = alertRescheduler.rescheduleAlerts(ids);
+        notifyDispatcher(rescheduled);
+        log.debug("Reprogramadas {} de {} alertas con id > {}", rescheduled.size(), ids.size(), afterId);
+
+        if (ids.size() == chunkSize) {
+            jobQueue.enqueue(AlertRescheduleJob.TYPE, new AlertRescheduleJob.Payload(ids.get(ids.size() - 1)));
+        } else {
+            log.info("Reprogramación de alertas completada");
+        }
+    }
+
+    private void notifyDispatcher(Map<Long, OffsetDateTime> rescheduled) {
+        rescheduled.forEach(alertDispatcher::schedule);
+    }
+}
@@ -0,0 +1,21 @@
+package com.taskbit.backend.alert;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Recalcula scheduledFor de alertas activas a partir de la fecha de entrega de su tarea y
+ * del desfase guardado (offsetMinutes), dentro de la transacción actual. Solo se escriben
+ * las alertas cuyo valor cambia; se devuelven con su nuevo scheduledFor.
+ * La implementación se elige según la base de datos (ver {@link AlertVendorConfig}).
+ */
+public interface AlertRescheduler {
+
+    // Alertas de una tarea con la fecha de entrega indicada (la tarea puede tener cambios sin flush)
+    Map<Long, OffsetDateTime> rescheduleTask(Long taskId, LocalDate dueDate);
+
+    // Alertas indicadas, con la fecha de entrega actual de sus tareas
+    Map<Long, OffsetDateTime> rescheduleAlerts(Collection<Long> alertIds);
+}
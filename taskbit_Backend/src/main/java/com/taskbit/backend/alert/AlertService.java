@@ -1,14 +1,15 @@
 package com.taskbit.backend.alert;
 
+import com.taskbit.backend.alert.dto.AlertListRequest;
+import com.taskbit.backend.alert.dto.AlertPageResponse;
 import com.taskbit.backend.alert.dto.AlertResponse;
 import com.taskbit.backend.alert.dto.CreateAlertRequest;
 import com.taskbit.backend.exception.AuthenticationException;
 import com.taskbit.backend.exception.BusinessException;
 import com.taskbit.backend.task.Task;
 import com.taskbit.backend.task.TaskRepository;
-import com.taskbit.backend.user.AppUser;
-import com.taskbit.backend.user.AppUserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,33 +19,30 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AlertService {
     private final AlertRepository alertRepository;
     private final TaskRepository taskRepository;
-    private final AppUserRepository userRepository;
+    private final AlertDispatcher alertDispatcher;
+
+    private static final Set<String> ALERT_STATUSES = Set.of("activa", "desactivada", "ejecutada");
+
+    // Tamaño de página por defecto y máximo del listado de alertas
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
 
     @Transactional
-    public AlertResponse createAlert(CreateAlertRequest request, String userEmail) {
+    public AlertResponse createAlert(CreateAlertRequest request, Long userId) {
         try {
-            // Obtener usuario por email
-            AppUser user = userRepository.findByEmail(userEmail)
-                    .orElseThrow(() -> new AuthenticationException("Usuario no encontrado"));
-
-            // Validar que la tarea existe
-            Task task = taskRepository.findById(request.getTaskId())
+            // Validar que la tarea existe y pertenece al usuario en una sola consulta
+            Task task = taskRepository.findByIdAndUserId(request.getTaskId(), userId)
                     .orElseThrow(() -> new AuthenticationException("Tarea no encontrada"));
 
-            // Verificar que la tarea pertenece al usuario
-            // Asegurar que la relación User esté cargada accediendo a su ID
-            Long taskUserId = task.getUser() != null ? task.getUser().getId() : null;
-            if (taskUserId == null || !taskUserId.equals(user.getId())) {
-                throw new AuthenticationException("No tienes permiso para crear alertas para esta tarea");
-            }
-
             // Validar que la tarea tenga fecha de entrega
             if (task.getDueDate() == null) {
                 throw new BusinessException("La tarea debe tener una fecha de entrega para crear una alerta");
@@ -68,139 +66,103 @@ public class AlertService {
                 throw new BusinessException("Ya existe una alerta con este tiempo de aviso para esta tarea");
             }
 
-            // Calcular scheduledFor basado en timeBefore y dueDate
-            OffsetDateTime scheduledFor = calculateScheduledFor(task.getDueDate(), normalizedTimeBefore);
+            // Calcular scheduledFor a partir del desfase, que se guarda para poder reprogramar sin volver a parsear
+            int offsetMinutes = parseOffsetMinutes(normalizedTimeBefore);
+            OffsetDateTime scheduledFor = calculateScheduledFor(task.getDueDate(), offsetMinutes);
 
             // Crear nueva alerta
             Alert alert = Alert.builder()
                     .task(task)
                     .timeBefore(normalizedTimeBefore)
+                    .offsetMinutes(offsetMinutes)
                     .scheduledFor(scheduledFor)
                     .status("activa")
                     .createdAt(OffsetDateTime.now())
                     .build();
 
-            System.out.println("AlertService: Guardando alerta - taskId: " + task.getId() + ", timeBefore: " + normalizedTimeBefore);
-            
+            log.debug("Guardando alerta - taskId: {}, timeBefore: {}", task.getId(), normalizedTimeBefore);
+
+            // Con IDENTITY el save ya ejecuta el INSERT y asigna el id; la tarea ya está cargada
             Alert savedAlert = alertRepository.save(alert);
-            System.out.println("AlertService: Alerta guardada con ID: " + savedAlert.getId());
-            
-            // Forzar el flush para asegurar que se persista inmediatamente
-            alertRepository.flush();
-            System.out.println("AlertService: Flush completado");
-            
-            // Verificar que realmente se guardó consultando la BD
-            Optional<Alert> verifyAlert = alertRepository.findById(savedAlert.getId());
-            if (verifyAlert.isEmpty()) {
-                System.err.println("AlertService: ERROR - La alerta no se encontró después de guardar!");
-                throw new BusinessException("Error al guardar la alerta en la base de datos");
-            }
-            System.out.println("AlertService: Alerta verificada en BD con ID: " + verifyAlert.get().getId());
-            
-            // Recargar la alerta con la relación Task cargada usando JOIN FETCH
-            Alert alertWithTask = alertRepository.findByIdWithTask(savedAlert.getId())
-                    .orElse(savedAlert); // Si no se encuentra, usar la alerta guardada
-            
-            // Asegurar que la relación Task esté inicializada dentro de la transacción
-            // Como ya tenemos la tarea cargada desde el inicio, simplemente la asignamos si es necesario
-            if (alertWithTask.getTask() == null) {
-                // Si por alguna razón la relación no se cargó, usar la tarea que ya tenemos
-                alertWithTask.setTask(task);
-                System.out.println("AlertService: Asignando tarea manualmente a la alerta");
-            }
+            alertDispatcher.schedule(savedAlert.getId(), savedAlert.getScheduledFor());
+            log.debug("Alerta creada con ID: {}", savedAlert.getId());
 
-            AlertResponse response = mapToResponse(alertWithTask);
-            System.out.println("AlertService: Respuesta mapeada - ID: " + response.getId() + ", taskId: " + response.getTaskId());
-            
-            // Verificar que la respuesta tenga todos los campos necesarios
-            if (response.getId() == null) {
-                System.err.println("AlertService: ERROR - La respuesta no tiene ID!");
-                throw new BusinessException("Error al crear la alerta: no se generó el ID");
-            }
-            
-            System.out.println("AlertService: Alerta creada exitosamente con ID: " + response.getId());
-            return response;
+            return mapToResponse(savedAlert);
         } catch (AuthenticationException | BusinessException e) {
             // Re-lanzar excepciones de negocio
             throw e;
         } catch (Exception e) {
             // Loggear cualquier otra excepción
-            System.err.println("Error inesperado al crear alerta: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error inesperado al crear alerta", e);
             throw new BusinessException("Error inesperado al crear la alerta: " + e.getMessage());
         }
     }
 
     @Transactional(readOnly = true)
-    public List<AlertResponse> getUserAlerts(String userEmail) {
-        AppUser user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new AuthenticationException("Usuario no encontrado"));
-
-        // Obtener todas las tareas del usuario
-        List<Task> userTasks = taskRepository.findByUserId(user.getId());
-        List<Long> taskIds = userTasks.stream()
-                .map(Task::getId)
-                .collect(Collectors.toList());
+    public AlertPageResponse getUserAlerts(AlertListRequest request, Long userId) {
+        String status = null;
+        if (request.getStatus() != null && !request.getStatus().trim().isEmpty()) {
+            status = request.getStatus().trim().toLowerCase();
+            if (!ALERT_STATUSES.contains(status)) {
+                throw new BusinessException("Estado de alerta no válido. Estados válidos: activa, desactivada, ejecutada");
+            }
+        }
 
-        // Obtener todas las alertas de las tareas del usuario
-        List<Alert> alerts = alertRepository.findAll().stream()
-                .filter(alert -> taskIds.contains(alert.getTask().getId()))
-                .collect(Collectors.toList());
+        int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_PAGE_SIZE;
+        limit = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
 
-        return alerts.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-    }
+        AlertCursor cursor = null;
+        if (request.getCursor() != null && !request.getCursor().trim().isEmpty()) {
+            cursor = AlertCursor.decode(request.getCursor().trim());
+        }
 
-    @Transactional(readOnly = true)
-    public List<AlertResponse> getTaskAlerts(Long taskId, String userEmail) {
-        AppUser user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new AuthenticationException("Usuario no encontrado"));
+        // Se pide una fila de más para saber si existe otra página
+        List<AlertResponse> alerts = alertRepository.findAlertPage(userId, status, cursor, limit + 1);
+        String nextCursor = null;
+        if (alerts.size() > limit) {
+            alerts = alerts.subList(0, limit);
+            AlertResponse last = alerts.get(limit - 1);
+            nextCursor = new AlertCursor(last.getScheduledFor(), last.getId()).encode();
+        }
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new AuthenticationException("Tarea no encontrada"));
+        return AlertPageResponse.builder()
+                .items(alerts)
+                .nextCursor(nextCursor)
+                .build();
+    }
 
-        // Verificar que la tarea pertenece al usuario
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new AuthenticationException("No tienes permiso para ver las alertas de esta tarea");
+    @Transactional(readOnly = true)
+    public List<AlertResponse> getTaskAlerts(Long taskId, Long userId) {
+        // La pertenencia se verifica en la misma consulta; solo si no hay alertas
+        // hace falta distinguir una tarea sin alertas de una inexistente o ajena
+        List<Alert> alerts = alertRepository.findByTaskIdForUser(taskId, userId);
+        if (alerts.isEmpty() && !taskRepository.existsByIdAndUserId(taskId, userId)) {
+            throw new AuthenticationException("Tarea no encontrada");
         }
 
-        List<Alert> alerts = alertRepository.findByTaskId(taskId);
         return alerts.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
-    public List<AlertResponse> getActiveAlerts(String userEmail) {
-        AppUser user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new AuthenticationException("Usuario no encontrado"));
-
-        // Obtener todas las tareas del usuario
-        List<Task> userTasks = taskRepository.findByUserId(user.getId());
-        List<Long> taskIds = userTasks.stream()
-                .map(Task::getId)
-                .collect(Collectors.toList());
-
-        // Obtener todas las alertas activas de las tareas del usuario
-        List<Alert> activeAlerts = alertRepository.findByStatus("activa").stream()
-                .filter(alert -> taskIds.contains(alert.getTask().getId()))
-                .collect(Collectors.toList());
-
-        return activeAlerts.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public List<AlertResponse> getActiveAlerts(Long userId) {
+        return alertRepository.findResponsesForUserByStatus(userId, "activa");
     }
 
-    private OffsetDateTime calculateScheduledFor(LocalDate dueDate, String timeBefore) {
-        // Parsear timeBefore (ej: "24 hours", "2 hours", "1 day")
-        int hours = parseTimeBefore(timeBefore);
-        
-        // Calcular la fecha y hora programada
+    /**
+     * Regla de programación: medianoche (UTC) del día de entrega menos el desfase de la alerta.
+     * PostgresAlertRescheduler la reproduce en SQL; si cambia, hay que cambiar ambas y encolar
+     * un recálculo completo (ver AlertRescheduleService.rescheduleAll).
+     */
+    static OffsetDateTime calculateScheduledFor(LocalDate dueDate, int offsetMinutes) {
         LocalDateTime dueDateTime = dueDate.atTime(0, 0); // Medianoche del día de entrega
-        LocalDateTime scheduledDateTime = dueDateTime.minusHours(hours);
-        
-        return scheduledDateTime.atOffset(ZoneOffset.UTC);
+        return dueDateTime.minusMinutes(offsetMinutes).atOffset(ZoneOffset.UTC);
+    }
+
+    // Desfase en minutos que se guarda en Alert.offsetMinutes (ej: "2 hours" -> 120)
+    int parseOffsetMinutes(String timeBefore) {
+        return parseTimeBefore(timeBefore) * 60;
     }
 
     private int parseTimeBefore(String timeBefore) {
@@ -231,7 +193,7 @@ public class AlertService {
         throw new BusinessException("Formato de tiempo de aviso no válido. Use 'X hours' o 'X days'");
     }
 
-    private AlertResponse mapToResponse(Alert alert) {
+    public AlertResponse mapToResponse(Alert alert) {
         // Asegurar que la relación Task esté cargada para evitar LazyInitializationException
         Task task = alert.getTask();
         Long taskId = task != null ? task.getId() : null;
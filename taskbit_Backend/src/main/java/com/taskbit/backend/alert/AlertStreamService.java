@@ -0,0 +1,255 @@
+package com.taskbit.backend.alert;
+
+import com.taskbit.backend.alert.dto.AlertResponse;
+import com.taskbit.backend.task.TaskChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Conexiones Server-Sent Events de GET /api/alerts/stream, agrupadas por usuario.
+ * Envía "alert-fired" cuando el despachador marca alertas como ejecutadas, "alert-digest" con
+ * el resumen agrupado de {@link AlertDigestService} y "task-changed" cuando se confirman
+ * cambios en las tareas, solo a los usuarios conectados.
+ *
+ * <p>Cada conexión tiene un búfer acotado (taskbit.alerts.stream.buffer-size) que se vacía en
+ * un hilo virtual solo mientras hay eventos pendientes, así que una conexión inactiva no
+ * ocupa hilos. Si el cliente no consume y el búfer se llena, se cierra la conexión: al
+ * reconectar vuelve a cargar el estado. Un comentario periódico (heartbeat) mantiene viva la
+ * conexión a través de proxies y detecta los clientes que ya no están.
+ */
+@Component
+@Slf4j
+public class AlertStreamService {
+
+    public static final String ALERT_FIRED = "alert-fired";
+    public static final String TASK_CHANGED = "task-changed";
+    public static final String ALERT_DIGEST = "alert-digest";
+
+    private final AlertRepository alertRepository;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxConnectionsPerUser;
+    private final Counter overflowCounter;
+
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("alert-stream-", 0).factory());
+
+    public AlertStreamService(AlertRepository alertRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${taskbit.alerts.stream.timeout:30m}") Duration timeout,
+                              @Value("${taskbit.alerts.stream.buffer-size:32}") int bufferSize,
+                              @Value("${taskbit.alerts.stream.max-connections-per-user:5}") int maxConnectionsPerUser) {
+        this.alertRepository = alertRepository;
+        this.timeoutMillis = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+
+        this.overflowCounter = Counter.builder("alerts.stream.overflows")
+                .description("Conexiones SSE cerradas por llenar su búfer")
+                .register(meterRegistry);
+        Gauge.builder("alerts.stream.connections", this, AlertStreamService::connections)
+                .description("Conexiones SSE abiertas")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> remove(subscriber));
+
+        List<Subscriber> evicted = new ArrayList<>();
+        subscribers.compute(userId, (id, current) -> {
+            List<Subscriber> list = current != null ? current : new CopyOnWriteArrayList<>();
+            list.add(subscriber);
+            // Por encima del máximo se cierran las conexiones más antiguas del usuario
+            while (list.size() > maxConnectionsPerUser) {
+                evicted.add(list.remove(0));
+            }
+            return list;
+        });
+        evicted.forEach(Subscriber::close);
+
+        // Primer evento: el cliente sabe que está suscrito y las cabeceras salen de inmediato
+        subscriber.offer(new StreamEvent("ready", Map.of("connectedAt", OffsetDateTime.now())));
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onAlertsFired(AlertsFiredEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        // La consulta no se hace en el hilo que dispara las alertas
+        sender.execute(() -> publishFired(event.getAlertIds()));
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        List<Subscriber> userSubscribers = subscribers.get(event.getUserId());
+        if (userSubscribers == null) {
+            return;
+        }
+        StreamEvent streamEvent = new StreamEvent(TASK_CHANGED,
+                Map.of("change", event.getChange(), "taskIds", event.getTaskIds()));
+        userSubscribers.forEach(subscriber -> subscriber.offer(streamEvent));
+    }
+
+    // Publicado por AlertDigestService en la transacción que marca las alertas del resumen
+    @TransactionalEventListener
+    public void onAlertDigest(AlertDigestEvent event) {
+        List<Subscriber> userSubscribers = subscribers.get(event.getUserId());
+        if (userSubscribers == null) {
+            return;
+        }
+        StreamEvent streamEvent = new StreamEvent(ALERT_DIGEST, event.getAlerts());
+        userSubscribers.forEach(subscriber -> subscriber.offer(streamEvent));
+    }
+
+    @Scheduled(fixedDelayString = "${taskbit.alerts.stream.heartbeat:25s}",
+            initialDelayString = "${taskbit.alerts.stream.heartbeat:25s}")
+    public void heartbeat() {
+        subscribers.values().forEach(list -> list.forEach(subscriber -> subscriber.offer(StreamEvent.HEARTBEAT)));
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.values().forEach(list -> list.forEach(Subscriber::close));
+        sender.shutdownNow();
+    }
+
+    private void publishFired(List<Long> alertIds) {
+        try {
+            // Una consulta por lote disparado; solo se envía a los dueños que están conectados
+            Map<Long, List<AlertResponse>> byUser = new HashMap<>();
+            for (Object[] row : alertRepository.findStreamRowsByIdIn(alertIds)) {
+                Long userId = (Long) row[0];
+                if (!subscribers.containsKey(userId)) {
+                    continue;
+                }
+                byUser.computeIfAbsent(userId, id -> new ArrayList<>()).add(AlertResponse.builder()
+                        .id((Long) row[1])
+                        .taskId((Long) row[2])
+                        .taskTitle((String) row[3])
+                        .timeBefore((String) row[4])
+                        .scheduledFor((OffsetDateTime) row[5])
+                        .status((String) row[6])
+                        .createdAt((OffsetDateTime) row[7])
+                        .build());
+            }
+            byUser.forEach((userId, alerts) -> {
+                StreamEvent streamEvent = new StreamEvent(ALERT_FIRED, alerts);
+                subscribers.getOrDefault(userId, List.of()).forEach(subscriber -> subscriber.offer(streamEvent));
+            });
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron enviar {} alertas disparadas por SSE", alertIds.size(), e);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private int connections() {
+        return subscribers.values().stream().mapToInt(List::size).sum();
+    }
+
+    // name null = comentario de heartbeat
+    private record StreamEvent(String name, Object data) {
+        static final StreamEvent HEARTBEAT = new StreamEvent(null, null);
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (name == null) {
+                return SseEmitter.event().comment("ping");
+            }
+            return SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(StreamEvent event) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                overflowCounter.increment();
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        // Un solo vaciado a la vez por conexión: SseEmitter no admite envíos concurrentes
+        private void drain() {
+            try {
+                do {
+                    StreamEvent event;
+                    while (!closed && (event = buffer.poll()) != null) {
+                        emitter.send(event.toSse());
+                    }
+                    draining.set(false);
+                } while (!closed && !buffer.isEmpty() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado o conexión ya completada
+                draining.set(false);
+                close();
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            remove(this);
+            buffer.clear();
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // Ya completada
+            }
+        }
+    }
+}
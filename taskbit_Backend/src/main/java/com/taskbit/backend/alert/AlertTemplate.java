@@ -0,0 +1,41 @@
+package com.taskbit.backend.alert;
+
+import com.taskbit.backend.user.AppUser;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "alert_template",
+        uniqueConstraints = @UniqueConstraint(name = "ux_alert_template_name", columnNames = {"user_id", "name"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertTemplate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private AppUser user;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    // Tiempos de aviso con el mismo formato que Alert.timeBefore (ej: "1 day", "2 hours")
+    @ElementCollection
+    @CollectionTable(name = "alert_template_time_before", joinColumns = @JoinColumn(name = "template_id"))
+    @OrderColumn(name = "item_order")
+    @Column(name = "time_before", nullable = false, length = 50)
+    @Builder.Default
+    private List<String> timeBefores = new ArrayList<>();
+
+    @Column(name = "created_at")
+    private OffsetDateTime createdAt;
+}
@@ -0,0 +1,74 @@
+package com.taskbit.backend.alert;
+
+import com.taskbit.backend.alert.dto.AlertTemplateResponse;
+import com.taskbit.backend.alert.dto.ApplyAlertTemplateRequest;
+import com.taskbit.backend.alert.dto.ApplyAlertTemplateResponse;
+import com.taskbit.backend.alert.dto.CreateAlertTemplateRequest;
+import com.taskbit.backend.security.AuthenticatedUser;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/alert-templates")
+@RequiredArgsConstructor
+@Tag(name = "Plantillas de alertas", description = "Endpoints para plantillas de alertas reutilizables")
+@SecurityRequirement(name = "Bearer Authentication")
+public class AlertTemplateController {
+    private final AlertTemplateService alertTemplateService;
+
+    @PostMapping
+    @Operation(summary = "Crear plantilla de alertas", description = "Crea una plantilla con un nombre y hasta 10 tiempos de aviso (ej: '1 day', '2 hours')")
+    public ResponseEntity<AlertTemplateResponse> createTemplate(@Valid @RequestBody CreateAlertTemplateRequest request, @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        AlertTemplateResponse template = alertTemplateService.createTemplate(request, currentUser.getUserId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(template);
+    }
+
+    @GetMapping
+    @Operation(summary = "Listar plantillas de alertas", description = "Obtiene las plantillas de alertas del usuario autenticado")
+    public ResponseEntity<List<AlertTemplateResponse>> getUserTemplates(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        List<AlertTemplateResponse> templates = alertTemplateService.getUserTemplates(currentUser.getUserId());
+        return ResponseEntity.ok(templates);
+    }
+
+    @PostMapping("/{id}/apply")
+    @Operation(summary = "Aplicar plantilla de alertas", description = "Crea las alertas de la plantilla en las tareas indicadas (taskIds, hasta 500) o en todas las de un curso (course). Se omiten las tareas sin fecha de entrega o vencidas y las alertas que ya existían")
+    public ResponseEntity<ApplyAlertTemplateResponse> applyTemplate(
+            @PathVariable Long id,
+            @Valid @RequestBody ApplyAlertTemplateRequest request,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        ApplyAlertTemplateResponse response = alertTemplateService.applyTemplate(id, request, currentUser.getUserId());
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Eliminar plantilla de alertas", description = "Elimina una plantilla del usuario autenticado. Las alertas ya creadas con ella no cambian")
+    public ResponseEntity<Void> deleteTemplate(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        alertTemplateService.deleteTemplate(id, currentUser.getUserId());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.taskbit.backend.alert;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AlertTemplateRepository extends JpaRepository<AlertTemplate, Long> {
+    // Las plantillas son pocas por usuario; se cargan con sus tiempos de aviso en una sola consulta
+    @Query("SELECT DISTINCT t FROM AlertTemplate t LEFT JOIN FETCH t.timeBefores WHERE t.user.id = :userId ORDER BY t.name")
+    List<AlertTemplate> findByUserIdWithTimeBefores(@Param("userId") Long userId);
+
+    @Query("SELECT t FROM AlertTemplate t LEFT JOIN FETCH t.timeBefores WHERE t.id = :id AND t.user.id = :userId")
+    Optional<AlertTemplate> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    boolean existsByUserIdAndName(Long userId, String name);
+}
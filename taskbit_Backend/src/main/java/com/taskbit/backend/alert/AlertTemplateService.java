@@ -0,0 +1,141 @@
+package com.taskbit.backend.alert;
+
+import com.taskbit.backend.alert.dto.AlertTemplateResponse;
+import com.taskbit.backend.alert.dto.ApplyAlertTemplateRequest;
+import com.taskbit.backend.alert.dto.ApplyAlertTemplateResponse;
+import com.taskbit.backend.alert.dto.CreateAlertTemplateRequest;
+import com.taskbit.backend.exception.AuthenticationException;
+import com.taskbit.backend.exception.BusinessException;
+import com.taskbit.backend.task.TaskRepository;
+import com.taskbit.backend.user.AppUser;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class AlertTemplateService {
+    // Máximo de tareas por aplicación (igual que las operaciones por lote de tareas)
+    private static final int MAX_TARGET_TASKS = 500;
+
+    private final AlertTemplateRepository alertTemplateRepository;
+    private final TaskRepository taskRepository;
+    private final AlertService alertService;
+    private final AlertBulkInserter alertBulkInserter;
+    private final AlertDispatcher alertDispatcher;
+    private final EntityManager entityManager;
+
+    @Transactional
+    public AlertTemplateResponse createTemplate(CreateAlertTemplateRequest request, Long userId) {
+        String name = request.getName().trim();
+        if (alertTemplateRepository.existsByUserIdAndName(userId, name)) {
+            throw new BusinessException("Ya existe una plantilla de alertas con este nombre");
+        }
+
+        // Se normalizan igual que en createAlert y se valida el formato al guardar, no al aplicar
+        Set<String> timeBefores = new LinkedHashSet<>();
+        for (String timeBefore : request.getTimeBefores()) {
+            String normalized = timeBefore != null ? timeBefore.trim() : "";
+            if (normalized.isEmpty()) {
+                throw new BusinessException("El tiempo de aviso no puede estar vacío");
+            }
+            alertService.parseOffsetMinutes(normalized);
+            timeBefores.add(normalized);
+        }
+
+        AlertTemplate template = AlertTemplate.builder()
+                .user(entityManager.getReference(AppUser.class, userId))
+                .name(name)
+                .timeBefores(new ArrayList<>(timeBefores))
+                .createdAt(OffsetDateTime.now())
+                .build();
+        return mapToResponse(alertTemplateRepository.save(template));
+    }
+
+    @Transactional(readOnly = true)
+    public List<AlertTemplateResponse> getUserTemplates(Long userId) {
+        return alertTemplateRepository.findByUserIdWithTimeBefores(userId).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    @Transactional
+    public void deleteTemplate(Long templateId, Long userId) {
+        AlertTemplate template = alertTemplateRepository.findByIdAndUserId(templateId, userId)
+                .orElseThrow(() -> new AuthenticationException("Plantilla no encontrada"));
+        alertTemplateRepository.delete(template);
+    }
+
+    /**
+     * Crea las alertas de la plantilla en todas las tareas indicadas. scheduledFor se calcula en
+     * memoria a partir de (id, dueDate) de cada tarea y todas las alertas se insertan en bloque;
+     * las que ya existían se omiten.
+     */
+    @Transactional
+    public ApplyAlertTemplateResponse applyTemplate(Long templateId, ApplyAlertTemplateRequest request, Long userId) {
+        AlertTemplate template = alertTemplateRepository.findByIdAndUserId(templateId, userId)
+                .orElseThrow(() -> new AuthenticationException("Plantilla no encontrada"));
+
+        LocalDate today = LocalDate.now();
+        List<Object[]> targets;
+        if (request.getTaskIds() != null && !request.getTaskIds().isEmpty()) {
+            targets = taskRepository.findAlertTargetsByIdIn(userId, Set.copyOf(request.getTaskIds()), today);
+        } else if (request.getCourse() != null && !request.getCourse().trim().isEmpty()) {
+            targets = taskRepository.findAlertTargetsByCourse(userId, request.getCourse().trim(), today,
+                    PageRequest.of(0, MAX_TARGET_TASKS + 1));
+            if (targets.size() > MAX_TARGET_TASKS) {
+                throw new BusinessException("No se puede aplicar una plantilla a más de " + MAX_TARGET_TASKS + " tareas a la vez");
+            }
+        } else {
+            throw new BusinessException("Indica las tareas (taskIds) o el curso (course) a los que aplicar la plantilla");
+        }
+
+        // Los desfases se calculan una vez por plantilla, no por tarea
+        List<String> timeBefores = template.getTimeBefores();
+        int[] offsetMinutes = timeBefores.stream().mapToInt(alertService::parseOffsetMinutes).toArray();
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Alert> alerts = new ArrayList<>(targets.size() * timeBefores.size());
+        for (Object[] target : targets) {
+            Long taskId = (Long) target[0];
+            LocalDate dueDate = (LocalDate) target[1];
+            for (int i = 0; i < timeBefores.size(); i++) {
+                alerts.add(Alert.builder()
+                        .task(taskRepository.getReferenceById(taskId))
+                        .timeBefore(timeBefores.get(i))
+                        .offsetMinutes(offsetMinutes[i])
+                        .scheduledFor(AlertService.calculateScheduledFor(dueDate, offsetMinutes[i]))
+                        .status("activa")
+                        .createdAt(now)
+                        .build());
+            }
+        }
+
+        List<Alert> inserted = alertBulkInserter.insert(alerts);
+        inserted.forEach(alert -> alertDispatcher.schedule(alert.getId(), alert.getScheduledFor()));
+
+        return ApplyAlertTemplateResponse.builder()
+                .tasks(targets.size())
+                .created(inserted.size())
+                .skipped(alerts.size() - inserted.size())
+                .build();
+    }
+
+    private AlertTemplateResponse mapToResponse(AlertTemplate template) {
+        return AlertTemplateResponse.builder()
+                .id(template.getId())
+                .name(template.getName())
+                .timeBefores(List.copyOf(template.getTimeBefores()))
+                .createdAt(template.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.taskbit.backend.alert;
+
+import com.taskbit.backend.config.DatabaseVendor;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Elige las implementaciones de alertas que dependen de la base de datos: PostgreSQL usa
+ * INSERT ... ON CONFLICT DO NOTHING y UPDATE ... RETURNING, y el resto cae en versiones
+ * portables (H2 en pruebas).
+ */
+@Configuration
+@Slf4j
+public class AlertVendorConfig {
+
+    @Bean
+    public AlertBulkInserter alertBulkInserter(DataSource dataSource, EntityManager entityManager) {
+        if (DatabaseVendor.isPostgres(dataSource)) {
+            return new PostgresAlertBulkInserter(dataSource);
+        }
+        log.info("Base de datos sin ON CONFLICT: alertas en bloque con consulta previa de duplicados");
+        return new JpaAlertBulkInserter(entityManager);
+    }
+
+    @Bean
+    public AlertRescheduler alertRescheduler(DataSource dataSource, EntityManager entityManager) {
+        if (DatabaseVendor.isPostgres(dataSource)) {
+            return new PostgresAlertRescheduler(entityManager);
+        }
+        log.info("Base de datos sin UPDATE ... RETURNING: reprogramación de alertas con lectura y escritura");
+        return new JpaAlertRescheduler(entityManager);
+    }
+}
@@ -0,0 +1,19 @@
+package com.taskbit.backend.alert;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Publicado por {@link AlertDispatcher} dentro de la transacción que marca las alertas como
+ * ejecutadas. Los interesados en notificar deben escucharlo con
+ * {@code @TransactionalEventListener} para actuar solo si el cambio se confirma.
+ */
+@Getter
+@AllArgsConstructor
+public class AlertsFiredEvent {
+    private final List<Long> alertIds;
+    private final OffsetDateTime firedAt;
+}
@@ -0,0 +1,50 @@
+package com.taskbit.backend.alert;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Alerta movida a alert_archive junto con su tarea (ver TaskArchiveService).
+ * Solo se escribe con INSERT ... SELECT desde alert; en PostgreSQL la tabla está
+ * particionada por archived_at (ver V11).
+ */
+@Entity
+@Table(name = "alert_archive")
+@Immutable
+@Getter
+@NoArgsConstructor
+public class ArchivedAlert {
+    @Id
+    private Long id;
+
+    // La tarea está en task_archive, sin clave foránea
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "time_before", nullable = false)
+    private String timeBefore;
+
+    @Column(name = "offset_minutes", nullable = false)
+    private Integer offsetMinutes;
+
+    @Column(name = "scheduled_for", nullable = false)
+    private OffsetDateTime scheduledFor;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "created_at")
+    private OffsetDateTime createdAt;
+
+    @Column(name = "digested_at")
+    private OffsetDateTime digestedAt;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private OffsetDateTime archivedAt;
+}
@@ -0,0 +1,193 @@
+package com.taskbit.backend.alert;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rueda de tiempo jerárquica (Varghese y Lauck) para las alertas pendientes.
+ * El nivel 0 tiene {@code wheelSize} ranuras de un tick; cada nivel superior cubre
+ * {@code wheelSize} ranuras del anterior. Una entrada se guarda en el nivel más bajo cuyo
+ * alcance cubre su plazo y, al llegar el tiempo de su ranura, baja de nivel (cascada) hasta
+ * vencer en el nivel 0.
+ * <p>
+ * Insertar y cancelar son O(1): cada ranura es una lista doblemente enlazada y las entradas
+ * se localizan por id de alerta. Avanzar un tick cuesta O(1) más las entradas que vencen o
+ * bajan de nivel. No es thread-safe: {@link AlertDispatcher} serializa el acceso.
+ */
+final class HierarchicalTimingWheel {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final int levels;
+    private final Slot[][] slots;
+    // Duración en ticks de una ranura de cada nivel (wheelSize^nivel)
+    private final long[] slotTicks;
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    private long currentTick;
+
+    HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levels = levels;
+        this.slots = new Slot[levels][wheelSize];
+        this.slotTicks = new long[levels + 1];
+        slotTicks[0] = 1;
+        for (int level = 0; level < levels; level++) {
+            slotTicks[level + 1] = Math.multiplyExact(slotTicks[level], wheelSize);
+            for (int index = 0; index < wheelSize; index++) {
+                slots[level][index] = new Slot();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Tiempo máximo (ms desde ahora) que admite la rueda.
+     */
+    long spanMillis() {
+        return (slotTicks[levels] - 1) * tickMillis;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    boolean contains(long alertId) {
+        return entries.containsKey(alertId);
+    }
+
+    /**
+     * Programa (o reprograma) una alerta. Devuelve {@link Placement#EXPIRED} si el plazo ya
+     * pasó (el llamador debe dispararla) y {@link Placement#OUT_OF_RANGE} si queda más allá
+     * del alcance de la rueda.
+     */
+    Placement schedule(long alertId, long deadlineMillis) {
+        cancel(alertId);
+        // Redondeo hacia arriba: una alerta nunca vence antes de su hora
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        if (deadlineTick <= currentTick) {
+            return Placement.EXPIRED;
+        }
+        if (deadlineTick - currentTick >= slotTicks[levels]) {
+            return Placement.OUT_OF_RANGE;
+        }
+        Entry entry = new Entry(alertId, deadlineTick);
+        place(entry);
+        entries.put(alertId, entry);
+        return Placement.SCHEDULED;
+    }
+
+    boolean cancel(long alertId) {
+        Entry entry = entries.remove(alertId);
+        if (entry == null) {
+            return false;
+        }
+        entry.slot.unlink(entry);
+        return true;
+    }
+
+    /**
+     * Avanza hasta {@code nowMillis} y añade a {@code expired} los ids de las alertas vencidas.
+     */
+    void advanceTo(long nowMillis, List<Long> expired) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            Slot slot = slots[0][(int) (currentTick % wheelSize)];
+            for (Entry entry = slot.drain(); entry != null; ) {
+                Entry next = entry.next;
+                entry.next = null;
+                entries.remove(entry.alertId);
+                expired.add(entry.alertId);
+                entry = next;
+            }
+        }
+    }
+
+    // Al empezar una ranura de un nivel superior, sus entradas se redistribuyen en los inferiores
+    private void cascade() {
+        for (int level = levels - 1; level >= 1; level--) {
+            if (currentTick % slotTicks[level] != 0) {
+                continue;
+            }
+            Slot slot = slots[level][(int) ((currentTick / slotTicks[level]) % wheelSize)];
+            for (Entry entry = slot.drain(); entry != null; ) {
+                Entry next = entry.next;
+                entry.next = null;
+                place(entry);
+                entry = next;
+            }
+        }
+    }
+
+    private void place(Entry entry) {
+        long delta = entry.deadlineTick - currentTick;
+        int level = 0;
+        while (delta >= slotTicks[level + 1]) {
+            level++;
+        }
+        int index = (int) ((entry.deadlineTick / slotTicks[level]) % wheelSize);
+        slots[level][index].link(entry);
+    }
+
+    enum Placement {
+        SCHEDULED,
+        EXPIRED,
+        OUT_OF_RANGE
+    }
+
+    private static final class Entry {
+        private final long alertId;
+        private final long deadlineTick;
+        private Slot slot;
+        private Entry prev;
+        private Entry next;
+
+        private Entry(long alertId, long deadlineTick) {
+            this.alertId = alertId;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+    private static final class Slot {
+        private Entry head;
+
+        private void link(Entry entry) {
+            entry.slot = this;
+            entry.prev = null;
+            entry.next = head;
+            if (head != null) {
+                head.prev = entry;
+            }
+            head = entry;
+        }
+
+        private void unlink(Entry entry) {
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            entry.slot = null;
+        }
+
+        // Vacía la ranura y devuelve la lista (enlazada por next) de sus entradas
+        private Entry drain() {
+            Entry first = head;
+            head = null;
+            for (Entry entry = first; entry != null; entry = entry.next) {
+                entry.slot = null;
+                entry.prev = null;
+            }
+            return first;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.taskbit.backend.alert;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Inserción de respaldo para bases de datos sin ON CONFLICT (H2 en pruebas): descarta con una
+ * consulta las combinaciones que ya existen y persiste el resto.
+ */
+class JpaAlertBulkInserter implements AlertBulkInserter {
+
+    private final EntityManager entityManager;
+
+    JpaAlertBulkInserter(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Alert> insert(List<Alert> alerts) {
+        if (alerts.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> taskIds = new HashSet<>();
+        alerts.forEach(alert -> taskIds.add(alert.getTask().getId()));
+
+        Set<String> existing = new HashSet<>();
+        entityManager.createQuery(
+                        "SELECT a.task.id, a.timeBefore FROM Alert a WHERE a.task.id IN :taskIds", Object[].class)
+                .setParameter("taskIds", taskIds)
+                .getResultList()
+                .forEach(row -> existing.add(key((Long) row[0], (String) row[1])));
+
+        List<Alert> inserted = new ArrayList<>();
+        for (Alert alert : alerts) {
+            if (existing.add(key(alert.getTask().getId(), alert.getTimeBefore()))) {
+                entityManager.persist(alert);
+                inserted.add(alert);
+            }
+        }
+        entityManager.flush();
+        return inserted;
+    }
+
+    private static String key(Long taskId, String timeBefore) {
+        return taskId + "|" + timeBefore;
+    }
+}
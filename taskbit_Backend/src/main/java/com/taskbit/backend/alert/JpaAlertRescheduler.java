@@ -0,0 +1,62 @@
+package com.taskbit.backend.alert;
+
+import jakarta.persistence.EntityManager;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación de respaldo (H2 en pruebas): carga las alertas activas, recalcula
+ * scheduledFor en memoria y hace flush; @Version incrementa la versión de las modificadas.
+ */
+class JpaAlertRescheduler implements AlertRescheduler {
+
+    private final EntityManager entityManager;
+
+    JpaAlertRescheduler(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Map<Long, OffsetDateTime> rescheduleTask(Long taskId, LocalDate dueDate) {
+        List<Alert> alerts = entityManager.createQuery(
+                        "SELECT a FROM Alert a WHERE a.task.id = :taskId AND a.status = 'activa'", Alert.class)
+                .setParameter("taskId", taskId)
+                .getResultList();
+        Map<Long, OffsetDateTime> rescheduled = new HashMap<>();
+        for (Alert alert : alerts) {
+            apply(alert, dueDate, rescheduled);
+        }
+        entityManager.flush();
+        return rescheduled;
+    }
+
+    @Override
+    public Map<Long, OffsetDateTime> rescheduleAlerts(Collection<Long> alertIds) {
+        if (alertIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Alert> alerts = entityManager.createQuery(
+                        "SELECT a FROM Alert a JOIN FETCH a.task t WHERE a.id IN :ids AND a.status = 'activa' AND t.dueDate IS NOT NULL", Alert.class)
+                .setParameter("ids", alertIds)
+                .getResultList();
+        Map<Long, OffsetDateTime> rescheduled = new HashMap<>();
+        for (Alert alert : alerts) {
+            apply(alert, alert.getTask().getDueDate(), rescheduled);
+        }
+        entityManager.flush();
+        return rescheduled;
+    }
+
+    private void apply(Alert alert, LocalDate dueDate, Map<Long, OffsetDateTime> rescheduled) {
+        OffsetDateTime scheduledFor = AlertService.calculateScheduledFor(dueDate, alert.getOffsetMinutes());
+        if (!scheduledFor.isEqual(alert.getScheduledFor())) {
+            alert.setScheduledFor(scheduledFor);
+            rescheduled.put(alert.getId(), scheduledFor);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.taskbit.backend.alert;
+
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserta todas las alertas con una sola sentencia: las columnas viajan como arrays, se
+ * expanden con unnest y ON CONFLICT descarta los duplicados de ux_alert_nodup. RETURNING
+ * devuelve las filas realmente insertadas.
+ */
+class PostgresAlertBulkInserter implements AlertBulkInserter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO alert (task_id, time_before, offset_minutes, scheduled_for, status, created_at, version) "
+                    + "SELECT r.task_id, r.time_before, r.offset_minutes, r.scheduled_for, 'activa', ?, 0 "
+                    + "FROM unnest(?::bigint[], ?::varchar[], ?::integer[], ?::timestamptz[]) "
+                    + "AS r(task_id, time_before, offset_minutes, scheduled_for) "
+                    + "ON CONFLICT ON CONSTRAINT ux_alert_nodup DO NOTHING "
+                    + "RETURNING id, task_id, time_before";
+
+    private final DataSource dataSource;
+
+    PostgresAlertBulkInserter(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public List<Alert> insert(List<Alert> alerts) {
+        if (alerts.isEmpty()) {
+            return List.of();
+        }
+        Long[] taskIds = new Long[alerts.size()];
+        String[] timeBefores = new String[alerts.size()];
+        Integer[] offsetMinutes = new Integer[alerts.size()];
+        String[] scheduledFor = new String[alerts.size()];
+        Map<String, Alert> byKey = new HashMap<>();
+        for (int i = 0; i < alerts.size(); i++) {
+            Alert alert = alerts.get(i);
+            taskIds[i] = alert.getTask().getId();
+            timeBefores[i] = alert.getTimeBefore();
+            offsetMinutes[i] = alert.getOffsetMinutes();
+            scheduledFor[i] = alert.getScheduledFor().toInstant().toString();
+            byKey.put(key(taskIds[i], timeBefores[i]), alert);
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            statement.setObject(1, OffsetDateTime.now());
+            statement.setArray(2, connection.createArrayOf("int8", taskIds));
+            statement.setArray(3, connection.createArrayOf("varchar", timeBefores));
+            statement.setArray(4, connection.createArrayOf("int4", offsetMinutes));
+            // Los instantes viajan en ISO-8601 y el cast a timestamptz[] los interpreta
+            statement.setArray(5, connection.createArrayOf("varchar", scheduledFor));
+
+            List<Alert> inserted = new ArrayList<>();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    Alert alert = byKey.get(key(rows.getLong("task_id"), rows.getString("time_before")));
+                    alert.setId(rows.getLong("id"));
+                    inserted.add(alert);
+                }
+            }
+            return inserted;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al insertar las alertas en bloque", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static String key(Long taskId, String timeBefore) {
+        return taskId + "|" + timeBefore;
+    }
+}
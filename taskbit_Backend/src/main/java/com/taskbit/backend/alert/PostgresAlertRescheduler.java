@@ -0,0 +1,92 @@
+package com.taskbit.backend.alert;
+
+import jakarta.persistence.EntityManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reprogramación con un único UPDATE ... RETURNING por llamada. La expresión reproduce
+ * AlertService.calculateScheduledFor: medianoche UTC del día de entrega menos offset_minutes.
+ */
+class PostgresAlertRescheduler implements AlertRescheduler {
+
+    private static final String TASK_SQL = """
+            UPDATE alert a
+            SET scheduled_for = (CAST(:dueDate AS date) - a.offset_minutes * INTERVAL '1 minute') AT TIME ZONE 'UTC',
+                version = a.version + 1
+            WHERE a.task_id = :taskId
+              AND a.status = 'activa'
+              AND a.scheduled_for <> (CAST(:dueDate AS date) - a.offset_minutes * INTERVAL '1 minute') AT TIME ZONE 'UTC'
+            RETURNING a.id, a.scheduled_for
+            """;
+
+    private static final String ALERTS_SQL = """
+            UPDATE alert a
+            SET scheduled_for = (t.due_date - a.offset_minutes * INTERVAL '1 minute') AT TIME ZONE 'UTC',
+                version = a.version + 1
+            FROM task t
+            WHERE t.id = a.task_id
+              AND a.id IN (:ids)
+              AND a.status = 'activa'
+              AND t.due_date IS NOT NULL
+              AND a.scheduled_for <> (t.due_date - a.offset_minutes * INTERVAL '1 minute') AT TIME ZONE 'UTC'
+            RETURNING a.id, a.scheduled_for
+            """;
+
+    private final EntityManager entityManager;
+
+    PostgresAlertRescheduler(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<Long, OffsetDateTime> rescheduleTask(Long taskId, LocalDate dueDate) {
+        List<Object[]> rows = entityManager.createNativeQuery(TASK_SQL)
+                .setParameter("dueDate", dueDate)
+                .setParameter("taskId", taskId)
+                .getResultList();
+        return toMap(rows);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<Long, OffsetDateTime> rescheduleAlerts(Collection<Long> alertIds) {
+        if (alertIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Object[]> rows = entityManager.createNativeQuery(ALERTS_SQL)
+                .setParameter("ids", alertIds)
+                .getResultList();
+        return toMap(rows);
+    }
+
+    private Map<Long, OffsetDateTime> toMap(List<Object[]> rows) {
+        Map<Long, OffsetDateTime> rescheduled = new HashMap<>();
+        for (Object[] row : rows) {
+            rescheduled.put(((Number) row[0]).longValue(), toOffsetDateTime(row[1]));
+        }
+        return rescheduled;
+    }
+
+    private OffsetDateTime toOffsetDateTime(Object value) {
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime;
+        }
+        if (value instanceof Instant instant) {
+            return instant.atOffset(ZoneOffset.UTC);
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant().atOffset(ZoneOffset.UTC);
+        }
+        return null;
+    }
+}
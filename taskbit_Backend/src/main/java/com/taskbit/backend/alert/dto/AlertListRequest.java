@@ -0,0 +1,12 @@
+package com.taskbit.backend.alert.dto;
+
+import lombok.Data;
+
+@Data
+public class AlertListRequest {
+    private String status; // activa, desactivada, ejecutada
+
+    private String cursor; // token opaco devuelto en nextCursor
+
+    private Integer limit;
+}
@@ -0,0 +1,17 @@
+package com.taskbit.backend.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertPageResponse {
+    private List<AlertResponse> items;
+    private String nextCursor; // null cuando no hay más páginas
+}
@@ -0,0 +1,20 @@
+package com.taskbit.backend.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertTemplateResponse {
+    private Long id;
+    private String name;
+    private List<String> timeBefores;
+    private OffsetDateTime createdAt;
+}
@@ -0,0 +1,15 @@
+package com.taskbit.backend.alert.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+// Se indica taskIds o course; si llegan los dos, manda taskIds
+@Data
+public class ApplyAlertTemplateRequest {
+    @Size(max = 500, message = "No se puede aplicar una plantilla a más de 500 tareas a la vez")
+    private List<Long> taskIds;
+
+    private String course;
+}
@@ -0,0 +1,16 @@
+package com.taskbit.backend.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplyAlertTemplateResponse {
+    private int tasks;   // tareas con fecha de entrega vigente a las que se aplicó
+    private int created; // alertas nuevas
+    private int skipped; // combinaciones (tarea, tiempo de aviso) que ya existían
+}
@@ -0,0 +1,19 @@
+package com.taskbit.backend.alert.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CreateAlertTemplateRequest {
+    @NotBlank(message = "El nombre de la plantilla es obligatorio")
+    @Size(max = 100, message = "El nombre de la plantilla no puede superar los 100 caracteres")
+    private String name;
+
+    @NotEmpty(message = "La plantilla debe tener al menos un tiempo de aviso")
+    @Size(max = 10, message = "Una plantilla no puede tener más de 10 tiempos de aviso")
+    private List<String> timeBefores; // ej: ["1 day", "2 hours"]
+}
@@ -0,0 +1,40 @@
+package com.taskbit.backend.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Cachés en memoria (Caffeine). El tamaño y la expiración se configuran en
+ * spring.cache.caffeine.spec.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String USERS_BY_EMAIL = "usersByEmail";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            caffeineCacheManager.setCacheSpecification(spec);
+        }
+        // Sin nombres declarados las cachés se crean al pedirlas
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            caffeineCacheManager.setCacheNames(cacheProperties.getCacheNames());
+        }
+
+        // Las escrituras y desalojos dentro de una transacción se aplican tras el commit,
+        // así una lectura concurrente no vuelve a cachear el usuario antes de confirmar
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
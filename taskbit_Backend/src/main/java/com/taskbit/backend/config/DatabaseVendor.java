@@ -0,0 +1,29 @@
+package com.taskbit.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Detección de la base de datos para elegir implementaciones propias de PostgreSQL
+ * (ver TaskVendorConfig y JobVendorConfig).
+ */
+@Slf4j
+public final class DatabaseVendor {
+
+    private DatabaseVendor() {
+    }
+
+    public static boolean isPostgres(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            log.warn("No se pudo detectar la base de datos; se usan las implementaciones portables", e);
+            return false;
+        }
+    }
+}
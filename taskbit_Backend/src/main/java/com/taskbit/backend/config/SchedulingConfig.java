@@ -0,0 +1,12 @@
+package com.taskbit.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Activa los métodos @Scheduled (p. ej. el archivado de tareas).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,63 @@
+package com.taskbit.backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DataSource de la aplicación: el pool del primario (spring.datasource.*) y, si hay réplicas
+ * configuradas en taskbit.datasource.replicas, el enrutado de las lecturas hacia ellas.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties dataSourceProperties,
+                                                             ReplicaRoutingProperties routingProperties) {
+        List<ReplicaTarget> replicas = new ArrayList<>();
+        for (int i = 0; i < routingProperties.getReplicas().size(); i++) {
+            ReplicaRoutingProperties.Replica replica = routingProperties.getReplicas().get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername());
+            pool.setPassword(replica.getPassword());
+            pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            // La réplica puede estar caída al arrancar: el pool se crea sin conectar y la comprobación la descarta
+            pool.setInitializationFailTimeout(-1);
+            replicas.add(new ReplicaTarget(pool.getPoolName(), pool));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, routingProperties);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource,
+                                 ReplicaRoutingProperties routingProperties) {
+        if (routingProperties.getReplicas().isEmpty()) {
+            return primaryDataSource;
+        }
+        // El proxy retrasa la obtención de la conexión hasta la primera sentencia, cuando
+        // Spring ya ha marcado la transacción como readOnly
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
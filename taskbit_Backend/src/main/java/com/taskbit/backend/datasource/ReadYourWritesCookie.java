@@ -0,0 +1,70 @@
+package com.taskbit.backend.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Ventana de lectura tras escritura que viaja con el cliente: tras un commit se le envía una
+ * cookie con el instante (epoch ms) hasta el que sus lecturas deben ir al primario. A diferencia
+ * del registro en memoria de ReplicaRoutingDataSource, la respeta cualquier instancia detrás del
+ * balanceador. Fuera de una petición HTTP (trabajos en segundo plano) no hace nada.
+ */
+final class ReadYourWritesCookie {
+
+    static final String NAME = "taskbit_primary_until";
+
+    private ReadYourWritesCookie() {
+    }
+
+    static boolean isPresent() {
+        ServletRequestAttributes attributes = currentAttributes();
+        if (attributes == null) {
+            return false;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        if (request.getCookies() == null) {
+            return false;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    static void send(Duration window) {
+        ServletRequestAttributes attributes = currentAttributes();
+        if (attributes == null) {
+            return;
+        }
+        HttpServletResponse response = attributes.getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        ResponseCookie cookie = ResponseCookie.from(NAME, String.valueOf(System.currentTimeMillis() + window.toMillis()))
+                .maxAge(window)
+                .path("/")
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private static ServletRequestAttributes currentAttributes() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes : null;
+    }
+}
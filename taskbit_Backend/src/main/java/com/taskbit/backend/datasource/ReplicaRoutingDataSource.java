@@ -0,0 +1,170 @@
+package com.taskbit.backend.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskbit.backend.security.AuthenticatedUser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envía las transacciones de solo lectura a las réplicas (en rotación) y el resto al primario.
+ * Debe usarse detrás de un LazyConnectionDataSourceProxy para que la conexión se pida cuando
+ * la transacción ya está marcada como readOnly.
+ *
+ * <p>Las lecturas de un usuario que ha confirmado una escritura hace menos de
+ * readYourWritesWindow van al primario. La ventana se guarda en memoria por usuario (clientes
+ * sin cookies, misma instancia) y en la cookie de ReadYourWritesCookie, que la lleva a las demás
+ * instancias detrás del balanceador. Una réplica que no responde o va retrasada queda
+ * fuera hasta la siguiente comprobación correcta; sin réplicas disponibles se usa el primario.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<ReplicaTarget> replicas;
+    private final Cache<Long, Boolean> recentWriters;
+    private final Duration readYourWritesWindow;
+    private final Duration maxReplicaLag;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<ReplicaTarget> replicas, ReplicaRoutingProperties properties) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getReadYourWritesWindow())
+                .maximumSize(100_000)
+                .build();
+        this.readYourWritesWindow = properties.getReadYourWritesWindow();
+        this.maxReplicaLag = properties.getMaxReplicaLag();
+        this.lagQuery = properties.getLagQuery();
+
+        if (replicas.isEmpty()) {
+            this.healthChecker = null;
+            return;
+        }
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getHealthCheckInterval().toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriteOnCommit();
+            return primary.getConnection();
+        }
+
+        Long userId = currentUserId();
+        if ((userId != null && recentWriters.getIfPresent(userId) != null) || ReadYourWritesCookie.isPresent()) {
+            return primary.getConnection();
+        }
+
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaTarget replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (!replica.isAvailable()) {
+                continue;
+            }
+            try {
+                return replica.getDataSource().getConnection();
+            } catch (SQLException e) {
+                markUnavailable(replica, e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    // El usuario deja de leer de las réplicas hasta que estas hayan recibido su escritura
+    private void rememberWriteOnCommit() {
+        Long userId = currentUserId();
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(userId, Boolean.TRUE);
+                ReadYourWritesCookie.send(readYourWritesWindow);
+            }
+        });
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getUserId();
+        }
+        return null;
+    }
+
+    private void checkReplicas() {
+        for (ReplicaTarget replica : replicas) {
+            try (Connection connection = replica.getDataSource().getConnection()) {
+                double lagSeconds = replicationLag(connection);
+                if (lagSeconds * 1000 > maxReplicaLag.toMillis()) {
+                    markUnavailable(replica, "retraso de " + lagSeconds + " s");
+                } else if (!replica.isAvailable()) {
+                    replica.setAvailable(true);
+                    log.info("Réplica {} disponible de nuevo", replica.getName());
+                }
+            } catch (SQLException | RuntimeException e) {
+                markUnavailable(replica, e.getMessage());
+            }
+        }
+    }
+
+    private double replicationLag(Connection connection) throws SQLException {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return 0;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            return resultSet.next() ? resultSet.getDouble(1) : 0;
+        }
+    }
+
+    private void markUnavailable(ReplicaTarget replica, String reason) {
+        if (replica.isAvailable()) {
+            replica.setAvailable(false);
+            log.warn("Réplica {} fuera de servicio; las lecturas van al primario: {}", replica.getName(), reason);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (ReplicaTarget replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
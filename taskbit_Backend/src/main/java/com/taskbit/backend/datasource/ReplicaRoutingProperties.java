@@ -0,0 +1,41 @@
+package com.taskbit.backend.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de lectura (taskbit.datasource.*). Sin réplicas configuradas todo va al primario.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskbit.datasource")
+public class ReplicaRoutingProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Tiempo tras un commit en el que las lecturas del mismo usuario siguen yendo al primario
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    // Retraso máximo de replicación antes de dejar de usar una réplica
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+    private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+    // Consulta que devuelve el retraso de la réplica en segundos; vacía para comprobar solo la conexión (p. ej. H2)
+    private String lagQuery = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,24 @@
+package com.taskbit.backend.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.sql.DataSource;
+
+/**
+ * Réplica de lectura y su estado según la última comprobación.
+ */
+@Getter
+public class ReplicaTarget {
+    private final String name;
+    private final DataSource dataSource;
+
+    // Hasta la primera comprobación se asume disponible
+    @Setter
+    private volatile boolean available = true;
+
+    public ReplicaTarget(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+}
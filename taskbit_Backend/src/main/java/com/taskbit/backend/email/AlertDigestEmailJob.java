@@ -0,0 +1,53 @@
+package com.taskbit.backend.email;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskbit.backend.job.JobHandler;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Envía el resumen de alertas disparadas de un usuario desde la cola de trabajos.
+ */
+@Component
+@RequiredArgsConstructor
+public class AlertDigestEmailJob implements JobHandler {
+    public static final String TYPE = "email.alert-digest";
+
+    private final EmailService emailService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void handle(String payload) throws Exception {
+        Payload digest = objectMapper.readValue(payload, Payload.class);
+        emailService.sendAlertDigestEmail(digest.getToEmail(), digest.getUserName(), digest.getItems());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Payload {
+        private String toEmail;
+        private String userName;
+        private List<Item> items;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private String taskTitle;
+        private LocalDate dueDate;
+        private String timeBefore;
+    }
+}
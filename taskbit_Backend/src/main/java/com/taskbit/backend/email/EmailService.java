@@ -1,21 +1,37 @@
 package com.taskbit.backend.email;
 
+import com.taskbit.backend.job.JobQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
     
-    private final JavaMailSender mailSender;
+    private final PooledMailSender mailSender;
+    private final JobQueue jobQueue;
+    private final MeterRegistry meterRegistry;
     
     private static final String FROM_EMAIL = "lopezcristian7560@gmail.com";
     private static final String RESET_PASSWORD_SUBJECT = "Recuperación de Contraseña - TaskBit";
+    private static final String ALERT_DIGEST_SUBJECT = "Tienes %d tareas próximas a vencer - TaskBit";
+    private static final String ALERT_SINGLE_SUBJECT = "Recordatorio: %s - TaskBit";
     
+    /**
+     * Encola el correo en la transacción actual: se envía en segundo plano solo si esta se
+     * confirma, y la petición no espera al servidor SMTP.
+     */
+    public void queuePasswordResetEmail(String toEmail, String resetToken) {
+        jobQueue.enqueue(PasswordResetEmailJob.TYPE, new PasswordResetEmailJob.Payload(toEmail, resetToken));
+    }
+
     public void sendPasswordResetEmail(String toEmail, String resetToken) {
         try {
             String resetLink = "http://localhost:3000/reset-password?token=" + resetToken;
@@ -38,7 +54,7 @@ public class EmailService {
             message.setSubject(RESET_PASSWORD_SUBJECT);
             message.setText(messageBody);
             
-            mailSender.send(message);
+            send("password-reset", message);
             log.info("Email de recuperación de contraseña enviado exitosamente a: {}", toEmail);
             
         } catch (Exception e) {
@@ -46,7 +62,62 @@ public class EmailService {
             throw new RuntimeException("Error al enviar el correo de recuperación de contraseña", e);
         }
     }
-}
 
+    /**
+     * Encola un único correo con todas las alertas agrupadas de un usuario (ver AlertDigestService).
+     */
+    public void queueAlertDigestEmail(String toEmail, String userName, List<AlertDigestEmailJob.Item> items) {
+        jobQueue.enqueue(AlertDigestEmailJob.TYPE, new AlertDigestEmailJob.Payload(toEmail, userName, items));
+    }
+
+    public void sendAlertDigestEmail(String toEmail, String userName, List<AlertDigestEmailJob.Item> items) {
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (AlertDigestEmailJob.Item item : items) {
+                lines.append(String.format("- %s (entrega: %s, aviso: %s antes)%n",
+                        item.getTaskTitle(), item.getDueDate(), item.getTimeBefore()));
+            }
 
+            String messageBody = String.format(
+                "Hola %s,\n\n" +
+                "Estas tareas están próximas a vencer:\n\n" +
+                "%s\n" +
+                "Puedes revisarlas en http://localhost:3000/dashboard\n\n" +
+                "Saludos,\n" +
+                "Equipo TaskBit",
+                userName, lines
+            );
 
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(FROM_EMAIL);
+            message.setTo(toEmail);
+            message.setSubject(items.size() == 1
+                    ? String.format(ALERT_SINGLE_SUBJECT, items.get(0).getTaskTitle())
+                    : String.format(ALERT_DIGEST_SUBJECT, items.size()));
+            message.setText(messageBody);
+
+            send("alert-digest", message);
+            log.info("Resumen de {} alertas enviado a: {}", items.size(), toEmail);
+
+        } catch (Exception e) {
+            log.error("Error al enviar el resumen de alertas a: {}", toEmail, e);
+            throw new RuntimeException("Error al enviar el resumen de alertas", e);
+        }
+    }
+
+    // Latencia del envío SMTP (incluida la espera por una sesión libre) por tipo de correo y resultado
+    private void send(String type, SimpleMailMessage message) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "error";
+        try {
+            mailSender.send(message);
+            result = "ok";
+        } finally {
+            sample.stop(Timer.builder("email.send")
+                    .description("Tiempo de envío de correos al servidor SMTP")
+                    .tag("type", type)
+                    .tag("result", result)
+                    .register(meterRegistry));
+        }
+    }
+}
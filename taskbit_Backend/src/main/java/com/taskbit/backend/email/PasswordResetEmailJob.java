@@ -0,0 +1,40 @@
+package com.taskbit.backend.email;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskbit.backend.job.JobHandler;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envía el correo de recuperación de contraseña desde la cola de trabajos.
+ */
+@Component
+@RequiredArgsConstructor
+public class PasswordResetEmailJob implements JobHandler {
+    public static final String TYPE = "email.password-reset";
+
+    private final EmailService emailService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void handle(String payload) throws Exception {
+        Payload email = objectMapper.readValue(payload, Payload.class);
+        emailService.sendPasswordResetEmail(email.getToEmail(), email.getResetToken());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Payload {
+        private String toEmail;
+        private String resetToken;
+    }
+}
@@ -0,0 +1,262 @@
+package com.taskbit.backend.email;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Envío SMTP reutilizando conexiones. Cada uno de los pool.size hilos de envío mantiene su
+ * propia sesión SMTP autenticada (TCP + STARTTLS + AUTH una sola vez) y envía por ella los
+ * mensajes en cola en lotes de hasta pool.batch-size. Si la conexión falla se reabre y el
+ * mensaje se reintenta una vez; tras pool.idle-timeout sin mensajes, o tras
+ * pool.max-messages-per-connection envíos, la sesión se cierra.
+ *
+ * <p>{@link #send} espera el resultado de su mensaje, de modo que quien llama (un handler de
+ * la cola de trabajos) sigue viendo el error y puede reintentar. Sin JavaMailSenderImpl o con
+ * taskbit.mail.pool.enabled=false, cada mensaje se envía con su propia conexión.
+ */
+@Component
+@Slf4j
+public class PooledMailSender {
+
+    private final JavaMailSender mailSender;
+    private final boolean enabled;
+    private final int poolSize;
+    private final int batchSize;
+    private final int maxMessagesPerConnection;
+    private final Duration idleTimeout;
+    private final Duration sendTimeout;
+    private final BlockingQueue<PendingMail> queue;
+    private final Counter connectionsOpened;
+    private final DistributionSummary batchSizes;
+
+    private volatile JavaMailSenderImpl pooledSender;
+    private volatile boolean running;
+    private ExecutorService senders;
+
+    public PooledMailSender(JavaMailSender mailSender,
+                            MeterRegistry meterRegistry,
+                            @Value("${taskbit.mail.pool.enabled:true}") boolean enabled,
+                            @Value("${taskbit.mail.pool.size:3}") int poolSize,
+                            @Value("${taskbit.mail.pool.batch-size:20}") int batchSize,
+                            @Value("${taskbit.mail.pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+                            @Value("${taskbit.mail.pool.idle-timeout:60s}") Duration idleTimeout,
+                            @Value("${taskbit.mail.pool.send-timeout:60s}") Duration sendTimeout,
+                            @Value("${taskbit.mail.pool.queue-capacity:1000}") int queueCapacity) {
+        this.mailSender = mailSender;
+        this.enabled = enabled;
+        this.poolSize = poolSize;
+        this.batchSize = batchSize;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.idleTimeout = idleTimeout;
+        this.sendTimeout = sendTimeout;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+
+        this.connectionsOpened = Counter.builder("email.connections.opened")
+                .description("Sesiones SMTP abiertas (TCP + STARTTLS + AUTH)")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("email.batch.size")
+                .description("Mensajes enviados por lote sobre una misma sesión SMTP")
+                .register(meterRegistry);
+        Gauge.builder("email.queue.depth", queue, BlockingQueue::size)
+                .description("Correos esperando una sesión SMTP libre")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || !(mailSender instanceof JavaMailSenderImpl impl)) {
+            log.info("Envío de correo sin conexiones reutilizadas");
+            return;
+        }
+        pooledSender = impl;
+        running = true;
+        // Hilos de plataforma: JavaMail hace la E/S de la sesión dentro de métodos synchronized, y
+        // un hilo virtual bloqueado ahí fija su hilo portador y se lo quita al resto de la aplicación
+        senders = Executors.newFixedThreadPool(poolSize, Thread.ofPlatform().name("smtp-", 0).daemon().factory());
+        for (int i = 0; i < poolSize; i++) {
+            senders.execute(new SmtpConnection()::run);
+        }
+        log.info("Envío de correo con {} sesiones SMTP reutilizables hacia {}", poolSize, impl.getHost());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (senders != null) {
+            senders.shutdownNow();
+        }
+        // Los que siguen en cola fallan: su trabajo se reintentará en otra instancia o al arrancar
+        PendingMail pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result.completeExceptionally(new MailSendException("Envío de correo detenido"));
+        }
+    }
+
+    public void send(SimpleMailMessage message) throws MailException {
+        JavaMailSenderImpl sender = pooledSender;
+        if (sender == null || !running) {
+            mailSender.send(message);
+            return;
+        }
+
+        MimeMessage mimeMessage = sender.createMimeMessage();
+        message.copyTo(new MimeMailMessage(mimeMessage));
+        PendingMail pending = new PendingMail(mimeMessage);
+        try {
+            // Transport.sendMessage no completa las cabeceras como Transport.send
+            mimeMessage.saveChanges();
+        } catch (MessagingException e) {
+            throw new MailSendException("No se pudo preparar el correo", e);
+        }
+        if (!queue.offer(pending)) {
+            throw new MailSendException("La cola de envío de correo está llena");
+        }
+
+        try {
+            pending.result.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof MailException mailException) {
+                throw mailException;
+            }
+            throw new MailSendException("Error al enviar el correo", e.getCause());
+        } catch (TimeoutException e) {
+            // Si aún no había salido, se descarta para no enviarlo dos veces al reintentar
+            pending.result.cancel(false);
+            throw new MailSendException("Tiempo de espera agotado al enviar el correo");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.result.cancel(false);
+            throw new MailSendException("Envío de correo interrumpido");
+        }
+    }
+
+    private static final class PendingMail {
+        private final MimeMessage message;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private PendingMail(MimeMessage message) {
+            this.message = message;
+        }
+    }
+
+    // Una sesión SMTP y el hilo que la usa; no se comparte entre hilos
+    private final class SmtpConnection {
+        private Transport transport;
+        private int sent;
+
+        void run() {
+            List<PendingMail> batch = new ArrayList<>(batchSize);
+            try {
+                while (running) {
+                    PendingMail first = queue.poll(idleTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        // Sin mensajes durante idle-timeout: se libera la sesión
+                        close();
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    batchSizes.record(batch.size());
+                    for (PendingMail mail : batch) {
+                        if (!mail.result.isDone()) {
+                            deliver(mail);
+                        }
+                    }
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                batch.forEach(mail -> mail.result.completeExceptionally(new MailSendException("Envío de correo detenido")));
+                close();
+            }
+        }
+
+        private void deliver(PendingMail mail) {
+            if (sent >= maxMessagesPerConnection) {
+                // Muchos servidores limitan los mensajes por sesión
+                close();
+            }
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    if (transport == null || !transport.isConnected()) {
+                        connect();
+                    }
+                    transport.sendMessage(mail.message, mail.message.getAllRecipients());
+                    sent++;
+                    mail.result.complete(null);
+                    return;
+                } catch (SendFailedException e) {
+                    // JavaMail también la lanza si el servidor corta la sesión a mitad del envío
+                    // ([EOF], 421): si la sesión ya no responde, se trata como una conexión perdida
+                    if (attempt < 2 && !transport.isConnected()) {
+                        close();
+                        log.debug("Sesión SMTP cerrada por el servidor durante el envío; reconectando", e);
+                        continue;
+                    }
+                    // El servidor rechazó este mensaje (destinatarios, 4xx/5xx): la sesión sigue siendo válida
+                    mail.result.completeExceptionally(new MailSendException("El servidor SMTP rechazó el correo", e));
+                    return;
+                } catch (MessagingException e) {
+                    // Sesión caída o cerrada por el servidor: se reabre y se reintenta una vez
+                    close();
+                    if (attempt >= 2) {
+                        mail.result.completeExceptionally(new MailSendException("Error al enviar el correo", e));
+                        return;
+                    }
+                    log.debug("Sesión SMTP perdida; reconectando", e);
+                }
+            }
+        }
+
+        private void connect() throws MessagingException {
+            JavaMailSenderImpl sender = pooledSender;
+            transport = sender.getSession().getTransport(sender.getProtocol());
+            transport.connect(sender.getHost(), sender.getPort(), sender.getUsername(), sender.getPassword());
+            sent = 0;
+            connectionsOpened.increment();
+        }
+
+        private void close() {
+            if (transport == null) {
+                return;
+            }
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Error al cerrar la sesión SMTP", e);
+            }
+            transport = null;
+        }
+    }
+}
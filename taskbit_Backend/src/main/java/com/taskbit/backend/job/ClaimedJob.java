@@ -0,0 +1,17 @@
+package com.taskbit.backend.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Trabajo reclamado por un worker; {@code attempts} ya incluye el intento en curso.
+ */
+@Getter
+@AllArgsConstructor
+public class ClaimedJob {
+    private final Long id;
+    private final String type;
+    private final String payload;
+    private final int attempts;
+    private final int maxAttempts;
+}
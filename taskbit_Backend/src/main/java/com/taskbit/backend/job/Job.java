@@ -0,0 +1,57 @@
+package com.taskbit.backend.job;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "job")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Job {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Clave del JobHandler que lo procesa (p. ej. "email.password-reset")
+    @Column(nullable = false, length = 50)
+    private String type;
+
+    @Column(columnDefinition = "text", nullable = false)
+    private String payload; // JSON
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private JobStatus status = JobStatus.PENDIENTE;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+
+    // No se reclama antes de esta hora (reintentos con espera)
+    @Column(name = "run_at", nullable = false)
+    private OffsetDateTime runAt;
+
+    // Concesión: el worker que lo tiene y hasta cuándo; vencida, otro worker puede reclamarlo
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    @Column(name = "locked_until")
+    private OffsetDateTime lockedUntil;
+
+    @Column(name = "last_error", columnDefinition = "text")
+    private String lastError;
+
+    @Column(name = "created_at")
+    private OffsetDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private OffsetDateTime completedAt;
+}
@@ -0,0 +1,14 @@
+package com.taskbit.backend.job;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Reclama trabajos listos (pendientes con run_at vencido, o en curso con la concesión
+ * vencida) para un worker. Se llama dentro de una transacción; la implementación depende de
+ * la base de datos (ver JobVendorConfig).
+ */
+interface JobClaimer {
+
+    List<ClaimedJob> claim(String workerId, int limit, OffsetDateTime now, OffsetDateTime leaseUntil);
+}
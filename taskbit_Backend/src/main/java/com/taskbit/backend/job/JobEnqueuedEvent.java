@@ -0,0 +1,15 @@
+package com.taskbit.backend.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publicado por {@link JobQueue} al encolar. {@link JobWorker} lo escucha al confirmarse la
+ * transacción para procesar el trabajo sin esperar al siguiente sondeo.
+ */
+@Getter
+@AllArgsConstructor
+public class JobEnqueuedEvent {
+    private final Long jobId;
+    private final String type;
+}
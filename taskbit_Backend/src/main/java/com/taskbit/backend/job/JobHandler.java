@@ -0,0 +1,13 @@
+package com.taskbit.backend.job;
+
+/**
+ * Procesa los trabajos de un tipo. Se ejecuta fuera de toda transacción y puede ejecutarse
+ * más de una vez para el mismo trabajo (si el worker cae antes de confirmarlo), así que el
+ * efecto debe tolerar repeticiones. Una excepción cuenta como intento fallido.
+ */
+public interface JobHandler {
+
+    String getType();
+
+    void handle(String payload) throws Exception;
+}
@@ -0,0 +1,78 @@
+package com.taskbit.backend.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Encola trabajos en la tabla job. El INSERT forma parte de la transacción del llamador:
+ * si esta se revierte, el trabajo no existe; si se confirma, algún worker lo ejecutará
+ * aunque esta instancia caiga. Al confirmarse, el worker local lo recoge de inmediato
+ * (ver {@link JobEnqueuedEvent}).
+ */
+@Service
+@RequiredArgsConstructor
+public class JobQueue {
+    private final JobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${taskbit.jobs.max-attempts:5}")
+    private int maxAttempts;
+
+    @Transactional
+    public Long enqueue(String type, Object payload) {
+        return enqueue(type, payload, OffsetDateTime.now());
+    }
+
+    /**
+     * Encola un trabajo que no se reclamará antes de {@code runAt}.
+     */
+    @Transactional
+    public Long enqueue(String type, Object payload, OffsetDateTime runAt) {
+        return insert(type, serialize(type, payload), runAt);
+    }
+
+    /**
+     * Como {@link #enqueue(String, Object, OffsetDateTime)}, salvo que ya haya un trabajo pendiente
+     * del mismo tipo y payload; devuelve si lo encoló. Dos transacciones simultáneas pueden
+     * encolar ambas, así que el handler debe tolerar que se ejecute dos veces.
+     */
+    @Transactional
+    public boolean enqueueIfAbsent(String type, Object payload, OffsetDateTime runAt) {
+        String json = serialize(type, payload);
+        if (jobRepository.existsByTypeAndPayloadAndStatus(type, json, JobStatus.PENDIENTE)) {
+            return false;
+        }
+        insert(type, json, runAt);
+        return true;
+    }
+
+    private Long insert(String type, String json, OffsetDateTime runAt) {
+        Job job = Job.builder()
+                .type(type)
+                .payload(json)
+                .status(JobStatus.PENDIENTE)
+                .maxAttempts(maxAttempts)
+                .runAt(runAt)
+                .createdAt(OffsetDateTime.now())
+                .build();
+        Long jobId = jobRepository.save(job).getId();
+        eventPublisher.publishEvent(new JobEnqueuedEvent(jobId, type));
+        return jobId;
+    }
+
+    private String serialize(String type, Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("No se pudo serializar el trabajo " + type, e);
+        }
+    }
+}
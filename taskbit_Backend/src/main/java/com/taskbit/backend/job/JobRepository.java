@@ -0,0 +1,39 @@
+package com.taskbit.backend.job;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+
+@Repository
+public interface JobRepository extends JpaRepository<Job, Long> {
+
+    // Los cambios de estado solo se aplican si el worker conserva la concesión
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :status, j.completedAt = :now, j.lockedBy = NULL, j.lockedUntil = NULL " +
+            "WHERE j.id = :id AND j.lockedBy = :workerId")
+    int markCompleted(@Param("id") Long id,
+                      @Param("workerId") String workerId,
+                      @Param("status") JobStatus status,
+                      @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :status, j.runAt = :runAt, j.lastError = :error, " +
+            "j.lockedBy = NULL, j.lockedUntil = NULL WHERE j.id = :id AND j.lockedBy = :workerId")
+    int release(@Param("id") Long id,
+                @Param("workerId") String workerId,
+                @Param("status") JobStatus status,
+                @Param("runAt") OffsetDateTime runAt,
+                @Param("error") String error);
+
+    long countByStatus(JobStatus status);
+
+    boolean existsByTypeAndPayloadAndStatus(String type, String payload, JobStatus status);
+
+    @Modifying
+    @Query("DELETE FROM Job j WHERE j.status = :status AND j.completedAt < :before")
+    int deleteByStatusAndCompletedAtBefore(@Param("status") JobStatus status, @Param("before") OffsetDateTime before);
+}
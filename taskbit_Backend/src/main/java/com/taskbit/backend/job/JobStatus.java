@@ -0,0 +1,12 @@
+package com.taskbit.backend.job;
+
+/**
+ * Ciclo de vida de un trabajo: PENDIENTE → EN_CURSO → COMPLETADO, o de vuelta a PENDIENTE
+ * para reintentar. FALLIDO es la cola de mensajes muertos: agotó sus intentos o no tiene handler.
+ */
+public enum JobStatus {
+    PENDIENTE,
+    EN_CURSO,
+    COMPLETADO,
+    FALLIDO
+}
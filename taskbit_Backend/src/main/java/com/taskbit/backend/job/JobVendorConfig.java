@@ -0,0 +1,23 @@
+package com.taskbit.backend.job;
+
+import com.taskbit.backend.config.DatabaseVendor;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@Slf4j
+public class JobVendorConfig {
+
+    @Bean
+    JobClaimer jobClaimer(DataSource dataSource, EntityManager entityManager) {
+        if (DatabaseVendor.isPostgres(dataSource)) {
+            return new PostgresJobClaimer(entityManager);
+        }
+        log.info("Base de datos sin SKIP LOCKED: cola de trabajos con bloqueo simple");
+        return new JpaJobClaimer(entityManager);
+    }
+}
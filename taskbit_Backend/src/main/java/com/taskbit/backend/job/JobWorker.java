@@ -0,0 +1,296 @@
+package com.taskbit.backend.job;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Procesa la cola de trabajos. Los hilos de sondeo reclaman lotes (ver {@link JobClaimer}) en
+ * una transacción corta y cada trabajo se ejecuta en su propio hilo virtual, fuera de ella;
+ * el resultado se confirma solo si el worker conserva la concesión. Si un worker cae, la
+ * concesión vence (taskbit.jobs.lease) y otro reclama el trabajo.
+ *
+ * <p>Como mucho hay max-in-flight trabajos en ejecución: solo se reclaman tantos como huecos
+ * libres, y el resto espera en la tabla. Un handler lento (p. ej. un servidor SMTP que tarda)
+ * ocupa un hilo virtual, no un hilo de plataforma ni una conexión a la base de datos. Los
+ * trabajos encolados en esta instancia se recogen al confirmarse su transacción, sin esperar
+ * al siguiente sondeo.
+ *
+ * <p>Los fallos se reintentan con espera exponencial con jitter (backoff-base, duplicándose
+ * hasta backoff-max); al agotar max-attempts el trabajo pasa a FALLIDO y queda en la tabla
+ * para revisarlo.
+ */
+@Component
+@Slf4j
+public class JobWorker {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final JobClaimer jobClaimer;
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, JobHandler> handlers;
+    private final MeterRegistry meterRegistry;
+    private final String workerId;
+    private final boolean enabled;
+    private final int concurrency;
+    private final int maxInFlight;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+    private final Duration retention;
+
+    private final Semaphore inFlight;
+    private final AtomicLong pendingJobs = new AtomicLong();
+
+    private ScheduledExecutorService executor;
+    private ExecutorService handlerExecutor;
+
+    public JobWorker(JobClaimer jobClaimer,
+                     JobRepository jobRepository,
+                     PlatformTransactionManager transactionManager,
+                     List<JobHandler> handlers,
+                     MeterRegistry meterRegistry,
+                     @Value("${taskbit.jobs.enabled:true}") boolean enabled,
+                     @Value("${taskbit.jobs.concurrency:2}") int concurrency,
+                     @Value("${taskbit.jobs.max-in-flight:50}") int maxInFlight,
+                     @Value("${taskbit.jobs.batch-size:10}") int batchSize,
+                     @Value("${taskbit.jobs.poll-interval:1s}") Duration pollInterval,
+                     @Value("${taskbit.jobs.lease:5m}") Duration lease,
+                     @Value("${taskbit.jobs.backoff-base:10s}") Duration backoffBase,
+                     @Value("${taskbit.jobs.backoff-max:1h}") Duration backoffMax,
+                     @Value("${taskbit.jobs.retention:7d}") Duration retention) {
+        this.jobClaimer = jobClaimer;
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.handlers = handlers.stream().collect(Collectors.toMap(JobHandler::getType, Function.identity()));
+        this.meterRegistry = meterRegistry;
+        this.workerId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.enabled = enabled;
+        this.concurrency = concurrency;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+        this.backoffBase = backoffBase;
+        this.backoffMax = backoffMax;
+        this.retention = retention;
+
+        Gauge.builder("jobs.in-flight", inFlight, semaphore -> maxInFlight - semaphore.availablePermits())
+                .description("Trabajos en ejecución en esta instancia")
+                .register(meterRegistry);
+        Gauge.builder("jobs.pending", pendingJobs, AtomicLong::get)
+                .description("Trabajos pendientes en la tabla job (todas las instancias)")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Cola de trabajos desactivada en esta instancia (taskbit.jobs.enabled=false)");
+            return;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "job-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        handlerExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("job-", 0).factory());
+        for (int i = 0; i < concurrency; i++) {
+            executor.scheduleWithFixedDelay(this::drain, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        log.info("Cola de trabajos: worker {} con {} hilos de sondeo y hasta {} trabajos en curso",
+                workerId, concurrency, maxInFlight);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (executor != null) {
+            // Los trabajos en curso terminan; si no da tiempo, su concesión vencerá
+            executor.shutdown();
+            handlerExecutor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+            handlerExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    // fallbackExecution: un enqueue fuera de transacción ya está confirmado
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobEnqueued(JobEnqueuedEvent event) {
+        if (executor != null && !executor.isShutdown()) {
+            executor.execute(this::drain);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${taskbit.jobs.pending-refresh:30s}")
+    public void refreshPending() {
+        pendingJobs.set(jobRepository.countByStatus(JobStatus.PENDIENTE));
+    }
+
+    @Scheduled(cron = "${taskbit.jobs.purge-cron:0 0 4 * * *}")
+    public void purgeCompleted() {
+        int deleted = transactionTemplate.execute(status -> jobRepository.deleteByStatusAndCompletedAtBefore(
+                JobStatus.COMPLETADO, OffsetDateTime.now().minus(retention)));
+        if (deleted > 0) {
+            log.info("Eliminados {} trabajos completados hace más de {}", deleted, retention);
+        }
+    }
+
+    // Reclama lotes mientras haya trabajo listo y huecos libres
+    private void drain() {
+        try {
+            int limit;
+            List<ClaimedJob> jobs;
+            do {
+                // Se reservan los huecos antes de reclamar: nunca se reclama lo que no se puede ejecutar
+                limit = Math.min(batchSize, inFlight.availablePermits());
+                if (limit == 0 || !inFlight.tryAcquire(limit)) {
+                    return;
+                }
+                OffsetDateTime now = OffsetDateTime.now();
+                try {
+                    int claimLimit = limit;
+                    jobs = transactionTemplate.execute(status ->
+                            jobClaimer.claim(workerId, claimLimit, now, now.plus(lease)));
+                } catch (RuntimeException e) {
+                    inFlight.release(limit);
+                    throw e;
+                }
+                inFlight.release(limit - jobs.size());
+                for (ClaimedJob job : jobs) {
+                    handlerExecutor.execute(() -> {
+                        try {
+                            process(job);
+                        } catch (RuntimeException e) {
+                            // Si no se pudo registrar el resultado, la concesión vencerá y se reintentará
+                            log.error("Error al procesar el trabajo {} ({})", job.getId(), job.getType(), e);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+            } while (jobs.size() == limit && !executor.isShutdown());
+        } catch (RuntimeException e) {
+            // Una excepción cancelaría las ejecuciones siguientes de este hilo
+            log.error("Error al reclamar trabajos", e);
+        }
+    }
+
+    private void process(ClaimedJob job) {
+        JobHandler handler = handlers.get(job.getType());
+        if (handler == null) {
+            deadLetter(job, "No hay handler para el tipo " + job.getType());
+            return;
+        }
+        // Reclamado de nuevo tras vencer la concesión en todos sus intentos
+        if (job.getAttempts() > job.getMaxAttempts()) {
+            deadLetter(job, "Concesión vencida en todos los intentos");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            handler.handle(job.getPayload());
+        } catch (Exception e) {
+            recordDuration(job, start, "error");
+            if (job.getAttempts() >= job.getMaxAttempts()) {
+                deadLetter(job, describe(e));
+            } else {
+                retry(job, e);
+            }
+            return;
+        }
+        recordDuration(job, start, "ok");
+
+        int updated = transactionTemplate.execute(status ->
+                jobRepository.markCompleted(job.getId(), workerId, JobStatus.COMPLETADO, OffsetDateTime.now()));
+        record(job, updated > 0 ? "completado" : "concesion_perdida");
+    }
+
+    private void retry(ClaimedJob job, Exception error) {
+        OffsetDateTime runAt = OffsetDateTime.now().plus(backoff(job.getAttempts()));
+        log.warn("Trabajo {} ({}) falló en el intento {}/{}; se reintentará a las {}",
+                job.getId(), job.getType(), job.getAttempts(), job.getMaxAttempts(), runAt, error);
+        transactionTemplate.executeWithoutResult(status ->
+                jobRepository.release(job.getId(), workerId, JobStatus.PENDIENTE, runAt, describe(error)));
+        record(job, "reintento");
+    }
+
+    private void deadLetter(ClaimedJob job, String error) {
+        log.error("Trabajo {} ({}) descartado tras {} intentos: {}", job.getId(), job.getType(), job.getAttempts(), error);
+        transactionTemplate.executeWithoutResult(status ->
+                jobRepository.release(job.getId(), workerId, JobStatus.FALLIDO, OffsetDateTime.now(), error));
+        record(job, "fallido");
+    }
+
+    // base * 2^(intento-1), con tope, y un valor aleatorio entre la mitad y el total
+    private Duration backoff(int attempt) {
+        long base = backoffBase.toMillis();
+        long max = backoffMax.toMillis();
+        long delay = attempt >= 31 ? max : Math.min(max, base * (1L << (attempt - 1)));
+        return Duration.ofMillis(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    }
+
+    private void record(ClaimedJob job, String outcome) {
+        Counter.builder("jobs.processed")
+                .description("Trabajos procesados por resultado")
+                .tag("type", job.getType())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void recordDuration(ClaimedJob job, long startNanos, String result) {
+        Timer.builder("jobs.duration")
+                .description("Tiempo de ejecución de los handlers")
+                .tag("type", job.getType())
+                .tag("result", result)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private String describe(Exception error) {
+        String text = error.getClass().getSimpleName() + ": " + error.getMessage();
+        return text.length() > MAX_ERROR_LENGTH ? text.substring(0, MAX_ERROR_LENGTH) : text;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "desconocido";
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskbit.backend.job;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementación de respaldo (H2 en pruebas): bloquea el lote con SELECT ... FOR UPDATE y lo
+ * actualiza entidad a entidad. Sin SKIP LOCKED, los workers concurrentes se esperan entre sí.
+ */
+class JpaJobClaimer implements JobClaimer {
+
+    private final EntityManager entityManager;
+
+    JpaJobClaimer(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<ClaimedJob> claim(String workerId, int limit, OffsetDateTime now, OffsetDateTime leaseUntil) {
+        List<Job> ready = entityManager.createQuery("SELECT j FROM Job j "
+                        + "WHERE (j.status = :pending AND j.runAt <= :now) "
+                        + "OR (j.status = :running AND j.lockedUntil < :now) ORDER BY j.runAt", Job.class)
+                .setParameter("pending", JobStatus.PENDIENTE)
+                .setParameter("running", JobStatus.EN_CURSO)
+                .setParameter("now", now)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setMaxResults(limit)
+                .getResultList();
+
+        List<ClaimedJob> jobs = new ArrayList<>(ready.size());
+        for (Job job : ready) {
+            job.setStatus(JobStatus.EN_CURSO);
+            job.setLockedBy(workerId);
+            job.setLockedUntil(leaseUntil);
+            job.setAttempts(job.getAttempts() + 1);
+            jobs.add(new ClaimedJob(job.getId(), job.getType(), job.getPayload(), job.getAttempts(), job.getMaxAttempts()));
+        }
+        return jobs;
+    }
+}
@@ -0,0 +1,58 @@
+package com.taskbit.backend.job;
+
+import jakarta.persistence.EntityManager;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reclamo en una sola sentencia: la subconsulta elige el lote con FOR UPDATE SKIP LOCKED,
+ * así que varios workers (en una o varias instancias) nunca se esperan ni toman el mismo
+ * trabajo, y el UPDATE ... RETURNING lo marca y lo devuelve.
+ */
+class PostgresJobClaimer implements JobClaimer {
+
+    private static final String CLAIM_SQL = """
+            UPDATE job j
+            SET status = 'EN_CURSO', locked_by = :workerId, locked_until = :leaseUntil, attempts = j.attempts + 1
+            FROM (
+                SELECT id FROM job
+                WHERE (status = 'PENDIENTE' AND run_at <= :now)
+                   OR (status = 'EN_CURSO' AND locked_until < :now)
+                ORDER BY run_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ) claimed
+            WHERE j.id = claimed.id
+            RETURNING j.id, j.type, j.payload, j.attempts, j.max_attempts
+            """;
+
+    private final EntityManager entityManager;
+
+    PostgresJobClaimer(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ClaimedJob> claim(String workerId, int limit, OffsetDateTime now, OffsetDateTime leaseUntil) {
+        List<Object[]> rows = entityManager.createNativeQuery(CLAIM_SQL)
+                .setParameter("workerId", workerId)
+                .setParameter("leaseUntil", leaseUntil)
+                .setParameter("now", now)
+                .setParameter("limit", limit)
+                .getResultList();
+
+        List<ClaimedJob> jobs = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            jobs.add(new ClaimedJob(
+                    ((Number) row[0]).longValue(),
+                    (String) row[1],
+                    (String) row[2],
+                    ((Number) row[3]).intValue(),
+                    ((Number) row[4]).intValue()));
+        }
+        return jobs;
+    }
+}
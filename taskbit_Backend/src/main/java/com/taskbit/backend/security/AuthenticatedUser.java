@@ -0,0 +1,22 @@
+package com.taskbit.backend.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.Principal;
+
+/**
+ * Usuario autenticado a partir del JWT. Lleva el id (subject del token) además del
+ * email, de modo que los servicios no necesitan buscar el usuario en cada petición.
+ */
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser implements Principal {
+    private final Long userId;
+    private final String email;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
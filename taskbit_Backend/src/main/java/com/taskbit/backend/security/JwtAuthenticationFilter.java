@@ -32,11 +32,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             final String token = header.substring(7);
             try {
                 Claims claims = jwtUtil.validateAndGetClaims(token);
-                String subject = claims.getSubject();
+                Long userId = Long.valueOf(claims.getSubject());
                 String email = claims.get("email", String.class);
 
                 UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                        email,
+                        new AuthenticatedUser(userId, email),
                         null,
                         Collections.emptyList()
                 );
@@ -0,0 +1,24 @@
+package com.taskbit.backend.sync;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Implementación para PostgreSQL: el xmin de la instantánea actual es la transacción en curso
+ * más antigua. Una transacción larga retrasa la sincronización hasta que termina.
+ */
+class PostgresSyncHorizon implements SyncHorizon {
+
+    private final EntityManager entityManager;
+
+    PostgresSyncHorizon(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public long current() {
+        Number xmin = (Number) entityManager
+                .createNativeQuery("SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint")
+                .getSingleResult();
+        return xmin.longValue();
+    }
+}
@@ -0,0 +1,39 @@
+package com.taskbit.backend.sync;
+
+import com.taskbit.backend.security.AuthenticatedUser;
+import com.taskbit.backend.sync.dto.SyncResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@Tag(name = "Sincronización", description = "Sincronización incremental de tareas y alertas")
+@SecurityRequirement(name = "Bearer Authentication")
+public class SyncController {
+    private final SyncService syncService;
+
+    @GetMapping
+    @Operation(summary = "Obtener cambios", description = "Devuelve las tareas y alertas creadas, modificadas o eliminadas después del cursor indicado en since (0 o vacío para la carga inicial). Repetir con el cursor devuelto mientras hasMore sea true")
+    public ResponseEntity<SyncResponse> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        SyncResponse changes = syncService.getChanges(since, limit, currentUser.getUserId());
+        return ResponseEntity.ok(changes);
+    }
+}
@@ -0,0 +1,57 @@
+package com.taskbit.backend.sync;
+
+import com.taskbit.backend.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Último cambio entregado a un cliente: transacción (change_xid) y change_seq dentro de ella.
+ * Se serializa como "xid.seq". Un número solo es un cursor anterior a V16 (solo change_seq) y
+ * equivale a (0, seq), porque las filas que ya existían se migraron con change_xid = 0.
+ */
+@Getter
+@AllArgsConstructor
+public class SyncCursor implements Comparable<SyncCursor> {
+    public static final SyncCursor START = new SyncCursor(0L, 0L);
+
+    private final long xid;
+    private final long seq;
+
+    public String encode() {
+        return xid + "." + seq;
+    }
+
+    public static SyncCursor decode(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return START;
+        }
+        try {
+            String[] parts = token.trim().split("\\.", -1);
+            if (parts.length > 2) {
+                throw new BusinessException("Cursor no válido");
+            }
+            long xid = parts.length == 2 ? Long.parseLong(parts[0]) : 0L;
+            long seq = Long.parseLong(parts[parts.length - 1]);
+            if (xid < 0 || seq < 0) {
+                throw new BusinessException("Cursor no válido");
+            }
+            return new SyncCursor(xid, seq);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Cursor no válido");
+        }
+    }
+
+    @Override
+    public int compareTo(SyncCursor other) {
+        int byXid = Long.compare(xid, other.xid);
+        return byXid != 0 ? byXid : Long.compare(seq, other.seq);
+    }
+
+    static SyncCursor min(SyncCursor a, SyncCursor b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    static SyncCursor max(SyncCursor a, SyncCursor b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
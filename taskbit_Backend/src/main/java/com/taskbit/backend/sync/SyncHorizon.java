@@ -0,0 +1,10 @@
+package com.taskbit.backend.sync;
+
+/**
+ * Límite superior (exclusivo) de change_xid que /api/sync puede entregar: toda transacción
+ * por debajo ya terminó, así que no aparecerán más filas con un xid menor.
+ */
+public interface SyncHorizon {
+
+    long current();
+}
@@ -0,0 +1,114 @@
+package com.taskbit.backend.sync;
+
+import com.taskbit.backend.alert.Alert;
+import com.taskbit.backend.alert.AlertRepository;
+import com.taskbit.backend.alert.AlertService;
+import com.taskbit.backend.sync.dto.SyncDeletion;
+import com.taskbit.backend.sync.dto.SyncResponse;
+import com.taskbit.backend.task.Task;
+import com.taskbit.backend.task.TaskRepository;
+import com.taskbit.backend.task.TaskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Sincronización incremental: devuelve las tareas, alertas y eliminaciones posteriores al
+ * cursor del cliente, ordenadas por (change_xid, change_seq). Solo se entregan transacciones
+ * anteriores al horizonte (ya terminadas): una escritura que confirma tarde tiene un xid por
+ * encima del horizonte y llega en una sincronización posterior, nunca detrás del cursor.
+ * Cada lista es un rango sobre un índice (user_id, change_xid, change_seq), así que el coste
+ * depende de los cambios y no del total de datos.
+ */
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+    private static final int DEFAULT_LIMIT = 200;
+    private static final int MAX_LIMIT = 1000;
+
+    private final TaskRepository taskRepository;
+    private final AlertRepository alertRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final SyncHorizon syncHorizon;
+    private final TaskService taskService;
+    private final AlertService alertService;
+
+    @Transactional(readOnly = true)
+    public SyncResponse getChanges(String since, Integer limit, Long userId) {
+        SyncCursor cursor = SyncCursor.decode(since);
+        int pageSize = limit != null ? Math.max(1, Math.min(limit, MAX_LIMIT)) : DEFAULT_LIMIT;
+        // Se pide una fila extra por lista para saber si quedan cambios
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        long horizon = syncHorizon.current();
+
+        List<Task> tasks = taskRepository.findChangedForUser(userId, cursor.getXid(), cursor.getSeq(), horizon, page);
+        List<Alert> alerts = alertRepository.findChangedForUser(userId, cursor.getXid(), cursor.getSeq(), horizon, page);
+        List<SyncTombstone> tombstones = tombstoneRepository
+                .findChangedForUser(userId, cursor.getXid(), cursor.getSeq(), horizon, page);
+
+        // Si alguna lista se corta, el nuevo cursor no puede pasar de su último elemento;
+        // los elementos posteriores de las otras listas se volverán a enviar (aplicarlos es idempotente)
+        SyncCursor nextCursor = null;
+        boolean hasMore = false;
+        if (tasks.size() > pageSize) {
+            tasks = tasks.subList(0, pageSize);
+            nextCursor = lowest(nextCursor, cursorOf(tasks.get(pageSize - 1)));
+            hasMore = true;
+        }
+        if (alerts.size() > pageSize) {
+            alerts = alerts.subList(0, pageSize);
+            nextCursor = lowest(nextCursor, cursorOf(alerts.get(pageSize - 1)));
+            hasMore = true;
+        }
+        if (tombstones.size() > pageSize) {
+            tombstones = tombstones.subList(0, pageSize);
+            nextCursor = lowest(nextCursor, cursorOf(tombstones.get(pageSize - 1)));
+            hasMore = true;
+        }
+        if (!hasMore) {
+            nextCursor = cursor;
+            for (Task task : tasks) {
+                nextCursor = SyncCursor.max(nextCursor, cursorOf(task));
+            }
+            for (Alert alert : alerts) {
+                nextCursor = SyncCursor.max(nextCursor, cursorOf(alert));
+            }
+            for (SyncTombstone tombstone : tombstones) {
+                nextCursor = SyncCursor.max(nextCursor, cursorOf(tombstone));
+            }
+        }
+
+        return SyncResponse.builder()
+                .tasks(tasks.stream().map(taskService::mapToResponse).collect(Collectors.toList()))
+                .alerts(alerts.stream().map(alertService::mapToResponse).collect(Collectors.toList()))
+                .deleted(tombstones.stream()
+                        .map(tombstone -> SyncDeletion.builder()
+                                .type(tombstone.getEntityType())
+                                .id(tombstone.getEntityId())
+                                .build())
+                        .collect(Collectors.toList()))
+                .cursor(nextCursor.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private static SyncCursor lowest(SyncCursor current, SyncCursor candidate) {
+        return current == null ? candidate : SyncCursor.min(current, candidate);
+    }
+
+    private static SyncCursor cursorOf(Task task) {
+        return new SyncCursor(task.getChangeXid(), task.getChangeSeq());
+    }
+
+    private static SyncCursor cursorOf(Alert alert) {
+        return new SyncCursor(alert.getChangeXid(), alert.getChangeSeq());
+    }
+
+    private static SyncCursor cursorOf(SyncTombstone tombstone) {
+        return new SyncCursor(tombstone.getChangeXid(), tombstone.getChangeSeq());
+    }
+}
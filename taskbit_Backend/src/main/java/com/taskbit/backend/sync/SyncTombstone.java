@@ -0,0 +1,43 @@
+package com.taskbit.backend.sync;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "sync_tombstone")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncTombstone {
+    public static final String TYPE_TASK = "task";
+    public static final String TYPE_ALERT = "alert";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sync_tombstone_seq")
+    @SequenceGenerator(name = "sync_tombstone_seq", sequenceName = "sync_tombstone_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "entity_type", nullable = false, length = 10)
+    private String entityType; // 'task' | 'alert'
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    // Asignado por la base de datos (DEFAULT nextval('change_seq'))
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+
+    // Asignado por la base de datos (DEFAULT pg_current_xact_id(), ver V16)
+    @Column(name = "change_xid", insertable = false, updatable = false)
+    private Long changeXid;
+
+    @Column(name = "deleted_at", nullable = false)
+    private OffsetDateTime deletedAt;
+}
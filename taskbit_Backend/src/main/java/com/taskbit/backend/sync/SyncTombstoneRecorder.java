@@ -0,0 +1,38 @@
+package com.taskbit.backend.sync;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Registra las eliminaciones para que /api/sync pueda informarlas a los clientes.
+ * Se ejecuta en la misma transacción que la eliminación.
+ */
+@Component
+@RequiredArgsConstructor
+public class SyncTombstoneRecorder {
+    private final SyncTombstoneRepository tombstoneRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletions(Long userId, String entityType, Collection<Long> entityIds) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        List<SyncTombstone> tombstones = entityIds.stream()
+                .map(entityId -> SyncTombstone.builder()
+                        .userId(userId)
+                        .entityType(entityType)
+                        .entityId(entityId)
+                        .deletedAt(now)
+                        .build())
+                .collect(Collectors.toList());
+        tombstoneRepository.saveAll(tombstones);
+    }
+}
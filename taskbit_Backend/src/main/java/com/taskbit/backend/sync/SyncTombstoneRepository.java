@@ -0,0 +1,18 @@
+package com.taskbit.backend.sync;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+    @Query("SELECT s FROM SyncTombstone s WHERE s.userId = :userId AND s.changeXid < :horizon " +
+            "AND (s.changeXid > :xid OR (s.changeXid = :xid AND s.changeSeq > :seq)) " +
+            "ORDER BY s.changeXid, s.changeSeq")
+    List<SyncTombstone> findChangedForUser(@Param("userId") Long userId, @Param("xid") long xid, @Param("seq") long seq,
+                                           @Param("horizon") long horizon, Pageable pageable);
+}
@@ -0,0 +1,23 @@
+package com.taskbit.backend.sync;
+
+import com.taskbit.backend.config.DatabaseVendor;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@Slf4j
+public class SyncVendorConfig {
+
+    @Bean
+    SyncHorizon syncHorizon(DataSource dataSource, EntityManager entityManager) {
+        if (DatabaseVendor.isPostgres(dataSource)) {
+            return new PostgresSyncHorizon(entityManager);
+        }
+        log.info("Base de datos sin identificadores de transacción: sincronización sin horizonte");
+        return new UnboundedSyncHorizon();
+    }
+}
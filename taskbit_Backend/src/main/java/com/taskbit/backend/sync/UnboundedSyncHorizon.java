@@ -0,0 +1,12 @@
+package com.taskbit.backend.sync;
+
+/**
+ * Implementación portable (H2 en pruebas): sin identificadores de transacción no hay horizonte.
+ */
+class UnboundedSyncHorizon implements SyncHorizon {
+
+    @Override
+    public long current() {
+        return Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,15 @@
+package com.taskbit.backend.sync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncDeletion {
+    private String type; // task, alert
+    private Long id;
+}
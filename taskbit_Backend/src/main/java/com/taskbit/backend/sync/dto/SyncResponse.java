@@ -0,0 +1,22 @@
+package com.taskbit.backend.sync.dto;
+
+import com.taskbit.backend.alert.dto.AlertResponse;
+import com.taskbit.backend.task.dto.TaskResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+    private List<TaskResponse> tasks;      // creadas o modificadas
+    private List<AlertResponse> alerts;    // creadas o modificadas
+    private List<SyncDeletion> deleted;    // eliminadas
+    private String cursor;                 // valor para el siguiente ?since=
+    private boolean hasMore;               // true si hay más cambios pendientes
+}
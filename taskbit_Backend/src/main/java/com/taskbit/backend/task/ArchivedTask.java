@@ -0,0 +1,61 @@
+package com.taskbit.backend.task;
+
+import com.taskbit.backend.user.AppUser;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Tarea movida a task_archive por {@link TaskArchiveService}. Es de solo lectura: las filas
+ * llegan con INSERT ... SELECT desde task y se consultan a través de {@link TaskWithArchive}.
+ * En PostgreSQL la tabla está particionada por archived_at (ver V11).
+ */
+@Entity
+@Table(name = "task_archive")
+@Immutable
+@Getter
+@NoArgsConstructor
+public class ArchivedTask {
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private AppUser user;
+
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    @Column(columnDefinition = "text")
+    private String description;
+
+    private LocalDate dueDate;
+
+    @Convert(converter = TaskPriorityConverter.class)
+    private TaskPriority priority;
+
+    @Column(length = 100)
+    private String course;
+
+    @Convert(converter = TaskStatusConverter.class)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    @Column(name = "created_at")
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private OffsetDateTime completedAt;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private OffsetDateTime archivedAt;
+}
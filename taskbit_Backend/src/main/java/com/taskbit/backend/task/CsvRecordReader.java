@@ -0,0 +1,85 @@
+package com.taskbit.backend.task;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector CSV (RFC 4180) que devuelve un registro cada vez, sin cargar el archivo completo.
+ * Admite campos entre comillas con comas, comillas dobladas y saltos de línea.
+ */
+class CsvRecordReader {
+    private final Reader reader;
+    private int pending = -2; // -2: sin carácter pendiente
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Devuelve el siguiente registro o null al final del archivo.
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    record.add(field.toString());
+                    return record;
+                }
+                if (c == '"') {
+                    int nextChar = read();
+                    if (nextChar == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = nextChar;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else {
+                if (c == -1 || c == '\n') {
+                    record.add(field.toString());
+                    return record;
+                }
+                if (c == '\r') {
+                    int nextChar = read();
+                    if (nextChar != '\n') {
+                        pending = nextChar;
+                    }
+                    record.add(field.toString());
+                    return record;
+                }
+                if (c == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else {
+                    field.append((char) c);
+                }
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
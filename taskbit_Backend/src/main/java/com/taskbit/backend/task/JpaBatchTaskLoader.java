@@ -0,0 +1,33 @@
+package com.taskbit.backend.task;
+
+import com.taskbit.backend.user.AppUser;
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+
+/**
+ * Carga de respaldo para bases de datos sin COPY (H2 en pruebas): persiste el bloque
+ * y hace flush, de modo que Hibernate agrupa los INSERT según hibernate.jdbc.batch_size.
+ */
+class JpaBatchTaskLoader implements TaskBulkLoader {
+
+    private final EntityManager entityManager;
+
+    JpaBatchTaskLoader(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void load(Long userId, List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        AppUser user = entityManager.getReference(AppUser.class, userId);
+        for (Task task : tasks) {
+            task.setUser(user);
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,37 @@
+package com.taskbit.backend.task;
+
+import jakarta.persistence.EntityManager;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Implementación de respaldo (H2 en pruebas): carga la tarea, aplica la transición y
+ * hace flush; @Version incrementa la versión y detecta escrituras concurrentes.
+ */
+class JpaTaskStatusUpdater implements TaskStatusUpdater {
+
+    private final EntityManager entityManager;
+
+    JpaTaskStatusUpdater(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public TaskStatusUpdate update(Long taskId, Long userId, Long expectedVersion, TaskStatus status, OffsetDateTime now) {
+        Task task = entityManager.createQuery("SELECT t FROM Task t WHERE t.id = :id AND t.user.id = :userId", Task.class)
+                .setParameter("id", taskId)
+                .setParameter("userId", userId)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+        if (task == null || (expectedVersion != null && !expectedVersion.equals(task.getVersion()))) {
+            return null;
+        }
+
+        TaskStatus previousStatus = task.getStatus();
+        TaskStatus.transition(task, status, now);
+        task.setUpdatedAt(now);
+        entityManager.flush();
+        return new TaskStatusUpdate(previousStatus, task);
+    }
+}
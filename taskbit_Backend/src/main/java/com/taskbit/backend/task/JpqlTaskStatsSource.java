@@ -0,0 +1,65 @@
+package com.taskbit.backend.task;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación de respaldo para bases de datos sin la tabla de resumen (H2 en pruebas):
+ * agrega directamente sobre task y task_archive con GROUP BY.
+ */
+class JpqlTaskStatsSource implements TaskStatsSource {
+
+    private static final String COUNTS_JPQL = "SELECT t.course, t.priority, COUNT(t), "
+            + "SUM(CASE WHEN t.status = :completed THEN 1 ELSE 0 END) "
+            + "FROM TaskWithArchive t WHERE t.user.id = :userId GROUP BY t.course, t.priority";
+
+    private static final String DURATIONS_JPQL = "SELECT t.course, t.priority, "
+            + "SUM((t.completedAt - t.createdAt) BY SECOND), COUNT(t) "
+            + "FROM TaskWithArchive t WHERE t.user.id = :userId AND t.status = :completed "
+            + "AND t.completedAt IS NOT NULL AND t.createdAt IS NOT NULL "
+            + "GROUP BY t.course, t.priority";
+
+    private final EntityManager entityManager;
+
+    JpqlTaskStatsSource(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<TaskStatsBucket> buckets(Long userId) {
+        Map<List<Object>, Object[]> durations = new HashMap<>();
+        for (Object[] row : query(DURATIONS_JPQL, userId)) {
+            durations.put(key(row), row);
+        }
+
+        List<Object[]> counts = query(COUNTS_JPQL, userId);
+        List<TaskStatsBucket> buckets = new ArrayList<>(counts.size());
+        for (Object[] row : counts) {
+            Object[] duration = durations.get(key(row));
+            buckets.add(new TaskStatsBucket(
+                    (String) row[0],
+                    (TaskPriority) row[1],
+                    ((Number) row[2]).longValue(),
+                    ((Number) row[3]).longValue(),
+                    duration != null ? ((Number) duration[2]).doubleValue() : 0,
+                    duration != null ? ((Number) duration[3]).longValue() : 0));
+        }
+        return buckets;
+    }
+
+    private List<Object[]> query(String jpql, Long userId) {
+        return entityManager.createQuery(jpql, Object[].class)
+                .setParameter("userId", userId)
+                .setParameter("completed", TaskStatus.COMPLETADA)
+                .getResultList();
+    }
+
+    private List<Object> key(Object[] row) {
+        return Arrays.asList(row[0], row[1]);
+    }
+}
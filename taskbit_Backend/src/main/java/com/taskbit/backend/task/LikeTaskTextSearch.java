@@ -0,0 +1,122 @@
+package com.taskbit.backend.task;
+
+import com.taskbit.backend.task.dto.TaskSearchResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Implementación de respaldo para bases de datos sin tsvector (H2 en pruebas).
+ * Cada palabra de la búsqueda debe aparecer en el título o la descripción;
+ * el ranking da más peso a las coincidencias en el título.
+ * Los resaltados se devuelven como HTML: el texto del usuario se escapa y solo las
+ * etiquetas &lt;mark&gt; las añade el servidor.
+ */
+class LikeTaskTextSearch implements TaskTextSearch {
+
+    private static final int TITLE_WEIGHT = 2;
+    private static final int DESCRIPTION_SNIPPET_LENGTH = 200;
+    private static final String HTML_ENCODING = "UTF-8"; // solo escapa los caracteres especiales de HTML
+
+    private final EntityManager entityManager;
+
+    LikeTaskTextSearch(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<TaskSearchResponse> search(Long userId, String query, int limit) {
+        List<String> terms = Arrays.stream(query.toLowerCase(Locale.ROOT).split("\\s+"))
+                .filter(term -> !term.isBlank())
+                .toList();
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT t FROM Task t WHERE t.user.id = :userId");
+        for (int i = 0; i < terms.size(); i++) {
+            jpql.append(" AND (LOWER(t.title) LIKE :term").append(i)
+                    .append(" ESCAPE '\\' OR LOWER(t.description) LIKE :term").append(i).append(" ESCAPE '\\')");
+        }
+
+        TypedQuery<Task> typedQuery = entityManager.createQuery(jpql.toString(), Task.class)
+                .setParameter("userId", userId);
+        for (int i = 0; i < terms.size(); i++) {
+            typedQuery.setParameter("term" + i, "%" + escapeLike(terms.get(i)) + "%");
+        }
+
+        Pattern pattern = highlightPattern(terms);
+        List<TaskSearchResponse> results = new ArrayList<>();
+        for (Task task : typedQuery.getResultList()) {
+            int titleHits = countMatches(pattern, task.getTitle());
+            int descriptionHits = countMatches(pattern, task.getDescription());
+            results.add(TaskSearchResponse.builder()
+                    .id(task.getId())
+                    .title(task.getTitle())
+                    .status(task.getStatus().getLabel())
+                    .dueDate(task.getDueDate())
+                    .course(task.getCourse())
+                    .rank(titleHits * TITLE_WEIGHT + descriptionHits)
+                    .titleHighlight(highlight(pattern, task.getTitle()))
+                    .descriptionHighlight(descriptionHits > 0 ? highlight(pattern, snippet(task.getDescription())) : null)
+                    .build());
+        }
+
+        results.sort(Comparator.comparingDouble(TaskSearchResponse::getRank).reversed()
+                .thenComparing(TaskSearchResponse::getId, Comparator.reverseOrder()));
+        return results.size() > limit ? results.subList(0, limit) : results;
+    }
+
+    private Pattern highlightPattern(List<String> terms) {
+        String alternatives = String.join("|", terms.stream().map(Pattern::quote).toList());
+        return Pattern.compile(alternatives, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    private int countMatches(Pattern pattern, String text) {
+        if (text == null) {
+            return 0;
+        }
+        int count = 0;
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    private String highlight(Pattern pattern, String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder highlighted = new StringBuilder(text.length() + 16);
+        Matcher matcher = pattern.matcher(text);
+        int last = 0;
+        while (matcher.find()) {
+            highlighted.append(HtmlUtils.htmlEscape(text.substring(last, matcher.start()), HTML_ENCODING))
+                    .append("<mark>")
+                    .append(HtmlUtils.htmlEscape(matcher.group(), HTML_ENCODING))
+                    .append("</mark>");
+            last = matcher.end();
+        }
+        return highlighted.append(HtmlUtils.htmlEscape(text.substring(last), HTML_ENCODING)).toString();
+    }
+
+    private String snippet(String text) {
+        if (text == null || text.length() <= DESCRIPTION_SNIPPET_LENGTH) {
+            return text;
+        }
+        return text.substring(0, DESCRIPTION_SNIPPET_LENGTH);
+    }
+
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
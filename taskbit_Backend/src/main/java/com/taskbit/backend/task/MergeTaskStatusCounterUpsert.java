@@ -0,0 +1,39 @@
+package com.taskbit.backend.task;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Implementación de respaldo (H2 en pruebas) con MERGE estándar: inserta o suma en una sola sentencia.
+ */
+class MergeTaskStatusCounterUpsert implements TaskStatusCounterUpsert {
+
+    private static final String MERGE_SQL = """
+            MERGE INTO task_status_counter c
+            USING (SELECT CAST(:userId AS BIGINT) AS user_id) s ON c.user_id = s.user_id
+            WHEN MATCHED THEN UPDATE
+                SET pending = c.pending + :pendingDelta,
+                    in_progress = c.in_progress + :inProgressDelta,
+                    completed = c.completed + :completedDelta
+            WHEN NOT MATCHED THEN INSERT (user_id, pending, in_progress, completed)
+                VALUES (s.user_id, :pending, :inProgress, :completed)
+            """;
+
+    private final EntityManager entityManager;
+
+    MergeTaskStatusCounterUpsert(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void upsert(Long userId, int[] initial, int[] delta) {
+        entityManager.createNativeQuery(MERGE_SQL)
+                .setParameter("userId", userId)
+                .setParameter("pending", initial[0])
+                .setParameter("inProgress", initial[1])
+                .setParameter("completed", initial[2])
+                .setParameter("pendingDelta", delta[0])
+                .setParameter("inProgressDelta", delta[1])
+                .setParameter("completedDelta", delta[2])
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,43 @@
+package com.taskbit.backend.task;
+
+import jakarta.persistence.EntityManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Implementación para PostgreSQL. Antes de cada lote crea las particiones del mes si faltan
+ * (ensure_archive_partitions, V11) y marca la transacción con taskbit.archiving para que el
+ * trigger de estadísticas no descuente las tareas que salen de task. Las filas se eligen con
+ * SKIP LOCKED: varias instancias pueden archivar a la vez sin esperarse.
+ */
+class PartitionedTaskArchiveStorage implements TaskArchiveStorage {
+
+    private static final String CLAIM_SQL = """
+            SELECT id FROM task
+            WHERE status = :completed AND completed_at < :completedBefore
+            ORDER BY completed_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private final EntityManager entityManager;
+
+    PartitionedTaskArchiveStorage(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> claimCompletedTasks(OffsetDateTime completedBefore, int limit) {
+        entityManager.createNativeQuery("SELECT ensure_archive_partitions()").getSingleResult();
+        entityManager.createNativeQuery("SELECT set_config('taskbit.archiving', 'on', true)").getSingleResult();
+
+        List<Number> ids = entityManager.createNativeQuery(CLAIM_SQL)
+                .setParameter("completed", TaskStatus.COMPLETADA.getCode())
+                .setParameter("completedBefore", completedBefore)
+                .setParameter("limit", limit)
+                .getResultList();
+        return ids.stream().map(Number::longValue).toList();
+    }
+}
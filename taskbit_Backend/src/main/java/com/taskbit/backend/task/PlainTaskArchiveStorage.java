@@ -0,0 +1,29 @@
+package com.taskbit.backend.task;
+
+import jakarta.persistence.EntityManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Implementación de respaldo (H2 en pruebas): tabla de archivo sin particiones y lote
+ * elegido con una consulta simple, sin bloqueo de filas.
+ */
+class PlainTaskArchiveStorage implements TaskArchiveStorage {
+
+    private final EntityManager entityManager;
+
+    PlainTaskArchiveStorage(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Long> claimCompletedTasks(OffsetDateTime completedBefore, int limit) {
+        return entityManager.createQuery("SELECT t.id FROM Task t WHERE t.status = :completed "
+                        + "AND t.completedAt < :completedBefore ORDER BY t.completedAt", Long.class)
+                .setParameter("completed", TaskStatus.COMPLETADA)
+                .setParameter("completedBefore", completedBefore)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
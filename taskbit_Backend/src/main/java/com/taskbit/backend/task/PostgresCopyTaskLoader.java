@@ -0,0 +1,109 @@
+package com.taskbit.backend.task;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Inserta cada bloque de tareas con un único COPY ... FROM STDIN sobre la conexión
+ * de la transacción en curso, evitando una sentencia INSERT por fila.
+ *
+ * <p>Los ids se reservan antes con una llamada a nextval por cada 50 filas y viajan en el COPY:
+ * task_id_seq avanza de 50 en 50 (V6, optimizador pooled de Task), así que el DEFAULT de la
+ * columna gastaría un bloque entero de ids por cada fila.
+ */
+class PostgresCopyTaskLoader implements TaskBulkLoader {
+
+    private static final String COPY_SQL =
+            "COPY task (id, user_id, title, description, due_date, priority, course, status, created_at, updated_at) "
+                    + "FROM STDIN WITH (FORMAT csv)";
+
+    // Cada valor de nextval cubre los ids (valor - 50, valor], igual que para Hibernate
+    private static final int ID_BLOCK_SIZE = 50;
+    private static final String RESERVE_IDS_SQL = "SELECT nextval('task_id_seq') FROM generate_series(1, ?)";
+
+    private final DataSource dataSource;
+
+    PostgresCopyTaskLoader(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void load(Long userId, List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            long[] ids = reserveIds(connection, tasks.size());
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            copyManager.copyIn(COPY_SQL, new StringReader(toCsv(userId, tasks, ids)));
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("Error al cargar las tareas importadas", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private long[] reserveIds(Connection connection, int count) throws SQLException {
+        long[] ids = new long[count];
+        int next = 0;
+        try (PreparedStatement statement = connection.prepareStatement(RESERVE_IDS_SQL)) {
+            // Normalmente basta una vuelta; el primer valor de una secuencia nueva (1) solo cubre el id 1
+            while (next < count) {
+                statement.setInt(1, (count - next + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE);
+                try (ResultSet blocks = statement.executeQuery()) {
+                    while (blocks.next() && next < count) {
+                        long high = blocks.getLong(1);
+                        for (long id = Math.max(1, high - ID_BLOCK_SIZE + 1); id <= high && next < count; id++) {
+                            ids[next++] = id;
+                        }
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private String toCsv(Long userId, List<Task> tasks, long[] ids) {
+        StringBuilder csv = new StringBuilder(tasks.size() * 128);
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            csv.append(ids[i]).append(',');
+            csv.append(userId).append(',');
+            appendQuoted(csv, task.getTitle()).append(',');
+            appendQuoted(csv, task.getDescription()).append(',');
+            appendRaw(csv, task.getDueDate()).append(',');
+            appendRaw(csv, task.getPriority() != null ? task.getPriority().getCode() : null).append(',');
+            appendQuoted(csv, task.getCourse()).append(',');
+            appendRaw(csv, task.getStatus().getCode()).append(',');
+            appendRaw(csv, task.getCreatedAt()).append(',');
+            appendRaw(csv, task.getUpdatedAt()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    // En el formato csv de COPY un campo vacío sin comillas es NULL
+    private StringBuilder appendQuoted(StringBuilder csv, String value) {
+        if (value != null) {
+            csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+        return csv;
+    }
+
+    private StringBuilder appendRaw(StringBuilder csv, Object value) {
+        if (value != null) {
+            csv.append(value);
+        }
+        return csv;
+    }
+}
@@ -0,0 +1,38 @@
+package com.taskbit.backend.task;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * INSERT ... ON CONFLICT: si la fila aparece entre medias, PostgreSQL espera a que la otra
+ * transacción confirme y aplica el incremento sobre la fila ya creada.
+ */
+class PostgresTaskStatusCounterUpsert implements TaskStatusCounterUpsert {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO task_status_counter (user_id, pending, in_progress, completed)
+            VALUES (:userId, :pending, :inProgress, :completed)
+            ON CONFLICT (user_id) DO UPDATE
+            SET pending = task_status_counter.pending + :pendingDelta,
+                in_progress = task_status_counter.in_progress + :inProgressDelta,
+                completed = task_status_counter.completed + :completedDelta
+            """;
+
+    private final EntityManager entityManager;
+
+    PostgresTaskStatusCounterUpsert(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void upsert(Long userId, int[] initial, int[] delta) {
+        entityManager.createNativeQuery(UPSERT_SQL)
+                .setParameter("userId", userId)
+                .setParameter("pending", initial[0])
+                .setParameter("inProgress", initial[1])
+                .setParameter("completed", initial[2])
+                .setParameter("pendingDelta", delta[0])
+                .setParameter("inProgressDelta", delta[1])
+                .setParameter("completedDelta", delta[2])
+                .executeUpdate();
+    }
+}
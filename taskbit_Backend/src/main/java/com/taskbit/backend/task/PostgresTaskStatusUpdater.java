@@ -0,0 +1,102 @@
+package com.taskbit.backend.task;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Cambio de estado con un único UPDATE ... RETURNING: una sola ida y vuelta a la base de datos.
+ * La subconsulta bloquea la fila y aporta el estado anterior; el CASE de completed_at
+ * reproduce la tabla de transiciones de TaskStatus.
+ */
+class PostgresTaskStatusUpdater implements TaskStatusUpdater {
+
+    private static final String UPDATE_SQL = """
+            UPDATE task t
+            SET status = :status,
+                completed_at = CASE
+                    WHEN :status = :completed THEN COALESCE(t.completed_at, :now)
+                    WHEN old.status = :completed THEN NULL
+                    ELSE t.completed_at
+                END,
+                updated_at = :now,
+                version = t.version + 1
+            FROM (SELECT id, status FROM task WHERE id = :id AND user_id = :userId FOR UPDATE) old
+            WHERE t.id = old.id%s
+            RETURNING old.status, t.id, t.title, t.description, t.due_date, t.priority, t.course,
+                      t.status, t.created_at, t.updated_at, t.completed_at, t.version
+            """;
+
+    private final EntityManager entityManager;
+
+    PostgresTaskStatusUpdater(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public TaskStatusUpdate update(Long taskId, Long userId, Long expectedVersion, TaskStatus status, OffsetDateTime now) {
+        // Sin versión esperada el cambio se aplica sobre la versión actual (sigue siendo atómico)
+        String sql = UPDATE_SQL.formatted(expectedVersion != null ? " AND t.version = :version" : "");
+        Query query = entityManager.createNativeQuery(sql)
+                .setParameter("status", status.getCode())
+                .setParameter("completed", TaskStatus.COMPLETADA.getCode())
+                .setParameter("now", now)
+                .setParameter("id", taskId)
+                .setParameter("userId", userId);
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+
+        List<Object[]> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        Object[] row = rows.get(0);
+        Task task = Task.builder()
+                .id(((Number) row[1]).longValue())
+                .title((String) row[2])
+                .description((String) row[3])
+                .dueDate(toLocalDate(row[4]))
+                .priority(row[5] != null ? TaskPriority.fromCode(((Number) row[5]).shortValue()) : null)
+                .course((String) row[6])
+                .status(TaskStatus.fromCode(((Number) row[7]).shortValue()))
+                .createdAt(toOffsetDateTime(row[8]))
+                .updatedAt(toOffsetDateTime(row[9]))
+                .completedAt(toOffsetDateTime(row[10]))
+                .version(((Number) row[11]).longValue())
+                .build();
+        return new TaskStatusUpdate(TaskStatus.fromCode(((Number) row[0]).shortValue()), task);
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate localDate) {
+            return localDate;
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return null;
+    }
+
+    private OffsetDateTime toOffsetDateTime(Object value) {
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime;
+        }
+        if (value instanceof Instant instant) {
+            return instant.atOffset(ZoneOffset.UTC);
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant().atOffset(ZoneOffset.UTC);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,98 @@
+package com.taskbit.backend.task;
+
+import com.taskbit.backend.task.dto.TaskSearchResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.web.util.HtmlUtils;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Búsqueda sobre la columna generada task.search_vector y su índice GIN (migración V5).
+ * El ranking y el LIMIT se resuelven en la subconsulta; ts_headline solo se calcula
+ * para las filas que se devuelven.
+ * ts_headline marca las coincidencias con los caracteres de control STX/ETX en lugar de
+ * etiquetas HTML (y se eliminan del texto de origen); aquí se escapa el resultado y
+ * después se sustituyen por &lt;mark&gt;, así el título o la descripción no pueden inyectar HTML.
+ */
+class PostgresTaskTextSearch implements TaskTextSearch {
+
+    private static final String START_SEL = "\u0002";
+    private static final String STOP_SEL = "\u0003";
+    private static final String HTML_ENCODING = "UTF-8"; // solo escapa los caracteres especiales de HTML
+
+    private static final String SEARCH_SQL = """
+            SELECT r.id, r.title, r.status, r.due_date, r.course, r.rank,
+                   ts_headline('spanish', translate(r.title, chr(2) || chr(3), ''),
+                               websearch_to_tsquery('spanish', :q),
+                               'StartSel=' || chr(2) || ', StopSel=' || chr(3) || ', HighlightAll=true'),
+                   ts_headline('spanish', translate(coalesce(r.description, ''), chr(2) || chr(3), ''),
+                               websearch_to_tsquery('spanish', :q),
+                               'StartSel=' || chr(2) || ', StopSel=' || chr(3) || ', MaxWords=30, MinWords=10')
+            FROM (
+                SELECT t.id, t.title, t.description, t.status, t.due_date, t.course,
+                       ts_rank(t.search_vector, websearch_to_tsquery('spanish', :q)) AS rank
+                FROM task t
+                WHERE t.user_id = :userId
+                  AND t.search_vector @@ websearch_to_tsquery('spanish', :q)
+                ORDER BY rank DESC, t.id DESC
+                LIMIT :limit
+            ) r
+            ORDER BY r.rank DESC, r.id DESC
+            """;
+
+    private final EntityManager entityManager;
+
+    PostgresTaskTextSearch(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TaskSearchResponse> search(Long userId, String query, int limit) {
+        Query nativeQuery = entityManager.createNativeQuery(SEARCH_SQL)
+                .setParameter("q", query)
+                .setParameter("userId", userId)
+                .setParameter("limit", limit);
+
+        List<Object[]> rows = nativeQuery.getResultList();
+        List<TaskSearchResponse> results = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            String descriptionHighlight = (String) row[7];
+            results.add(TaskSearchResponse.builder()
+                    .id(((Number) row[0]).longValue())
+                    .title((String) row[1])
+                    .status(TaskStatus.fromCode(((Number) row[2]).shortValue()).getLabel())
+                    .dueDate(toLocalDate(row[3]))
+                    .course((String) row[4])
+                    .rank(((Number) row[5]).doubleValue())
+                    .titleHighlight(toHtml((String) row[6]))
+                    .descriptionHighlight(descriptionHighlight == null || descriptionHighlight.isEmpty()
+                            ? null : toHtml(descriptionHighlight))
+                    .build());
+        }
+        return results;
+    }
+
+    private String toHtml(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline, HTML_ENCODING)
+                .replace(START_SEL, "<mark>")
+                .replace(STOP_SEL, "</mark>");
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate localDate) {
+            return localDate;
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return null;
+    }
+}
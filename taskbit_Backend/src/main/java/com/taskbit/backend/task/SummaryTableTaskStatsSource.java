@@ -0,0 +1,49 @@
+package com.taskbit.backend.task;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lee los agregados de task_stats_summary (migración V10), que los triggers de la tabla task
+ * mantienen al día en cada sentencia. El coste no depende del número de tareas del usuario,
+ * solo del número de combinaciones de curso y prioridad.
+ */
+class SummaryTableTaskStatsSource implements TaskStatsSource {
+
+    private static final String SUMMARY_SQL = """
+            SELECT course, priority, total, completed, completion_seconds, completion_samples
+            FROM task_stats_summary
+            WHERE user_id = :userId AND total > 0
+            """;
+
+    private final EntityManager entityManager;
+
+    SummaryTableTaskStatsSource(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TaskStatsBucket> buckets(Long userId) {
+        List<Object[]> rows = entityManager.createNativeQuery(SUMMARY_SQL)
+                .setParameter("userId", userId)
+                .getResultList();
+
+        List<TaskStatsBucket> buckets = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            // En la tabla, '' es "sin curso" y 0 "sin prioridad" (forman parte de la clave primaria)
+            String course = (String) row[0];
+            short priority = ((Number) row[1]).shortValue();
+            buckets.add(new TaskStatsBucket(
+                    course.isEmpty() ? null : course,
+                    priority == 0 ? null : TaskPriority.fromCode(priority),
+                    ((Number) row[2]).longValue(),
+                    ((Number) row[3]).longValue(),
+                    ((Number) row[4]).doubleValue(),
+                    ((Number) row[5]).longValue()));
+        }
+        return buckets;
+    }
+}
@@ -15,8 +15,10 @@ import java.time.OffsetDateTime;
 @AllArgsConstructor
 @Builder
 public class Task {
+    // Secuencia con asignación por bloques: permite agrupar los INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -31,15 +33,17 @@ public class Task {
 
     private LocalDate dueDate;
 
-    @Column(length = 10)
-    private String priority;
+    // Guardada como código smallint (ver V8)
+    @Convert(converter = TaskPriorityConverter.class)
+    private TaskPriority priority;
 
     @Column(length = 100)
     private String course;
 
-    @Column(nullable = false, length = 20)
+    @Convert(converter = TaskStatusConverter.class)
+    @Column(nullable = false)
     @Builder.Default
-    private String status = "Pendiente";
+    private TaskStatus status = TaskStatus.PENDIENTE;
 
     @Column(name = "created_at")
     private OffsetDateTime createdAt;
@@ -49,4 +53,16 @@ public class Task {
 
     @Column(name = "completed_at")
     private OffsetDateTime completedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Asignado por la base de datos en cada INSERT/UPDATE (ver V7); usado por /api/sync
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+
+    // Transacción que hizo la última escritura (ver V16); orden del cursor de /api/sync
+    @Column(name = "change_xid", insertable = false, updatable = false)
+    private Long changeXid;
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.taskbit.backend.task;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Mueve a task_archive/alert_archive las tareas completadas hace más de
+ * taskbit.archive.completed-for, junto con todas sus alertas. Cada lote es una transacción
+ * corta: un fallo solo deshace ese lote y el siguiente ciclo lo vuelve a intentar.
+ * Las tareas archivadas conservan su id y se siguen consultando con includeArchived=true;
+ * los contadores y las estadísticas las siguen incluyendo.
+ */
+@Service
+@Slf4j
+public class TaskArchiveService {
+
+    private static final String ARCHIVE_ALERTS_SQL = """
+            INSERT INTO alert_archive (id, task_id, time_before, offset_minutes, scheduled_for, status, created_at,
+                                       digested_at, version, archived_at)
+            SELECT id, task_id, time_before, offset_minutes, scheduled_for, status, created_at,
+                   digested_at, version, CURRENT_TIMESTAMP
+            FROM alert WHERE task_id IN (:taskIds)
+            """;
+
+    private static final String ARCHIVE_TASKS_SQL = """
+            INSERT INTO task_archive (id, user_id, title, description, due_date, priority, course, status,
+                                      created_at, updated_at, completed_at, version, archived_at)
+            SELECT id, user_id, title, description, due_date, priority, course, status,
+                   created_at, updated_at, completed_at, version, CURRENT_TIMESTAMP
+            FROM task WHERE id IN (:taskIds)
+            """;
+
+    private final TaskArchiveStorage archiveStorage;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration completedFor;
+    private final int chunkSize;
+
+    public TaskArchiveService(TaskArchiveStorage archiveStorage,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${taskbit.archive.enabled:true}") boolean enabled,
+                              @Value("${taskbit.archive.completed-for:90d}") Duration completedFor,
+                              @Value("${taskbit.archive.chunk-size:500}") int chunkSize) {
+        this.archiveStorage = archiveStorage;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.completedFor = completedFor;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${taskbit.archive.cron:0 30 3 * * *}")
+    public void archiveScheduled() {
+        if (enabled) {
+            archiveCompletedTasks();
+        }
+    }
+
+    /**
+     * Archiva por lotes hasta que no quedan tareas candidatas. Devuelve cuántas se movieron.
+     */
+    public int archiveCompletedTasks() {
+        OffsetDateTime completedBefore = OffsetDateTime.now().minus(completedFor);
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveChunk(completedBefore));
+            total += moved;
+        } while (moved == chunkSize);
+
+        if (total > 0) {
+            log.info("Archivadas {} tareas completadas antes de {}", total, completedBefore);
+        }
+        return total;
+    }
+
+    private int archiveChunk(OffsetDateTime completedBefore) {
+        List<Long> taskIds = archiveStorage.claimCompletedTasks(completedBefore, chunkSize);
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+
+        // Primero las alertas: alert.task_id referencia a task
+        execute(ARCHIVE_ALERTS_SQL, taskIds);
+        execute("DELETE FROM alert WHERE task_id IN (:taskIds)", taskIds);
+        execute(ARCHIVE_TASKS_SQL, taskIds);
+        execute("DELETE FROM task WHERE id IN (:taskIds)", taskIds);
+        return taskIds.size();
+    }
+
+    private void execute(String sql, List<Long> taskIds) {
+        entityManager.createNativeQuery(sql)
+                .setParameter("taskIds", taskIds)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,18 @@
+package com.taskbit.backend.task;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Selección del siguiente lote de tareas a archivar. La implementación depende de la base
+ * de datos (ver TaskVendorConfig): en PostgreSQL además bloquea las filas y prepara las
+ * particiones del archivo.
+ */
+public interface TaskArchiveStorage {
+
+    /**
+     * Devuelve hasta {@code limit} ids de tareas completadas antes de {@code completedBefore},
+     * bloqueadas hasta el final de la transacción actual.
+     */
+    List<Long> claimCompletedTasks(OffsetDateTime completedBefore, int limit);
+}
@@ -0,0 +1,11 @@
+package com.taskbit.backend.task;
+
+import java.util.List;
+
+/**
+ * Carga masiva de tareas ya validadas de un usuario, dentro de la transacción actual.
+ * La implementación se elige según la base de datos (ver {@link TaskVendorConfig}).
+ */
+public interface TaskBulkLoader {
+    void load(Long userId, List<Task> tasks);
+}
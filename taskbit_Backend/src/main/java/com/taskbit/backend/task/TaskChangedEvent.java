@@ -0,0 +1,24 @@
+package com.taskbit.backend.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Publicado por TaskService (y TaskImportService) dentro de la transacción que modifica las
+ * tareas de un usuario. Los interesados deben escucharlo con {@code @TransactionalEventListener}
+ * para actuar solo si el cambio se confirma.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskChangedEvent {
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String IMPORTED = "imported";
+
+    private final Long userId;
+    private final String change;
+    private final List<Long> taskIds; // vacío en las importaciones, que no conocen los ids
+}
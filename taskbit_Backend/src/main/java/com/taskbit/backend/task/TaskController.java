@@ -1,7 +1,17 @@
 package com.taskbit.backend.task;
 
+import com.taskbit.backend.security.AuthenticatedUser;
+import com.taskbit.backend.task.dto.BatchTaskRequest;
+import com.taskbit.backend.task.dto.BatchTaskResponse;
 import com.taskbit.backend.task.dto.CreateTaskRequest;
+import com.taskbit.backend.task.dto.TaskCalendarResponse;
+import com.taskbit.backend.task.dto.TaskCountsResponse;
+import com.taskbit.backend.task.dto.TaskImportResponse;
+import com.taskbit.backend.task.dto.TaskListRequest;
+import com.taskbit.backend.task.dto.TaskPageResponse;
 import com.taskbit.backend.task.dto.TaskResponse;
+import com.taskbit.backend.task.dto.TaskSearchResponse;
+import com.taskbit.backend.task.dto.TaskStatsResponse;
 import com.taskbit.backend.task.dto.UpdateTaskRequest;
 import com.taskbit.backend.task.dto.UpdateTaskStatusRequest;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,11 +19,17 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.security.Principal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -23,40 +39,136 @@ import java.util.List;
 @SecurityRequirement(name = "Bearer Authentication")
 public class TaskController {
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+    private final TaskStatsService taskStatsService;
 
     @PostMapping
     @Operation(summary = "Crear nueva tarea", description = "Crea una nueva tarea para el usuario autenticado")
-    public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody CreateTaskRequest request, Principal principal) {
-        String userEmail = principal != null ? principal.getName() : null;
-        if (userEmail == null) {
+    public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody CreateTaskRequest request, @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        TaskResponse task = taskService.createTask(request, userEmail);
+        TaskResponse task = taskService.createTask(request, currentUser.getUserId());
         return ResponseEntity.status(HttpStatus.CREATED).body(task);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Aplicar operaciones en lote", description = "Aplica hasta 500 operaciones (create, update, status, delete) en una sola transacción y devuelve el resultado de cada una")
+    public ResponseEntity<BatchTaskResponse> applyBatch(@Valid @RequestBody BatchTaskRequest request, @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        BatchTaskResponse response = taskService.applyBatch(request, currentUser.getUserId());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
-    @Operation(summary = "Listar tareas del usuario", description = "Obtiene todas las tareas del usuario autenticado")
-    public ResponseEntity<List<TaskResponse>> getUserTasks(Principal principal) {
-        String userEmail = principal != null ? principal.getName() : null;
-        if (userEmail == null) {
+    @Operation(summary = "Listar tareas del usuario", description = "Obtiene una página de tareas del usuario autenticado. Admite filtros por estado, prioridad, curso y título, ordenamiento (sortBy/sortOrder), paginación por cursor (cursor/limit) e includeArchived=true para incluir las tareas archivadas")
+    public ResponseEntity<TaskPageResponse> getUserTasks(@ModelAttribute TaskListRequest request, @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        List<TaskResponse> tasks = taskService.getUserTasks(userEmail);
+        TaskPageResponse tasks = taskService.getUserTasks(request, currentUser.getUserId());
         return ResponseEntity.ok(tasks);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Importar tareas", description = "Carga masiva de tareas desde un archivo csv (con cabecera) o ndjson. Devuelve el número de filas importadas y los errores por fila")
+    public ResponseEntity<TaskImportResponse> importTasks(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        TaskImportResponse response = taskImportService.importTasks(file, format, currentUser.getUserId());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar tareas", description = "Descarga todas las tareas del usuario autenticado en formato ndjson (por defecto) o csv. La respuesta se genera en streaming")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(required = false) String format,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        TaskFileFormat exportFormat = TaskFileFormat.fromKey(format);
+        StreamingResponseBody body = taskExportService.export(currentUser.getUserId(), exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tareas." + exportFormat.getKey() + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar tareas", description = "Búsqueda de texto en título y descripción de las tareas del usuario autenticado. Devuelve los mejores resultados ordenados por relevancia, con las coincidencias resaltadas")
+    public ResponseEntity<List<TaskSearchResponse>> searchTasks(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        List<TaskSearchResponse> results = taskService.searchTasks(query, limit, currentUser.getUserId());
+        return ResponseEntity.ok(results);
+    }
+
+    @GetMapping("/counts")
+    @Operation(summary = "Contar tareas por estado", description = "Obtiene el número de tareas Pendientes, En progreso y Completadas del usuario autenticado")
+    public ResponseEntity<TaskCountsResponse> getTaskCounts(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        TaskCountsResponse counts = taskService.getTaskCounts(currentUser.getUserId());
+        return ResponseEntity.ok(counts);
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Estadísticas de productividad", description = "Tasa de finalización, tiempo medio hasta completar (horas), tareas vencidas y desglose por curso y prioridad del usuario autenticado")
+    public ResponseEntity<TaskStatsResponse> getTaskStats(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        TaskStatsResponse stats = taskStatsService.getStats(currentUser.getUserId());
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/calendar")
+    @Operation(summary = "Calendario de tareas", description = "Por cada día del rango [from, to] (máximo 62 días) con tareas que vencen, devuelve los conteos por estado y las primeras perDay tareas (3 por defecto, máximo 20)")
+    public ResponseEntity<TaskCalendarResponse> getCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer perDay,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        TaskCalendarResponse calendar = taskService.getCalendar(from, to, perDay, currentUser.getUserId());
+        return ResponseEntity.ok(calendar);
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Obtener tarea por ID", description = "Obtiene una tarea específica del usuario autenticado")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id, Principal principal) {
-        String userEmail = principal != null ? principal.getName() : null;
-        if (userEmail == null) {
+    @Operation(summary = "Obtener tarea por ID", description = "Obtiene una tarea específica del usuario autenticado. Con includeArchived=true también busca en las tareas archivadas")
+    public ResponseEntity<TaskResponse> getTaskById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        TaskResponse task = taskService.getTaskById(id, userEmail);
+        TaskResponse task = taskService.getTaskById(id, includeArchived, currentUser.getUserId());
         return ResponseEntity.ok(task);
     }
 
@@ -65,52 +177,48 @@ public class TaskController {
     public ResponseEntity<TaskResponse> updateTask(
             @PathVariable Long id,
             @Valid @RequestBody UpdateTaskRequest request,
-            Principal principal) {
-        String userEmail = principal != null ? principal.getName() : null;
-        if (userEmail == null) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        TaskResponse task = taskService.updateTask(id, request, userEmail);
+        TaskResponse task = taskService.updateTask(id, request, currentUser.getUserId());
         return ResponseEntity.ok(task);
     }
 
     @PatchMapping("/{id}/status")
-    @Operation(summary = "Actualizar estado de una tarea", description = "Actualiza solo el estado de una tarea. Estados válidos: Pendiente, En progreso, Completada")
+    @Operation(summary = "Actualizar estado de una tarea", description = "Actualiza solo el estado de una tarea. Estados válidos: Pendiente, En progreso, Completada. Si se envía version y la tarea cambió, responde 409")
     public ResponseEntity<TaskResponse> updateTaskStatus(
             @PathVariable Long id,
             @Valid @RequestBody UpdateTaskStatusRequest request,
-            Principal principal) {
-        String userEmail = principal != null ? principal.getName() : null;
-        if (userEmail == null) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        TaskResponse task = taskService.updateTaskStatus(id, request.getStatus(), userEmail);
+        TaskResponse task = taskService.updateTaskStatus(id, request.getStatus(), request.getVersion(), currentUser.getUserId());
         return ResponseEntity.ok(task);
     }
 
     @PostMapping("/{id}/deactivate-alerts")
     @Operation(summary = "Desactivar alertas de una tarea", description = "Desactiva todas las alertas activas de una tarea")
-    public ResponseEntity<Void> deactivateTaskAlerts(@PathVariable Long id, Principal principal) {
-        String userEmail = principal != null ? principal.getName() : null;
-        if (userEmail == null) {
+    public ResponseEntity<Void> deactivateTaskAlerts(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        taskService.deactivateTaskAlerts(id, userEmail);
+        taskService.deactivateTaskAlerts(id, currentUser.getUserId());
         return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Eliminar tarea", description = "Elimina una tarea del usuario autenticado. No se puede eliminar si tiene alertas activas.")
-    public ResponseEntity<Void> deleteTask(@PathVariable Long id, Principal principal) {
-        String userEmail = principal != null ? principal.getName() : null;
-        if (userEmail == null) {
+    public ResponseEntity<Void> deleteTask(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        taskService.deleteTask(id, userEmail);
+        taskService.deleteTask(id, currentUser.getUserId());
         return ResponseEntity.noContent().build();
     }
 }
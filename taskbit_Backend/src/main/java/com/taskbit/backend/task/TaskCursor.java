@@ -0,0 +1,63 @@
+package com.taskbit.backend.task;
+
+import com.taskbit.backend.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Posición dentro de un listado de tareas paginado por keyset.
+ * Guarda el valor de la columna de ordenamiento y el id de la última fila entregada;
+ * se serializa como un token opaco en Base64 URL-safe.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskCursor {
+    private final TaskSortField sortField;
+    private final boolean descending;
+    private final Object value;
+    private final Long id;
+
+    public String encode() {
+        // La prioridad se guarda por su código, que es también el valor de la columna
+        Object encoded = value instanceof TaskPriority priority ? priority.getCode() : value;
+        String raw = sortField.getKey() + ":" + (descending ? "desc" : "asc") + ":" + id + ":"
+                + (encoded == null ? "n" : "v" + encoded);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // El valor va al final para que pueda contener ':' (p. ej. títulos)
+            String[] parts = raw.split(":", 4);
+            if (parts.length != 4 || parts[3].isEmpty()) {
+                throw new BusinessException("Cursor no válido");
+            }
+
+            TaskSortField field = TaskSortField.fromKey(parts[0]);
+            boolean descending = "desc".equals(parts[1]);
+            Long id = Long.parseLong(parts[2]);
+
+            Object value = null;
+            if (parts[3].charAt(0) == 'v') {
+                String text = parts[3].substring(1);
+                switch (field) {
+                    case DUE_DATE -> value = LocalDate.parse(text);
+                    case PRIORITY -> value = TaskPriority.fromCode(Short.parseShort(text));
+                    case TITLE -> value = text;
+                    default -> value = null;
+                }
+            }
+
+            return new TaskCursor(field, descending, value, id);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BusinessException("Cursor no válido");
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.taskbit.backend.task;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.TemporalAccessor;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportación de todas las tareas de un usuario sin cargarlas en memoria.
+ * Las filas se leen con un cursor de base de datos (fetch size) y se escriben
+ * directamente en la respuesta; cada entidad se desvincula del contexto de
+ * persistencia después de escribirla para que el heap no crezca con el volumen.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+    private static final int FLUSH_EVERY = 500;
+    private static final String CSV_HEADER =
+            "id,title,description,dueDate,priority,course,status,createdAt,updatedAt,completedAt";
+
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    public StreamingResponseBody export(Long userId, TaskFileFormat format) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        return outputStream -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Task> tasks = taskRepository.streamByUserId(userId)) {
+                if (format == TaskFileFormat.CSV) {
+                    writeCsv(tasks.iterator(), outputStream);
+                } else {
+                    writeNdjson(tasks.iterator(), outputStream);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeNdjson(Iterator<Task> tasks, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+
+            int written = 0;
+            while (tasks.hasNext()) {
+                Task task = tasks.next();
+                generator.writeStartObject();
+                generator.writeNumberField("id", task.getId());
+                generator.writeStringField("title", task.getTitle());
+                generator.writeStringField("description", task.getDescription());
+                writeTemporalField(generator, "dueDate", task.getDueDate());
+                generator.writeStringField("priority", TaskPriority.labelOf(task.getPriority()));
+                generator.writeStringField("course", task.getCourse());
+                generator.writeStringField("status", task.getStatus().getLabel());
+                writeTemporalField(generator, "createdAt", task.getCreatedAt());
+                writeTemporalField(generator, "updatedAt", task.getUpdatedAt());
+                writeTemporalField(generator, "completedAt", task.getCompletedAt());
+                generator.writeEndObject();
+                entityManager.detach(task);
+
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<Task> tasks, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        int written = 0;
+        while (tasks.hasNext()) {
+            Task task = tasks.next();
+            writer.write(String.valueOf(task.getId()));
+            writeCsvField(writer, task.getTitle());
+            writeCsvField(writer, task.getDescription());
+            writeCsvField(writer, text(task.getDueDate()));
+            writeCsvField(writer, TaskPriority.labelOf(task.getPriority()));
+            writeCsvField(writer, task.getCourse());
+            writeCsvField(writer, task.getStatus().getLabel());
+            writeCsvField(writer, text(task.getCreatedAt()));
+            writeCsvField(writer, text(task.getUpdatedAt()));
+            writeCsvField(writer, text(task.getCompletedAt()));
+            writer.write('\n');
+            entityManager.detach(task);
+
+            if (++written % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeTemporalField(JsonGenerator generator, String name, TemporalAccessor value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeStringField(name, value.toString());
+        }
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        // RFC 4180: comillas si el valor contiene separador, comillas o saltos de línea
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(value);
+        }
+    }
+
+    private String text(TemporalAccessor value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.taskbit.backend.task;
+
+import com.taskbit.backend.exception.BusinessException;
+
+/**
+ * Formatos de archivo para exportar e importar tareas.
+ */
+public enum TaskFileFormat {
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv;charset=UTF-8");
+
+    private final String key;
+    private final String contentType;
+
+    TaskFileFormat(String key, String contentType) {
+        this.key = key;
+        this.contentType = contentType;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static TaskFileFormat fromKey(String key) {
+        if (key == null || key.trim().isEmpty()) {
+            return NDJSON;
+        }
+        for (TaskFileFormat format : values()) {
+            if (format.key.equalsIgnoreCase(key.trim())) {
+                return format;
+            }
+        }
+        throw new BusinessException("Formato de archivo no válido");
+    }
+}
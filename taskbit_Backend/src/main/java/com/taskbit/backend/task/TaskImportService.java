@@ -0,0 +1,248 @@
+package com.taskbit.backend.task;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskbit.backend.exception.AuthenticationException;
+import com.taskbit.backend.exception.BusinessException;
+import com.taskbit.backend.task.dto.TaskImportError;
+import com.taskbit.backend.task.dto.TaskImportResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Importación masiva de tareas desde CSV o NDJSON.
+ * El archivo se lee registro a registro; cada fila pasa por las mismas reglas que
+ * createTask y las válidas se cargan en bloques con {@link TaskBulkLoader}.
+ * Cada bloque se confirma en su propia transacción junto con el contador de estados, de modo
+ * que un archivo grande no mantiene una transacción abierta durante toda la carga. Si un bloque
+ * falla, los anteriores quedan importados y el error indica cuántas filas se confirmaron.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskImportService {
+    private static final int CHUNK_SIZE = 5000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final TaskBulkLoader taskBulkLoader;
+    private final TaskStatusCounterService statusCounterService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    public TaskImportResponse importTasks(MultipartFile file, String format, Long userId) {
+        if (file == null || file.isEmpty()) {
+            throw new BusinessException("El archivo está vacío");
+        }
+
+        ImportState state = new ImportState(userId, new TransactionTemplate(transactionManager));
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            if (resolveFormat(file, format) == TaskFileFormat.CSV) {
+                readCsv(reader, state);
+            } else {
+                readNdjson(reader, state);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        state.flushChunk(true);
+
+        return TaskImportResponse.builder()
+                .totalRows(state.totalRows)
+                .imported(state.imported)
+                .failed(state.failed)
+                .errors(state.errors)
+                .errorsTruncated(state.failed > state.errors.size())
+                .build();
+    }
+
+    private TaskFileFormat resolveFormat(MultipartFile file, String format) {
+        if (format != null && !format.trim().isEmpty()) {
+            return TaskFileFormat.fromKey(format);
+        }
+        String filename = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase() : "";
+        if (filename.endsWith(".ndjson") || filename.endsWith(".jsonl")) {
+            return TaskFileFormat.NDJSON;
+        }
+        return TaskFileFormat.CSV;
+    }
+
+    private void readCsv(BufferedReader reader, ImportState state) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new BusinessException("El archivo está vacío");
+        }
+
+        // Las columnas se localizan por nombre; las desconocidas (p. ej. id o status de una exportación) se ignoran
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().replace("\uFEFF", ""), i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new BusinessException("El archivo debe incluir la columna title");
+        }
+
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            state.totalRows++;
+            state.accept(
+                    column(record, columns, "title"),
+                    column(record, columns, "description"),
+                    column(record, columns, "dueDate"),
+                    column(record, columns, "priority"),
+                    column(record, columns, "course"));
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ImportState state) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            state.totalRows++;
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (IOException e) {
+                state.reject("JSON no válido");
+                continue;
+            }
+            if (node == null || !node.isObject()) {
+                state.reject("JSON no válido");
+                continue;
+            }
+            state.accept(
+                    text(node, "title"),
+                    text(node, "description"),
+                    text(node, "dueDate"),
+                    text(node, "priority"),
+                    text(node, "course"));
+        }
+    }
+
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private String text(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    /**
+     * Estado de una importación: contadores, errores y el bloque pendiente de cargar.
+     */
+    private class ImportState {
+        private final Long userId;
+        private final TransactionTemplate transactionTemplate;
+        private final List<Task> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final List<TaskImportError> errors = new ArrayList<>();
+        private final OffsetDateTime now = OffsetDateTime.now();
+        private long totalRows;
+        private long imported;
+        private long failed;
+
+        ImportState(Long userId, TransactionTemplate transactionTemplate) {
+            this.userId = userId;
+            this.transactionTemplate = transactionTemplate;
+        }
+
+        void accept(String title, String description, String dueDateText, String priority, String course) {
+            try {
+                LocalDate dueDate = parseDate(dueDateText);
+                TaskValidation.validateFields(title, dueDate);
+                // Una fila demasiado larga haría fallar el bloque entero al cargarlo
+                TaskValidation.validateLengths(title, course);
+                chunk.add(Task.builder()
+                        .title(title.trim())
+                        .description(description != null ? description.trim() : null)
+                        .dueDate(dueDate)
+                        .priority(TaskValidation.parsePriority(priority))
+                        .course(course != null ? course.trim() : null)
+                        .status(TaskStatus.PENDIENTE)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build());
+            } catch (AuthenticationException | BusinessException e) {
+                reject(e.getMessage());
+                return;
+            }
+            if (chunk.size() >= CHUNK_SIZE) {
+                flushChunk(false);
+            }
+        }
+
+        void reject(String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(TaskImportError.builder().row(totalRows).message(message).build());
+            }
+        }
+
+        // El último bloque avisa a los clientes conectados una sola vez por importación
+        void flushChunk(boolean last) {
+            boolean notify = last && imported + chunk.size() > 0;
+            if (chunk.isEmpty() && !notify) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    taskBulkLoader.load(userId, chunk);
+                    // Todas las tareas importadas empiezan como Pendiente
+                    TaskStatusCounterService.StatusDelta delta = new TaskStatusCounterService.StatusDelta();
+                    delta.add(TaskStatus.PENDIENTE, chunk.size());
+                    statusCounterService.record(userId, delta);
+                    if (notify) {
+                        eventPublisher.publishEvent(new TaskChangedEvent(userId, TaskChangedEvent.IMPORTED, List.of()));
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("Importación del usuario {} interrumpida con {} tareas ya confirmadas", userId, imported, e);
+                throw new RuntimeException("Error al guardar las tareas importadas; ya se habían importado "
+                        + imported + " filas", e);
+            }
+            imported += chunk.size();
+            chunk.clear();
+        }
+
+        private LocalDate parseDate(String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return null;
+            }
+            try {
+                return LocalDate.parse(value.trim());
+            } catch (DateTimeParseException e) {
+                throw new BusinessException("Fecha no válida");
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.taskbit.backend.task;
+
+import lombok.Getter;
+
+/**
+ * Prioridades de una tarea. El código (smallint, ver TaskPriorityConverter) crece con
+ * la prioridad, de modo que también sirve para ordenar; la API usa la etiqueta.
+ */
+@Getter
+public enum TaskPriority {
+    BAJA((short) 1, "baja"),
+    MEDIA((short) 2, "media"),
+    ALTA((short) 3, "alta");
+
+    private final short code;
+    private final String label;
+
+    TaskPriority(short code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public static TaskPriority fromCode(short code) {
+        for (TaskPriority priority : values()) {
+            if (priority.code == code) {
+                return priority;
+            }
+        }
+        throw new IllegalArgumentException("Código de prioridad desconocido: " + code);
+    }
+
+    /**
+     * Prioridad con la etiqueta indicada, sin distinguir mayúsculas; null si no corresponde a ninguna.
+     */
+    public static TaskPriority fromLabel(String label) {
+        if (label == null) {
+            return null;
+        }
+        String value = label.trim();
+        for (TaskPriority priority : values()) {
+            if (priority.label.equalsIgnoreCase(value)) {
+                return priority;
+            }
+        }
+        return null;
+    }
+
+    public static String labelOf(TaskPriority priority) {
+        return priority != null ? priority.label : null;
+    }
+}
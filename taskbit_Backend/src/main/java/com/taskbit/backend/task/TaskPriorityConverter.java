@@ -0,0 +1,18 @@
+package com.taskbit.backend.task;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class TaskPriorityConverter implements AttributeConverter<TaskPriority, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(TaskPriority priority) {
+        return priority != null ? priority.getCode() : null;
+    }
+
+    @Override
+    public TaskPriority convertToEntityAttribute(Short code) {
+        return code != null ? TaskPriority.fromCode(code) : null;
+    }
+}
@@ -1,11 +1,75 @@
 package com.taskbit.backend.task;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
     List<Task> findByUserId(Long userId);
-}
\ No newline at end of file
+
+    // Búsqueda con verificación de pertenencia en la misma consulta
+    Optional<Task> findByIdAndUserId(Long id, Long userId);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    // (id, dueDate) de las tareas del usuario que admiten alertas: con fecha de entrega no vencida
+    @Query("SELECT t.id, t.dueDate FROM Task t WHERE t.user.id = :userId AND t.id IN :ids AND t.dueDate >= :today")
+    List<Object[]> findAlertTargetsByIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids, @Param("today") LocalDate today);
+
+    // Con la página se acota lo que se lee: quien llama pide una fila más que su máximo para detectar el exceso
+    @Query("SELECT t.id, t.dueDate FROM Task t WHERE t.user.id = :userId AND t.course = :course AND t.dueDate >= :today")
+    List<Object[]> findAlertTargetsByCourse(@Param("userId") Long userId, @Param("course") String course,
+                                            @Param("today") LocalDate today, Pageable pageable);
+
+    List<Task> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    // Cambios posteriores al cursor (xid, seq) de transacciones anteriores al horizonte (sincronización)
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.changeXid < :horizon " +
+            "AND (t.changeXid > :xid OR (t.changeXid = :xid AND t.changeSeq > :seq)) " +
+            "ORDER BY t.changeXid, t.changeSeq")
+    List<Task> findChangedForUser(@Param("userId") Long userId, @Param("xid") long xid, @Param("seq") long seq,
+                                  @Param("horizon") long horizon, Pageable pageable);
+
+    // Vencidas sin completar por curso y prioridad; recorre el rango de ix_task_user_due_date
+    @Query("SELECT t.course, t.priority, COUNT(t) FROM Task t WHERE t.user.id = :userId " +
+            "AND t.dueDate < :today AND t.status <> :completed GROUP BY t.course, t.priority")
+    List<Object[]> countOverdue(@Param("userId") Long userId,
+                                @Param("today") LocalDate today,
+                                @Param("completed") TaskStatus completed);
+
+    // Calendario: ambas consultas recorren solo el rango [from, to] de ix_task_user_due_date
+    @Query("SELECT t.dueDate, t.status, COUNT(t) FROM Task t WHERE t.user.id = :userId " +
+            "AND t.dueDate BETWEEN :from AND :to GROUP BY t.dueDate, t.status")
+    List<Object[]> countByDueDateAndStatus(@Param("userId") Long userId,
+                                           @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to);
+
+    // Las primeras :perDay tareas de cada día (por id), sin traer el resto del mes
+    @Query(value = "SELECT c.* FROM (" +
+            "SELECT t.*, ROW_NUMBER() OVER (PARTITION BY t.due_date ORDER BY t.id) AS day_rank " +
+            "FROM task t WHERE t.user_id = :userId AND t.due_date BETWEEN :from AND :to) c " +
+            "WHERE c.day_rank <= :perDay ORDER BY c.due_date, c.id", nativeQuery = true)
+    List<Task> findFirstPerDueDate(@Param("userId") Long userId,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to,
+                                   @Param("perDay") int perDay);
+
+    // Lectura por cursor para exportaciones: el driver trae las filas en bloques
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId ORDER BY t.id")
+    Stream<Task> streamByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,5 @@
+package com.taskbit.backend.task;
+
+public interface TaskRepositoryCustom {
+    TaskSlice findTaskPage(Long userId, TaskSearchCriteria criteria);
+}
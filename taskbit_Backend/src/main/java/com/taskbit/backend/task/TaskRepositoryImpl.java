@@ -0,0 +1,141 @@
+package com.taskbit.backend.task;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consulta paginada por keyset sobre la tabla task.
+ * La condición de continuación usa (columna de orden, id) para que cada página
+ * sea un rango sobre los índices (user_id, columna, id) en lugar de un OFFSET.
+ * Con includeArchived la misma consulta se hace sobre TaskWithArchive (task UNION ALL
+ * task_archive); el orden lo resuelve la base de datos, así que el cursor sigue siendo válido.
+ */
+class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public TaskSlice findTaskPage(Long userId, TaskSearchCriteria criteria) {
+        TaskSortField sortField = criteria.getSortField();
+        boolean descending = criteria.isDescending();
+        String sortExpression = sortExpression(sortField);
+        // Sin fecha de entrega va al final en orden ascendente; sin prioridad cuenta como la más
+        // baja (el código smallint crece con la prioridad). Ambos coinciden con sus índices (V3, V18)
+        boolean nullable = sortField == TaskSortField.DUE_DATE || sortField == TaskSortField.PRIORITY;
+        boolean nullsFirst = sortField == TaskSortField.PRIORITY ? !descending : descending;
+
+        Map<String, Object> params = new HashMap<>();
+        String entity = criteria.isIncludeArchived() ? "TaskWithArchive" : "Task";
+        StringBuilder jpql = new StringBuilder("SELECT t, ").append(sortExpression)
+                .append(" FROM ").append(entity).append(" t WHERE t.user.id = :userId");
+        params.put("userId", userId);
+
+        if (criteria.getStatus() != null) {
+            jpql.append(" AND t.status = :status");
+            params.put("status", criteria.getStatus());
+        }
+        if (criteria.getPriority() != null) {
+            jpql.append(" AND t.priority = :priority");
+            params.put("priority", criteria.getPriority());
+        }
+        if (criteria.getCourse() != null) {
+            jpql.append(" AND t.course = :course");
+            params.put("course", criteria.getCourse());
+        }
+        if (criteria.getTitle() != null) {
+            jpql.append(" AND LOWER(t.title) LIKE :title ESCAPE '\\'");
+            params.put("title", "%" + escapeLike(criteria.getTitle().toLowerCase()) + "%");
+        }
+
+        TaskCursor cursor = criteria.getCursor();
+        if (cursor != null) {
+            appendKeysetCondition(jpql, params, sortField, sortExpression, nullable, nullsFirst, descending, cursor);
+        }
+
+        String direction = descending ? "DESC" : "ASC";
+        jpql.append(" ORDER BY ");
+        if (sortField != TaskSortField.NONE) {
+            jpql.append(sortExpression).append(' ').append(direction)
+                    .append(nullsFirst ? " NULLS FIRST" : " NULLS LAST").append(", ");
+        }
+        jpql.append("t.id ").append(direction);
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        params.forEach(query::setParameter);
+        // Se pide una fila extra para saber si existe una página siguiente
+        query.setMaxResults(criteria.getLimit() + 1);
+
+        List<Object[]> rows = query.getResultList();
+        boolean hasMore = rows.size() > criteria.getLimit();
+        List<Object[]> pageRows = hasMore ? rows.subList(0, criteria.getLimit()) : rows;
+
+        List<Task> tasks = new ArrayList<>(pageRows.size());
+        for (Object[] row : pageRows) {
+            tasks.add(row[0] instanceof TaskWithArchive entry ? entry.toTask() : (Task) row[0]);
+        }
+
+        TaskCursor nextCursor = null;
+        if (hasMore) {
+            Object[] last = pageRows.get(pageRows.size() - 1);
+            Task lastTask = tasks.get(tasks.size() - 1);
+            Object lastValue = sortField == TaskSortField.NONE ? null : last[1];
+            nextCursor = new TaskCursor(sortField, descending, lastValue, lastTask.getId());
+        }
+
+        return new TaskSlice(tasks, nextCursor);
+    }
+
+    private void appendKeysetCondition(StringBuilder jpql, Map<String, Object> params, TaskSortField sortField,
+                                       String sortExpression, boolean nullable, boolean nullsFirst, boolean descending,
+                                       TaskCursor cursor) {
+        String idComparison = descending ? "<" : ">";
+        params.put("cursorId", cursor.getId());
+
+        if (sortField == TaskSortField.NONE) {
+            jpql.append(" AND t.id ").append(idComparison).append(" :cursorId");
+            return;
+        }
+
+        String valueComparison = descending ? "<" : ">";
+        if (cursor.getValue() == null) {
+            // El cursor está dentro del bloque de nulos
+            if (nullsFirst) {
+                jpql.append(" AND ((").append(sortExpression).append(" IS NULL AND t.id ").append(idComparison)
+                        .append(" :cursorId) OR ").append(sortExpression).append(" IS NOT NULL)");
+            } else {
+                jpql.append(" AND (").append(sortExpression).append(" IS NULL AND t.id ").append(idComparison)
+                        .append(" :cursorId)");
+            }
+            return;
+        }
+
+        params.put("cursorValue", cursor.getValue());
+        jpql.append(" AND (").append(sortExpression).append(' ').append(valueComparison).append(" :cursorValue")
+                .append(" OR (").append(sortExpression).append(" = :cursorValue AND t.id ")
+                .append(idComparison).append(" :cursorId)");
+        if (nullable && !nullsFirst) {
+            jpql.append(" OR ").append(sortExpression).append(" IS NULL");
+        }
+        jpql.append(')');
+    }
+
+    private String sortExpression(TaskSortField sortField) {
+        return switch (sortField) {
+            case DUE_DATE -> "t.dueDate";
+            case PRIORITY -> "t.priority";
+            case TITLE -> "LOWER(t.title)";
+            case NONE -> "t.id";
+        };
+    }
+
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,28 @@
+package com.taskbit.backend.task;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Filtros, ordenamiento y posición ya validados para consultar una página de tareas.
+ */
+@Getter
+@Builder
+public class TaskSearchCriteria {
+    private final TaskStatus status;
+    private final TaskPriority priority;
+    private final String course;
+    private final String title;
+
+    @Builder.Default
+    private final TaskSortField sortField = TaskSortField.NONE;
+
+    private final boolean descending;
+
+    private final TaskCursor cursor;
+
+    private final int limit;
+
+    // Incluye task_archive (consulta sobre TaskWithArchive en lugar de Task)
+    private final boolean includeArchived;
+}
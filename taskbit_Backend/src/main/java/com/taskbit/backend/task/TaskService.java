@@ -1,54 +1,86 @@
 package com.taskbit.backend.task;
 
+import com.taskbit.backend.alert.AlertDispatcher;
 import com.taskbit.backend.alert.AlertRepository;
+import com.taskbit.backend.alert.AlertRescheduleService;
 import com.taskbit.backend.exception.AuthenticationException;
 import com.taskbit.backend.exception.BusinessException;
+import com.taskbit.backend.exception.ConflictException;
+import com.taskbit.backend.sync.SyncTombstone;
+import com.taskbit.backend.sync.SyncTombstoneRecorder;
+import com.taskbit.backend.task.dto.BatchTaskOperation;
+import com.taskbit.backend.task.dto.BatchTaskRequest;
+import com.taskbit.backend.task.dto.BatchTaskResponse;
+import com.taskbit.backend.task.dto.BatchTaskResult;
 import com.taskbit.backend.task.dto.CreateTaskRequest;
+import com.taskbit.backend.task.dto.TaskCalendarDay;
+import com.taskbit.backend.task.dto.TaskCalendarResponse;
+import com.taskbit.backend.task.dto.TaskCountsResponse;
+import com.taskbit.backend.task.dto.TaskListRequest;
+import com.taskbit.backend.task.dto.TaskPageResponse;
 import com.taskbit.backend.task.dto.TaskResponse;
+import com.taskbit.backend.task.dto.TaskSearchResponse;
 import com.taskbit.backend.task.dto.UpdateTaskRequest;
 import com.taskbit.backend.user.AppUser;
 import com.taskbit.backend.user.AppUserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
     private final TaskRepository taskRepository;
+    private final TaskWithArchiveRepository taskWithArchiveRepository;
     private final AppUserRepository userRepository;
     private final AlertRepository alertRepository;
+    private final AlertDispatcher alertDispatcher;
+    private final AlertRescheduleService alertRescheduleService;
+    private final TaskStatusCounterService statusCounterService;
+    private final TaskTextSearch taskTextSearch;
+    private final SyncTombstoneRecorder tombstoneRecorder;
+    private final TaskStatusUpdater taskStatusUpdater;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Tamaño de página por defecto y máximo para el listado de tareas
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    // Número de resultados por defecto y máximo de la búsqueda de texto
+    private static final int DEFAULT_SEARCH_RESULTS = 20;
+    private static final int MAX_SEARCH_RESULTS = 50;
+
+    // Rango máximo del calendario (un mes con las semanas de los bordes) y tareas por día
+    private static final int MAX_CALENDAR_DAYS = 62;
+    private static final int DEFAULT_TASKS_PER_DAY = 3;
+    private static final int MAX_TASKS_PER_DAY = 20;
 
     @Transactional
-    public TaskResponse createTask(CreateTaskRequest request, String userEmail) {
-        // Obtener usuario por email
-        AppUser user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new AuthenticationException("Usuario no encontrado"));
-
-        // Validar título
-        if (request.getTitle() == null || request.getTitle().trim().isEmpty()) {
-            throw new AuthenticationException("Campos obligatorios incompletos");
-        }
-
-        // Validar fecha de entrega si se proporciona (debe ser después de hoy, no igual)
-        if (request.getDueDate() != null && !request.getDueDate().isAfter(LocalDate.now())) {
-            throw new AuthenticationException("La fecha límite debe ser futura");
-        }
+    public TaskResponse createTask(CreateTaskRequest request, Long userId) {
+        // Referencia sin consulta: el id viene del token ya validado
+        AppUser user = userRepository.getReferenceById(userId);
 
-        // Validar prioridad si se proporciona (normalizar a minúsculas)
-        String priority = null;
-        if (request.getPriority() != null && !request.getPriority().trim().isEmpty()) {
-            String priorityLower = request.getPriority().toLowerCase().trim();
-            if (!priorityLower.equals("alta") && !priorityLower.equals("media") && !priorityLower.equals("baja")) {
-                throw new AuthenticationException("Prioridad no válida");
-            }
-            priority = priorityLower;
-        }
+        TaskValidation.validateFields(request.getTitle(), request.getDueDate());
+        TaskValidation.validateLengths(request.getTitle(), request.getCourse());
+        TaskPriority priority = TaskValidation.parsePriority(request.getPriority());
 
         // Crear nueva tarea
         Task task = Task.builder()
@@ -58,156 +90,160 @@ public class TaskService {
                 .dueDate(request.getDueDate())
                 .priority(priority)
                 .course(request.getCourse() != null ? request.getCourse().trim() : null)
-                .status("Pendiente")
+                .status(TaskStatus.PENDIENTE)
                 .createdAt(OffsetDateTime.now())
                 .updatedAt(OffsetDateTime.now())
                 .build();
 
         Task savedTask = taskRepository.save(task);
+        statusCounterService.recordTransition(userId, null, savedTask.getStatus());
+        eventPublisher.publishEvent(new TaskChangedEvent(userId, TaskChangedEvent.CREATED, List.of(savedTask.getId())));
 
         return mapToResponse(savedTask);
     }
 
     @Transactional(readOnly = true)
-    public List<TaskResponse> getUserTasks(String userEmail) {
-        AppUser user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new AuthenticationException("Usuario no encontrado"));
-
-        List<Task> tasks = taskRepository.findByUserId(user.getId());
-        return tasks.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public TaskPageResponse getUserTasks(TaskListRequest request, Long userId) {
+        TaskSearchCriteria criteria = buildSearchCriteria(request);
+        TaskSlice slice = taskRepository.findTaskPage(userId, criteria);
+
+        return TaskPageResponse.builder()
+                .items(slice.getTasks().stream()
+                        .map(this::mapToResponse)
+                        .collect(Collectors.toList()))
+                .nextCursor(slice.getNextCursor() != null ? slice.getNextCursor().encode() : null)
+                .build();
     }
 
     @Transactional(readOnly = true)
-    public TaskResponse getTaskById(Long taskId, String userEmail) {
-        AppUser user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new AuthenticationException("Usuario no encontrado"));
-
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new AuthenticationException("Tarea no encontrada"));
-
-        // Verificar que la tarea pertenece al usuario
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new AuthenticationException("No tienes permiso para acceder a esta tarea");
+    public List<TaskSearchResponse> searchTasks(String query, Integer limit, Long userId) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new BusinessException("La búsqueda no puede estar vacía");
         }
 
-        return mapToResponse(task);
-    }
-
-    @Transactional
-    public TaskResponse updateTask(Long taskId, UpdateTaskRequest request, String userEmail) {
-        AppUser user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new AuthenticationException("Usuario no encontrado"));
+        int maxResults = limit != null ? limit : DEFAULT_SEARCH_RESULTS;
+        maxResults = Math.max(1, Math.min(maxResults, MAX_SEARCH_RESULTS));
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new AuthenticationException("Tarea no encontrada"));
+        return taskTextSearch.search(userId, query.trim(), maxResults);
+    }
 
-        // Verificar que la tarea pertenece al usuario
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new AuthenticationException("No tienes permiso para modificar esta tarea");
-        }
+    @Transactional(readOnly = true)
+    public TaskCountsResponse getTaskCounts(Long userId) {
+        return statusCounterService.getCounts(userId);
+    }
 
-        // Validar título
-        if (request.getTitle() == null || request.getTitle().trim().isEmpty()) {
-            throw new AuthenticationException("Campos obligatorios incompletos");
+    @Transactional(readOnly = true)
+    public TaskCalendarResponse getCalendar(LocalDate from, LocalDate to, Integer perDay, Long userId) {
+        if (from.isAfter(to)) {
+            throw new BusinessException("La fecha inicial no puede ser posterior a la final");
         }
-
-        // Validar fecha de entrega si se proporciona (debe ser después de hoy, no igual)
-        if (request.getDueDate() != null && !request.getDueDate().isAfter(LocalDate.now())) {
-            throw new AuthenticationException("La fecha límite debe ser futura");
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_CALENDAR_DAYS) {
+            throw new BusinessException("El rango del calendario no puede superar " + MAX_CALENDAR_DAYS + " días");
         }
 
-        // Validar prioridad si se proporciona (normalizar a minúsculas)
-        String priority = null;
-        if (request.getPriority() != null && !request.getPriority().trim().isEmpty()) {
-            String priorityLower = request.getPriority().toLowerCase().trim();
-            if (!priorityLower.equals("alta") && !priorityLower.equals("media") && !priorityLower.equals("baja")) {
-                throw new AuthenticationException("Prioridad no válida");
+        int tasksPerDay = perDay != null ? perDay : DEFAULT_TASKS_PER_DAY;
+        tasksPerDay = Math.max(0, Math.min(tasksPerDay, MAX_TASKS_PER_DAY));
+
+        // TreeMap: los días salen ordenados por fecha
+        Map<LocalDate, TaskCalendarDay> days = new TreeMap<>();
+        for (Object[] row : taskRepository.countByDueDateAndStatus(userId, from, to)) {
+            TaskCalendarDay day = days.computeIfAbsent((LocalDate) row[0],
+                    date -> TaskCalendarDay.builder().date(date).tasks(new ArrayList<>()).build());
+            int count = ((Number) row[2]).intValue();
+            switch ((TaskStatus) row[1]) {
+                case PENDIENTE -> day.setPending(day.getPending() + count);
+                case EN_PROGRESO -> day.setInProgress(day.getInProgress() + count);
+                case COMPLETADA -> day.setCompleted(day.getCompleted() + count);
             }
-            priority = priorityLower;
+            day.setTotal(day.getTotal() + count);
         }
 
-        // Validar estado si se proporciona
-        String status = task.getStatus(); // Mantener el estado actual por defecto
-        if (request.getStatus() != null && !request.getStatus().trim().isEmpty()) {
-            String statusValue = request.getStatus().trim();
-            // Validar que el estado sea uno de los válidos: Pendiente, En progreso, Completada
-            if (statusValue.equalsIgnoreCase("Pendiente") || 
-                statusValue.equalsIgnoreCase("En progreso") || 
-                statusValue.equalsIgnoreCase("Completada")) {
-                if (statusValue.equalsIgnoreCase("En progreso")) {
-                    status = "En progreso";
-                    // Si cambia de completada a otro estado, limpiar completedAt
-                    if (task.getStatus().equals("Completada")) {
-                        task.setCompletedAt(null);
-                    }
-                } else if (statusValue.equalsIgnoreCase("Completada")) {
-                    status = "Completada";
-                    // Si se marca como completada, actualizar completedAt con la fecha y hora exacta
-                    if (task.getCompletedAt() == null) {
-                        task.setCompletedAt(OffsetDateTime.now());
-                    }
-                } else {
-                    status = "Pendiente";
-                    // Si cambia de completada a otro estado, limpiar completedAt
-                    if (task.getStatus().equals("Completada")) {
-                        task.setCompletedAt(null);
-                    }
+        if (tasksPerDay > 0 && !days.isEmpty()) {
+            for (Task task : taskRepository.findFirstPerDueDate(userId, from, to, tasksPerDay)) {
+                TaskCalendarDay day = days.get(task.getDueDate());
+                if (day != null) {
+                    day.getTasks().add(mapToResponse(task));
                 }
-            } else {
-                throw new BusinessException("Estado no válido");
             }
         }
 
+        return TaskCalendarResponse.builder()
+                .from(from)
+                .to(to)
+                .days(new ArrayList<>(days.values()))
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskById(Long taskId, boolean includeArchived, Long userId) {
+        // El filtro por usuario va en la consulta: una tarea ajena se trata como inexistente
+        Optional<Task> found = includeArchived
+                ? taskWithArchiveRepository.findByIdAndUserId(taskId, userId).map(TaskWithArchive::toTask)
+                : taskRepository.findByIdAndUserId(taskId, userId);
+        Task task = found.orElseThrow(() -> new AuthenticationException("Tarea no encontrada"));
+
+        return mapToResponse(task);
+    }
+
+    @Transactional
+    public TaskResponse updateTask(Long taskId, UpdateTaskRequest request, Long userId) {
+        // El filtro por usuario va en la consulta: una tarea ajena se trata como inexistente
+        Task task = taskRepository.findByIdAndUserId(taskId, userId)
+                .orElseThrow(() -> new AuthenticationException("Tarea no encontrada"));
+
+        // La versión recibida debe coincidir con la actual; @Version cubre además las escrituras concurrentes
+        if (request.getVersion() != null && !request.getVersion().equals(task.getVersion())) {
+            throw new ConflictException("La tarea fue modificada por otra petición; vuelve a cargarla e inténtalo de nuevo");
+        }
+
+        TaskValidation.validateFields(request.getTitle(), request.getDueDate());
+        TaskValidation.validateLengths(request.getTitle(), request.getCourse());
+        TaskPriority priority = TaskValidation.parsePriority(request.getPriority());
+        // Validar estado si se proporciona; si no, se mantiene el actual
+        TaskStatus status = request.getStatus() != null && !request.getStatus().trim().isEmpty()
+                ? TaskValidation.parseStatus(request.getStatus()) : task.getStatus();
+
         // Actualizar campos
+        OffsetDateTime now = OffsetDateTime.now();
+        boolean dueDateChanged = !Objects.equals(task.getDueDate(), request.getDueDate());
         task.setTitle(request.getTitle().trim());
         task.setDescription(request.getDescription() != null ? request.getDescription().trim() : null);
         task.setDueDate(request.getDueDate());
         task.setPriority(priority);
         task.setCourse(request.getCourse() != null ? request.getCourse().trim() : null);
-        task.setStatus(status);
-        task.setUpdatedAt(OffsetDateTime.now());
+        TaskStatus previousStatus = task.getStatus();
+        TaskStatus.transition(task, status, now);
+        task.setUpdatedAt(now);
 
         Task updatedTask = taskRepository.save(task);
+        statusCounterService.recordTransition(userId, previousStatus, status);
+        if (dueDateChanged) {
+            alertRescheduleService.rescheduleTask(taskId, request.getDueDate());
+        }
+        eventPublisher.publishEvent(new TaskChangedEvent(userId, TaskChangedEvent.UPDATED, List.of(taskId)));
 
         return mapToResponse(updatedTask);
     }
 
     @Transactional
-    public void deactivateTaskAlerts(Long taskId, String userEmail) {
-        AppUser user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new AuthenticationException("Usuario no encontrado"));
-
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new AuthenticationException("Tarea no encontrada"));
-
-        // Verificar que la tarea pertenece al usuario
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new AuthenticationException("No tienes permiso para modificar esta tarea");
+    public void deactivateTaskAlerts(Long taskId, Long userId) {
+        // El filtro por usuario va en la consulta: una tarea ajena se trata como inexistente
+        if (!taskRepository.existsByIdAndUserId(taskId, userId)) {
+            throw new AuthenticationException("Tarea no encontrada");
         }
 
-        // Desactivar todas las alertas activas
-        List<com.taskbit.backend.alert.Alert> activeAlerts = alertRepository.findByTaskIdAndStatus(taskId, "activa");
-        for (com.taskbit.backend.alert.Alert alert : activeAlerts) {
-            alert.setStatus("desactivada");
-        }
-        alertRepository.saveAll(activeAlerts);
+        // Desactivar todas las alertas activas en una sola sentencia y sacarlas del despachador
+        List<Long> activeAlertIds = alertRepository.findIdsByTaskIdAndStatus(taskId, "activa");
+        alertRepository.updateStatusForTask(taskId, "activa", "desactivada");
+        alertDispatcher.cancel(activeAlertIds);
     }
 
     @Transactional
-    public void deleteTask(Long taskId, String userEmail) {
-        AppUser user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new AuthenticationException("Usuario no encontrado"));
-
-        Task task = taskRepository.findById(taskId)
+    public void deleteTask(Long taskId, Long userId) {
+        // El filtro por usuario va en la consulta: una tarea ajena se trata como inexistente
+        Task task = taskRepository.findByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new AuthenticationException("Tarea no encontrada"));
 
-        // Verificar que la tarea pertenece al usuario
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new AuthenticationException("No tienes permiso para eliminar esta tarea");
-        }
-
         // Verificar si hay alertas activas
         List<com.taskbit.backend.alert.Alert> activeAlerts = alertRepository.findByTaskIdAndStatus(taskId, "activa");
         if (!activeAlerts.isEmpty()) {
@@ -220,71 +256,267 @@ public class TaskService {
 
         // Eliminar la tarea
         taskRepository.delete(task);
+        statusCounterService.recordTransition(userId, task.getStatus(), null);
+
+        // Registrar las eliminaciones para la sincronización incremental
+        tombstoneRecorder.recordDeletions(userId, SyncTombstone.TYPE_ALERT,
+                allAlerts.stream().map(com.taskbit.backend.alert.Alert::getId).collect(Collectors.toList()));
+        tombstoneRecorder.recordDeletions(userId, SyncTombstone.TYPE_TASK, List.of(taskId));
+        eventPublisher.publishEvent(new TaskChangedEvent(userId, TaskChangedEvent.DELETED, List.of(taskId)));
     }
 
     @Transactional
-    public TaskResponse updateTaskStatus(Long taskId, String newStatus, String userEmail) {
-        AppUser user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new AuthenticationException("Usuario no encontrado"));
+    public TaskResponse updateTaskStatus(Long taskId, String newStatus, Long expectedVersion, Long userId) {
+        TaskStatus status = TaskValidation.parseStatus(newStatus);
+
+        // Un solo UPDATE condicional sobre id, usuario y versión
+        TaskStatusUpdate update = taskStatusUpdater.update(taskId, userId, expectedVersion, status, OffsetDateTime.now());
+        if (update == null) {
+            // Solo en el caso de fallo hace falta distinguir la tarea inexistente del conflicto de versión
+            if (!taskRepository.existsByIdAndUserId(taskId, userId)) {
+                throw new AuthenticationException("Tarea no encontrada");
+            }
+            throw new ConflictException("La tarea fue modificada por otra petición; vuelve a cargarla e inténtalo de nuevo");
+        }
+        statusCounterService.recordTransition(userId, update.getPreviousStatus(), status);
+        eventPublisher.publishEvent(new TaskChangedEvent(userId, TaskChangedEvent.UPDATED, List.of(taskId)));
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new AuthenticationException("Tarea no encontrada"));
+        return mapToResponse(update.getTask());
+    }
 
-        // Verificar que la tarea pertenece al usuario
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new AuthenticationException("No tienes permiso para modificar esta tarea");
+    @Transactional
+    public BatchTaskResponse applyBatch(BatchTaskRequest request, Long userId) {
+        AppUser user = userRepository.getReferenceById(userId);
+
+        List<BatchTaskOperation> operations = request.getOperations();
+
+        // Cargar en una sola consulta todas las tareas referenciadas que pertenecen al usuario
+        Set<Long> referencedIds = operations.stream()
+                .filter(operation -> !"create".equalsIgnoreCase(operation.getOp()) && operation.getId() != null)
+                .map(BatchTaskOperation::getId)
+                .collect(Collectors.toSet());
+        Map<Long, Task> ownedTasks = referencedIds.isEmpty() ? new HashMap<>()
+                : taskRepository.findByUserIdAndIdIn(userId, referencedIds).stream()
+                        .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        // Tareas con alertas activas (no se pueden eliminar), también en una sola consulta
+        Set<Long> deleteCandidates = operations.stream()
+                .filter(operation -> "delete".equalsIgnoreCase(operation.getOp()) && operation.getId() != null)
+                .map(BatchTaskOperation::getId)
+                .filter(ownedTasks::containsKey)
+                .collect(Collectors.toSet());
+        Set<Long> withActiveAlerts = deleteCandidates.isEmpty() ? Set.of()
+                : new HashSet<>(alertRepository.findTaskIdsByStatus(deleteCandidates, "activa"));
+
+        BatchTaskResult[] results = new BatchTaskResult[operations.size()];
+        List<Task> toCreate = new ArrayList<>();
+        List<Integer> createIndexes = new ArrayList<>();
+        List<Task> toDelete = new ArrayList<>();
+        Map<Long, LocalDate> dueDateChanges = new HashMap<>();
+        Set<Long> updatedIds = new LinkedHashSet<>();
+        TaskStatusCounterService.StatusDelta statusDelta = new TaskStatusCounterService.StatusDelta();
+        OffsetDateTime now = OffsetDateTime.now();
+
+        for (int i = 0; i < operations.size(); i++) {
+            BatchTaskOperation operation = operations.get(i);
+            String op = operation.getOp().trim().toLowerCase();
+            try {
+                switch (op) {
+                    case "create" -> {
+                        TaskValidation.validateFields(operation.getTitle(), operation.getDueDate());
+                        TaskValidation.validateLengths(operation.getTitle(), operation.getCourse());
+                        toCreate.add(Task.builder()
+                                .user(user)
+                                .title(operation.getTitle().trim())
+                                .description(operation.getDescription() != null ? operation.getDescription().trim() : null)
+                                .dueDate(operation.getDueDate())
+                                .priority(TaskValidation.parsePriority(operation.getPriority()))
+                                .course(operation.getCourse() != null ? operation.getCourse().trim() : null)
+                                .status(TaskStatus.PENDIENTE)
+                                .createdAt(now)
+                                .updatedAt(now)
+                                .build());
+                        createIndexes.add(i);
+                        statusDelta.transition(null, TaskStatus.PENDIENTE);
+                    }
+                    case "update" -> {
+                        Task task = requireOwnedTask(ownedTasks, operation.getId());
+                        TaskValidation.validateFields(operation.getTitle(), operation.getDueDate());
+                        TaskValidation.validateLengths(operation.getTitle(), operation.getCourse());
+                        TaskPriority priority = TaskValidation.parsePriority(operation.getPriority());
+                        TaskStatus targetStatus = operation.getStatus() != null && !operation.getStatus().trim().isEmpty()
+                                ? TaskValidation.parseStatus(operation.getStatus()) : null;
+                        // Validado todo el elemento: una operación fallida no reprograma alertas
+                        TaskStatus previousStatus = task.getStatus();
+                        if (!Objects.equals(task.getDueDate(), operation.getDueDate())) {
+                            dueDateChanges.put(task.getId(), operation.getDueDate());
+                        }
+                        if (targetStatus != null) {
+                            TaskStatus.transition(task, targetStatus, now);
+                        }
+                        task.setTitle(operation.getTitle().trim());
+                        task.setDescription(operation.getDescription() != null ? operation.getDescription().trim() : null);
+                        task.setDueDate(operation.getDueDate());
+                        task.setPriority(priority);
+                        task.setCourse(operation.getCourse() != null ? operation.getCourse().trim() : null);
+                        task.setUpdatedAt(now);
+                        statusDelta.transition(previousStatus, task.getStatus());
+                        updatedIds.add(task.getId());
+                        results[i] = batchSuccess(i, op, task);
+                    }
+                    case "status" -> {
+                        Task task = requireOwnedTask(ownedTasks, operation.getId());
+                        TaskStatus previousStatus = task.getStatus();
+                        TaskStatus.transition(task, TaskValidation.parseStatus(operation.getStatus()), now);
+                        task.setUpdatedAt(now);
+                        statusDelta.transition(previousStatus, task.getStatus());
+                        updatedIds.add(task.getId());
+                        results[i] = batchSuccess(i, op, task);
+                    }
+                    case "delete" -> {
+                        Task task = requireOwnedTask(ownedTasks, operation.getId());
+                        if (withActiveAlerts.contains(task.getId())) {
+                            throw new BusinessException("No puedes eliminar esta tarea mientras tenga alertas activas");
+                        }
+                        ownedTasks.remove(task.getId());
+                        toDelete.add(task);
+                        statusDelta.transition(task.getStatus(), null);
+                        results[i] = BatchTaskResult.builder().index(i).op(op).id(task.getId()).success(true).build();
+                    }
+                    default -> throw new BusinessException("Operación no válida");
+                }
+            } catch (AuthenticationException | BusinessException e) {
+                results[i] = BatchTaskResult.builder()
+                        .index(i)
+                        .op(op)
+                        .id(operation.getId())
+                        .success(false)
+                        .message(e.getMessage())
+                        .build();
+            }
         }
 
-        // Validar que el estado sea uno de los válidos
-        String status;
-        if (newStatus == null || newStatus.trim().isEmpty()) {
-            throw new BusinessException("Estado no válido");
-        }
-        
-        String statusValue = newStatus.trim();
-        if (statusValue.equalsIgnoreCase("Pendiente")) {
-            status = "Pendiente";
-            // Si cambia de completada a otro estado, limpiar completedAt
-            if (task.getStatus().equals("Completada")) {
-                task.setCompletedAt(null);
+        // Con ids de secuencia y hibernate.jdbc.batch_size, los INSERT/UPDATE/DELETE
+        // se envían agrupados al hacer flush
+        if (!toCreate.isEmpty()) {
+            List<Task> created = taskRepository.saveAll(toCreate);
+            for (int j = 0; j < created.size(); j++) {
+                int index = createIndexes.get(j);
+                results[index] = batchSuccess(index, "create", created.get(j));
             }
-        } else if (statusValue.equalsIgnoreCase("En progreso")) {
-            status = "En progreso";
-            // Si cambia de completada a otro estado, limpiar completedAt
-            if (task.getStatus().equals("Completada")) {
-                task.setCompletedAt(null);
-            }
-        } else if (statusValue.equalsIgnoreCase("Completada")) {
-            status = "Completada";
-            // Si se marca como completada, registrar la fecha y hora exacta
-            if (task.getCompletedAt() == null) {
-                task.setCompletedAt(OffsetDateTime.now());
+            eventPublisher.publishEvent(new TaskChangedEvent(userId, TaskChangedEvent.CREATED,
+                    created.stream().map(Task::getId).collect(Collectors.toList())));
+        }
+
+        if (!toDelete.isEmpty()) {
+            List<Long> deleteIds = toDelete.stream().map(Task::getId).collect(Collectors.toList());
+            List<Long> deletedAlertIds = alertRepository.findIdsByTaskIdIn(deleteIds);
+            alertRepository.deleteByTaskIdIn(deleteIds);
+            taskRepository.deleteAll(toDelete);
+            tombstoneRecorder.recordDeletions(userId, SyncTombstone.TYPE_ALERT, deletedAlertIds);
+            tombstoneRecorder.recordDeletions(userId, SyncTombstone.TYPE_TASK, deleteIds);
+            deleteIds.forEach(dueDateChanges::remove);
+            deleteIds.forEach(updatedIds::remove);
+            eventPublisher.publishEvent(new TaskChangedEvent(userId, TaskChangedEvent.DELETED, deleteIds));
+        }
+
+        // Las alertas de las tareas cuya fecha de entrega cambió se reprograman con una sentencia por tarea
+        dueDateChanges.forEach(alertRescheduleService::rescheduleTask);
+
+        statusCounterService.record(userId, statusDelta);
+        if (!updatedIds.isEmpty()) {
+            eventPublisher.publishEvent(new TaskChangedEvent(userId, TaskChangedEvent.UPDATED, new ArrayList<>(updatedIds)));
+        }
+
+        List<BatchTaskResult> resultList = Arrays.asList(results);
+        int succeeded = (int) resultList.stream().filter(BatchTaskResult::isSuccess).count();
+
+        return BatchTaskResponse.builder()
+                .results(resultList)
+                .succeeded(succeeded)
+                .failed(resultList.size() - succeeded)
+                .build();
+    }
+
+    private Task requireOwnedTask(Map<Long, Task> ownedTasks, Long taskId) {
+        Task task = taskId != null ? ownedTasks.get(taskId) : null;
+        if (task == null) {
+            throw new AuthenticationException("Tarea no encontrada");
+        }
+        return task;
+    }
+
+    private BatchTaskResult batchSuccess(int index, String op, Task task) {
+        return BatchTaskResult.builder()
+                .index(index)
+                .op(op)
+                .id(task.getId())
+                .success(true)
+                .task(mapToResponse(task))
+                .build();
+    }
+
+    private TaskSearchCriteria buildSearchCriteria(TaskListRequest request) {
+        // Validar estado y prioridad si se proporcionan
+        TaskStatus status = null;
+        if (request.getStatus() != null && !request.getStatus().trim().isEmpty()) {
+            status = TaskValidation.parseStatus(request.getStatus());
+        }
+
+        TaskPriority priority = null;
+        if (request.getPriority() != null && !request.getPriority().trim().isEmpty()) {
+            priority = TaskPriority.fromLabel(request.getPriority());
+            if (priority == null) {
+                throw new BusinessException("Prioridad no válida");
             }
-        } else {
-            throw new BusinessException("Estado no válido");
         }
 
-        // Actualizar estado y fecha de actualización
-        task.setStatus(status);
-        task.setUpdatedAt(OffsetDateTime.now());
+        String course = request.getCourse() != null && !request.getCourse().trim().isEmpty()
+                ? request.getCourse().trim() : null;
+        String title = request.getTitle() != null && !request.getTitle().trim().isEmpty()
+                ? request.getTitle().trim() : null;
 
-        Task updatedTask = taskRepository.save(task);
+        TaskSortField sortField = TaskSortField.fromKey(request.getSortBy());
+        boolean descending = "desc".equalsIgnoreCase(request.getSortOrder());
 
-        return mapToResponse(updatedTask);
+        int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_PAGE_SIZE;
+        limit = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // El cursor solo es válido con el mismo ordenamiento con el que se generó
+        TaskCursor cursor = null;
+        if (request.getCursor() != null && !request.getCursor().trim().isEmpty()) {
+            cursor = TaskCursor.decode(request.getCursor().trim());
+            if (cursor.getSortField() != sortField || cursor.isDescending() != descending) {
+                throw new BusinessException("El cursor no corresponde al ordenamiento solicitado");
+            }
+        }
+
+        return TaskSearchCriteria.builder()
+                .status(status)
+                .priority(priority)
+                .course(course)
+                .title(title)
+                .sortField(sortField)
+                .descending(descending)
+                .cursor(cursor)
+                .limit(limit)
+                .includeArchived(request.isIncludeArchived())
+                .build();
     }
 
-    private TaskResponse mapToResponse(Task task) {
+    public TaskResponse mapToResponse(Task task) {
         return TaskResponse.builder()
                 .id(task.getId())
                 .title(task.getTitle())
                 .description(task.getDescription())
                 .dueDate(task.getDueDate())
-                .priority(task.getPriority())
+                .priority(TaskPriority.labelOf(task.getPriority()))
                 .course(task.getCourse())
-                .status(task.getStatus())
+                .status(task.getStatus().getLabel())
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
                 .completedAt(task.getCompletedAt())
+                .version(task.getVersion())
                 .build();
     }
 }
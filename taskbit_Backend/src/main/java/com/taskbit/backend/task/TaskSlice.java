@@ -0,0 +1,17 @@
+package com.taskbit.backend.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Resultado de una consulta paginada: las tareas de la página y el cursor
+ * para pedir la siguiente ({@code null} si no hay más).
+ */
+@Getter
+@AllArgsConstructor
+public class TaskSlice {
+    private final List<Task> tasks;
+    private final TaskCursor nextCursor;
+}
@@ -0,0 +1,36 @@
+package com.taskbit.backend.task;
+
+import com.taskbit.backend.exception.BusinessException;
+
+/**
+ * Criterios de ordenamiento soportados por el listado de tareas.
+ * La clave coincide con los valores que envía el frontend en {@code sortBy}.
+ */
+public enum TaskSortField {
+    NONE("none"),
+    DUE_DATE("dueDate"),
+    PRIORITY("priority"),
+    TITLE("title");
+
+    private final String key;
+
+    TaskSortField(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static TaskSortField fromKey(String key) {
+        if (key == null || key.trim().isEmpty()) {
+            return NONE;
+        }
+        for (TaskSortField field : values()) {
+            if (field.key.equalsIgnoreCase(key.trim())) {
+                return field;
+            }
+        }
+        throw new BusinessException("Criterio de ordenamiento no válido");
+    }
+}
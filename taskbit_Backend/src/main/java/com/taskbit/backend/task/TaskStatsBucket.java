@@ -0,0 +1,20 @@
+package com.taskbit.backend.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Agregados de las tareas de un usuario para una combinación de curso y prioridad.
+ * completionSeconds suma (completedAt - createdAt) de las completadas con ambas fechas,
+ * que son las que cuenta completionSamples.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskStatsBucket {
+    private final String course;
+    private final TaskPriority priority;
+    private final long total;
+    private final long completed;
+    private final double completionSeconds;
+    private final long completionSamples;
+}
@@ -0,0 +1,119 @@
+package com.taskbit.backend.task;
+
+import com.taskbit.backend.task.dto.TaskStatsBreakdown;
+import com.taskbit.backend.task.dto.TaskStatsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estadísticas de productividad de un usuario. Los agregados por curso y prioridad vienen
+ * ya calculados por la base de datos (ver {@link TaskStatsSource}); aquí solo se suman
+ * unas pocas filas. Las vencidas dependen de la fecha actual, así que se cuentan al vuelo.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskStatsService {
+    private final TaskStatsSource taskStatsSource;
+    private final TaskRepository taskRepository;
+
+    @Transactional(readOnly = true)
+    public TaskStatsResponse getStats(Long userId) {
+        List<TaskStatsBucket> buckets = taskStatsSource.buckets(userId);
+        List<Object[]> overdueRows = taskRepository.countOverdue(userId, LocalDate.now(), TaskStatus.COMPLETADA);
+
+        Accumulator overall = new Accumulator(null);
+        Map<String, Accumulator> byCourse = new LinkedHashMap<>();
+        Map<TaskPriority, Accumulator> byPriority = new LinkedHashMap<>();
+
+        for (TaskStatsBucket bucket : buckets) {
+            overall.add(bucket);
+            byCourse.computeIfAbsent(bucket.getCourse(), Accumulator::new).add(bucket);
+            byPriority.computeIfAbsent(bucket.getPriority(), priority -> new Accumulator(TaskPriority.labelOf(priority))).add(bucket);
+        }
+        for (Object[] row : overdueRows) {
+            long overdue = ((Number) row[2]).longValue();
+            overall.overdue += overdue;
+            byCourse.computeIfAbsent((String) row[0], Accumulator::new).overdue += overdue;
+            TaskPriority priority = (TaskPriority) row[1];
+            byPriority.computeIfAbsent(priority, key -> new Accumulator(TaskPriority.labelOf(key))).overdue += overdue;
+        }
+
+        // Cursos con más tareas primero; prioridades de alta a baja y sin prioridad al final
+        List<TaskStatsBreakdown> courses = toBreakdowns(byCourse,
+                Comparator.comparingLong((Accumulator accumulator) -> accumulator.total).reversed());
+        List<TaskStatsBreakdown> priorities = toBreakdowns(byPriority,
+                Comparator.comparingInt((Accumulator accumulator) -> priorityOrder(accumulator.key)));
+
+        return TaskStatsResponse.builder()
+                .total(overall.total)
+                .completed(overall.completed)
+                .completionRate(overall.completionRate())
+                .averageCompletionHours(overall.averageCompletionHours())
+                .overdue(overall.overdue)
+                .byCourse(courses)
+                .byPriority(priorities)
+                .build();
+    }
+
+    private <K> List<TaskStatsBreakdown> toBreakdowns(Map<K, Accumulator> groups, Comparator<Accumulator> order) {
+        List<Accumulator> accumulators = new ArrayList<>(groups.values());
+        accumulators.sort(order);
+        List<TaskStatsBreakdown> breakdowns = new ArrayList<>(accumulators.size());
+        for (Accumulator accumulator : accumulators) {
+            breakdowns.add(accumulator.toBreakdown());
+        }
+        return breakdowns;
+    }
+
+    private static int priorityOrder(String label) {
+        TaskPriority priority = TaskPriority.fromLabel(label);
+        return priority != null ? -priority.getCode() : 0;
+    }
+
+    private static class Accumulator {
+        private final String key;
+        private long total;
+        private long completed;
+        private double completionSeconds;
+        private long completionSamples;
+        private long overdue;
+
+        Accumulator(String key) {
+            this.key = key;
+        }
+
+        void add(TaskStatsBucket bucket) {
+            total += bucket.getTotal();
+            completed += bucket.getCompleted();
+            completionSeconds += bucket.getCompletionSeconds();
+            completionSamples += bucket.getCompletionSamples();
+        }
+
+        double completionRate() {
+            return total > 0 ? (double) completed / total : 0;
+        }
+
+        Double averageCompletionHours() {
+            return completionSamples > 0 ? completionSeconds / completionSamples / 3600 : null;
+        }
+
+        TaskStatsBreakdown toBreakdown() {
+            return TaskStatsBreakdown.builder()
+                    .key(key)
+                    .total(total)
+                    .completed(completed)
+                    .completionRate(completionRate())
+                    .averageCompletionHours(averageCompletionHours())
+                    .overdue(overdue)
+                    .build();
+        }
+    }
+}
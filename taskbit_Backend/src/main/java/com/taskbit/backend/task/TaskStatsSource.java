@@ -0,0 +1,11 @@
+package com.taskbit.backend.task;
+
+import java.util.List;
+
+/**
+ * Origen de los agregados por curso y prioridad de las tareas de un usuario.
+ * La implementación se elige según la base de datos (ver {@link TaskVendorConfig}).
+ */
+public interface TaskStatsSource {
+    List<TaskStatsBucket> buckets(Long userId);
+}
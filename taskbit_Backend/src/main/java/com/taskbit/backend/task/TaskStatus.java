@@ -0,0 +1,89 @@
+package com.taskbit.backend.task;
+
+import lombok.Getter;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Estados de una tarea. En la base de datos se guarda el código (smallint, ver
+ * TaskStatusConverter); la API sigue usando la etiqueta.
+ */
+@Getter
+public enum TaskStatus {
+    PENDIENTE((short) 0, "Pendiente"),
+    EN_PROGRESO((short) 1, "En progreso"),
+    COMPLETADA((short) 2, "Completada");
+
+    private static final TaskStatus[] BY_CODE = values();
+
+    // Efecto de cada transición [origen][destino] sobre completedAt
+    private static final CompletedAtEffect[][] TRANSITIONS = new CompletedAtEffect[BY_CODE.length][BY_CODE.length];
+
+    static {
+        for (TaskStatus from : BY_CODE) {
+            for (TaskStatus to : BY_CODE) {
+                CompletedAtEffect effect;
+                if (to == COMPLETADA) {
+                    effect = CompletedAtEffect.STAMP;
+                } else if (from == COMPLETADA) {
+                    effect = CompletedAtEffect.CLEAR;
+                } else {
+                    effect = CompletedAtEffect.KEEP;
+                }
+                TRANSITIONS[from.code][to.code] = effect;
+            }
+        }
+    }
+
+    private final short code;
+    private final String label;
+
+    TaskStatus(short code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public static TaskStatus fromCode(short code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Código de estado desconocido: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * Estado con la etiqueta indicada, sin distinguir mayúsculas; null si no corresponde a ninguno.
+     */
+    public static TaskStatus fromLabel(String label) {
+        if (label == null) {
+            return null;
+        }
+        String value = label.trim();
+        for (TaskStatus status : BY_CODE) {
+            if (status.label.equalsIgnoreCase(value)) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cambia el estado de la tarea aplicando el efecto de la transición sobre completedAt:
+     * se registra al completar (si no estaba ya) y se limpia al salir de Completada.
+     */
+    public static void transition(Task task, TaskStatus target, OffsetDateTime now) {
+        switch (TRANSITIONS[task.getStatus().code][target.code]) {
+            case STAMP -> {
+                if (task.getCompletedAt() == null) {
+                    task.setCompletedAt(now);
+                }
+            }
+            case CLEAR -> task.setCompletedAt(null);
+            case KEEP -> { }
+        }
+        task.setStatus(target);
+    }
+
+    private enum CompletedAtEffect {
+        KEEP, STAMP, CLEAR
+    }
+}
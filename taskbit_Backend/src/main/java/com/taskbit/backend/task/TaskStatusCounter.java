@@ -0,0 +1,26 @@
+package com.taskbit.backend.task;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "task_status_counter")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskStatusCounter {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private int pending;
+
+    @Column(name = "in_progress", nullable = false)
+    private int inProgress;
+
+    @Column(nullable = false)
+    private int completed;
+}
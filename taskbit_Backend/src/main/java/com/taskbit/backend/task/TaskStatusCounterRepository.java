@@ -0,0 +1,27 @@
+package com.taskbit.backend.task;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskStatusCounterRepository extends JpaRepository<TaskStatusCounter, Long> {
+
+    // Actualización atómica en base de datos para no perder incrementos concurrentes
+    @Modifying
+    @Query("UPDATE TaskStatusCounter c SET c.pending = c.pending + :pending, " +
+            "c.inProgress = c.inProgress + :inProgress, c.completed = c.completed + :completed " +
+            "WHERE c.userId = :userId")
+    int adjust(@Param("userId") Long userId,
+               @Param("pending") int pending,
+               @Param("inProgress") int inProgress,
+               @Param("completed") int completed);
+
+    // Recuento completo, solo para reconstruir el contador si aún no existe (incluye las archivadas)
+    @Query("SELECT t.status, COUNT(t) FROM TaskWithArchive t WHERE t.user.id = :userId GROUP BY t.status")
+    List<Object[]> countByStatus(@Param("userId") Long userId);
+}
@@ -0,0 +1,115 @@
+package com.taskbit.backend.task;
+
+import com.taskbit.backend.task.dto.TaskCountsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Mantiene los contadores de tareas por estado de cada usuario.
+ * Se invoca dentro de la transacción de la operación que cambia las tareas,
+ * de modo que contador y tareas se confirman o se revierten juntos.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskStatusCounterService {
+    private final TaskStatusCounterRepository counterRepository;
+    private final TaskStatusCounterUpsert counterUpsert;
+
+    /**
+     * Registra un cambio de estado. {@code oldStatus} es null al crear y
+     * {@code newStatus} es null al eliminar.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(Long userId, TaskStatus oldStatus, TaskStatus newStatus) {
+        StatusDelta delta = new StatusDelta();
+        delta.transition(oldStatus, newStatus);
+        record(userId, delta);
+    }
+
+    /**
+     * Aplica varios cambios acumulados en una sola sentencia (operaciones en lote).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long userId, StatusDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        int updated = counterRepository.adjust(userId, delta.counts[0], delta.counts[1], delta.counts[2]);
+        if (updated == 0) {
+            // Usuario sin contador todavía: se construye a partir del estado actual, que ya
+            // incluye la operación en curso. Si otra transacción lo crea antes, solo se suma el cambio
+            TaskStatusCounter counter = rebuild(userId);
+            counterUpsert.upsert(userId,
+                    new int[]{counter.getPending(), counter.getInProgress(), counter.getCompleted()},
+                    delta.counts);
+        }
+    }
+
+    @Transactional
+    public void initialize(Long userId) {
+        if (!counterRepository.existsById(userId)) {
+            counterRepository.save(TaskStatusCounter.builder().userId(userId).build());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public TaskCountsResponse getCounts(Long userId) {
+        TaskStatusCounter counter = counterRepository.findById(userId)
+                .orElseGet(() -> rebuild(userId));
+
+        return TaskCountsResponse.builder()
+                .pending(counter.getPending())
+                .inProgress(counter.getInProgress())
+                .completed(counter.getCompleted())
+                .total(counter.getPending() + counter.getInProgress() + counter.getCompleted())
+                .build();
+    }
+
+    private TaskStatusCounter rebuild(Long userId) {
+        int[] counts = new int[3];
+        List<Object[]> rows = counterRepository.countByStatus(userId);
+        for (Object[] row : rows) {
+            apply(counts, (TaskStatus) row[0], ((Number) row[1]).intValue());
+        }
+        return TaskStatusCounter.builder()
+                .userId(userId)
+                .pending(counts[0])
+                .inProgress(counts[1])
+                .completed(counts[2])
+                .build();
+    }
+
+    // El código del estado es también su posición en el arreglo de contadores
+    private static void apply(int[] counts, TaskStatus status, int amount) {
+        if (status != null) {
+            counts[status.getCode()] += amount;
+        }
+    }
+
+    /**
+     * Acumulador de cambios de estado para aplicarlos al contador de una vez.
+     */
+    public static class StatusDelta {
+        private final int[] counts = new int[3];
+
+        public void transition(TaskStatus oldStatus, TaskStatus newStatus) {
+            if (oldStatus == newStatus) {
+                return;
+            }
+            apply(counts, oldStatus, -1);
+            apply(counts, newStatus, 1);
+        }
+
+        public void add(TaskStatus status, int amount) {
+            apply(counts, status, amount);
+        }
+
+        public boolean isEmpty() {
+            return counts[0] == 0 && counts[1] == 0 && counts[2] == 0;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.taskbit.backend.task;
+
+/**
+ * Alta del contador de un usuario en una sola sentencia: inserta la fila con {@code initial}
+ * o, si otra transacción la creó antes, le suma {@code delta}. Así dos primeras escrituras
+ * concurrentes no chocan en la clave primaria.
+ */
+interface TaskStatusCounterUpsert {
+
+    void upsert(Long userId, int[] initial, int[] delta);
+}
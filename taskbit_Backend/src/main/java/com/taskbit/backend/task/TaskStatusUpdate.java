@@ -0,0 +1,15 @@
+package com.taskbit.backend.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Resultado de un cambio de estado: la tarea ya actualizada y el estado que tenía antes,
+ * necesario para ajustar los contadores.
+ */
+@Getter
+@AllArgsConstructor
+class TaskStatusUpdate {
+    private final TaskStatus previousStatus;
+    private final Task task;
+}
@@ -0,0 +1,12 @@
+package com.taskbit.backend.task;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Cambio de estado de una tarea en una sola operación condicional sobre id, usuario y
+ * (si se indica) versión. Devuelve null cuando ninguna fila cumple las condiciones.
+ */
+interface TaskStatusUpdater {
+
+    TaskStatusUpdate update(Long taskId, Long userId, Long expectedVersion, TaskStatus status, OffsetDateTime now);
+}
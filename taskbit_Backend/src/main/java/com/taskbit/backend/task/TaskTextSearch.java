@@ -0,0 +1,13 @@
+package com.taskbit.backend.task;
+
+import com.taskbit.backend.task.dto.TaskSearchResponse;
+
+import java.util.List;
+
+/**
+ * Búsqueda de texto sobre título y descripción de las tareas de un usuario.
+ * La implementación se elige según la base de datos (ver {@link TaskVendorConfig}).
+ */
+public interface TaskTextSearch {
+    List<TaskSearchResponse> search(Long userId, String query, int limit);
+}
@@ -0,0 +1,62 @@
+package com.taskbit.backend.task;
+
+import com.taskbit.backend.exception.AuthenticationException;
+import com.taskbit.backend.exception.BusinessException;
+
+import java.time.LocalDate;
+
+/**
+ * Reglas de validación de los campos de una tarea, compartidas por la creación,
+ * la edición, las operaciones en lote y la importación.
+ */
+final class TaskValidation {
+
+    // Longitudes de las columnas task.title y task.course
+    static final int TITLE_MAX_LENGTH = 200;
+    static final int COURSE_MAX_LENGTH = 100;
+
+    private TaskValidation() {
+    }
+
+    static void validateFields(String title, LocalDate dueDate) {
+        // Validar título
+        if (title == null || title.trim().isEmpty()) {
+            throw new AuthenticationException("Campos obligatorios incompletos");
+        }
+
+        // Validar fecha de entrega si se proporciona (debe ser después de hoy, no igual)
+        if (dueDate != null && !dueDate.isAfter(LocalDate.now())) {
+            throw new AuthenticationException("La fecha límite debe ser futura");
+        }
+    }
+
+    static void validateLengths(String title, String course) {
+        // Se mide el texto recortado, que es el que se guarda
+        if (title != null && title.trim().length() > TITLE_MAX_LENGTH) {
+            throw new BusinessException("El título no puede superar " + TITLE_MAX_LENGTH + " caracteres");
+        }
+        if (course != null && course.trim().length() > COURSE_MAX_LENGTH) {
+            throw new BusinessException("El curso no puede superar " + COURSE_MAX_LENGTH + " caracteres");
+        }
+    }
+
+    static TaskPriority parsePriority(String priority) {
+        // La prioridad es opcional
+        if (priority == null || priority.trim().isEmpty()) {
+            return null;
+        }
+        TaskPriority parsed = TaskPriority.fromLabel(priority);
+        if (parsed == null) {
+            throw new AuthenticationException("Prioridad no válida");
+        }
+        return parsed;
+    }
+
+    static TaskStatus parseStatus(String status) {
+        TaskStatus parsed = TaskStatus.fromLabel(status);
+        if (parsed == null) {
+            throw new BusinessException("Estado no válido");
+        }
+        return parsed;
+    }
+}
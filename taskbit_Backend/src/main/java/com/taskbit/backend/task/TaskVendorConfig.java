@@ -0,0 +1,72 @@
+package com.taskbit.backend.task;
+
+import com.taskbit.backend.config.DatabaseVendor;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Elige las implementaciones que dependen de la base de datos: las de PostgreSQL
+ * usan funciones propias (tsvector, COPY, UPDATE ... RETURNING, ON CONFLICT) y el resto cae en versiones portables (H2 en pruebas).
+ */
+@Configuration
+@Slf4j
+public class TaskVendorConfig {
+
+    @Bean
+    public TaskTextSearch taskTextSearch(DataSource dataSource, EntityManager entityManager) {
+        if (DatabaseVendor.isPostgres(dataSource)) {
+            return new PostgresTaskTextSearch(entityManager);
+        }
+        log.info("Base de datos sin tsvector: búsqueda de tareas con LIKE");
+        return new LikeTaskTextSearch(entityManager);
+    }
+
+    @Bean
+    public TaskBulkLoader taskBulkLoader(DataSource dataSource, EntityManager entityManager) {
+        if (DatabaseVendor.isPostgres(dataSource)) {
+            return new PostgresCopyTaskLoader(dataSource);
+        }
+        log.info("Base de datos sin COPY: importación de tareas con inserciones en lote");
+        return new JpaBatchTaskLoader(entityManager);
+    }
+
+    @Bean
+    public TaskStatusUpdater taskStatusUpdater(DataSource dataSource, EntityManager entityManager) {
+        if (DatabaseVendor.isPostgres(dataSource)) {
+            return new PostgresTaskStatusUpdater(entityManager);
+        }
+        log.info("Base de datos sin UPDATE ... RETURNING: cambio de estado con lectura y escritura");
+        return new JpaTaskStatusUpdater(entityManager);
+    }
+
+    @Bean
+    public TaskStatsSource taskStatsSource(DataSource dataSource, EntityManager entityManager) {
+        if (DatabaseVendor.isPostgres(dataSource)) {
+            return new SummaryTableTaskStatsSource(entityManager);
+        }
+        log.info("Base de datos sin tabla de resumen: estadísticas de tareas con GROUP BY sobre task");
+        return new JpqlTaskStatsSource(entityManager);
+    }
+
+    @Bean
+    public TaskArchiveStorage taskArchiveStorage(DataSource dataSource, EntityManager entityManager) {
+        if (DatabaseVendor.isPostgres(dataSource)) {
+            return new PartitionedTaskArchiveStorage(entityManager);
+        }
+        log.info("Base de datos sin particiones: archivo de tareas en tablas simples");
+        return new PlainTaskArchiveStorage(entityManager);
+    }
+
+    @Bean
+    public TaskStatusCounterUpsert taskStatusCounterUpsert(DataSource dataSource, EntityManager entityManager) {
+        if (DatabaseVendor.isPostgres(dataSource)) {
+            return new PostgresTaskStatusCounterUpsert(entityManager);
+        }
+        log.info("Base de datos sin ON CONFLICT: alta de contadores con MERGE");
+        return new MergeTaskStatusCounterUpsert(entityManager);
+    }
+}
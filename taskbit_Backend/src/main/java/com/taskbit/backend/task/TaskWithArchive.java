@@ -0,0 +1,81 @@
+package com.taskbit.backend.task;
+
+import com.taskbit.backend.user.AppUser;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Vista de solo lectura sobre task y task_archive (UNION ALL) para las consultas con
+ * includeArchived=true. Los filtros por usuario llegan a las dos ramas, así que cada una
+ * se resuelve con sus propios índices (user_id, ...).
+ */
+@Entity
+@Immutable
+@Subselect("""
+        SELECT id, user_id, title, description, due_date, priority, course, status,
+               created_at, updated_at, completed_at, version
+        FROM task
+        UNION ALL
+        SELECT id, user_id, title, description, due_date, priority, course, status,
+               created_at, updated_at, completed_at, version
+        FROM task_archive
+        """)
+@Synchronize({"task", "task_archive"})
+@Getter
+@NoArgsConstructor
+public class TaskWithArchive {
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private AppUser user;
+
+    private String title;
+
+    private String description;
+
+    private LocalDate dueDate;
+
+    @Convert(converter = TaskPriorityConverter.class)
+    private TaskPriority priority;
+
+    private String course;
+
+    @Convert(converter = TaskStatusConverter.class)
+    private TaskStatus status;
+
+    @Column(name = "created_at")
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private OffsetDateTime completedAt;
+
+    private Long version;
+
+    // Copia desacoplada para reutilizar el mapeo a TaskResponse; no debe guardarse
+    public Task toTask() {
+        return Task.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .dueDate(dueDate)
+                .priority(priority)
+                .course(course)
+                .status(status)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .completedAt(completedAt)
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.taskbit.backend.task;
+
+import org.springframework.data.repository.Repository;
+
+import java.util.Optional;
+
+// Solo lectura: TaskWithArchive es una vista sobre task y task_archive
+public interface TaskWithArchiveRepository extends Repository<TaskWithArchive, Long> {
+    // Búsqueda con verificación de pertenencia, incluyendo las tareas archivadas
+    Optional<TaskWithArchive> findByIdAndUserId(Long id, Long userId);
+}
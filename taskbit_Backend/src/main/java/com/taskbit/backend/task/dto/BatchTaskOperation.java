@@ -0,0 +1,26 @@
+package com.taskbit.backend.task.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class BatchTaskOperation {
+    @NotBlank(message = "La operación es obligatoria")
+    private String op; // create, update, status, delete
+
+    private Long id; // obligatorio salvo en create
+
+    private String title;
+
+    private String description;
+
+    private LocalDate dueDate;
+
+    private String priority;
+
+    private String course;
+
+    private String status;
+}
@@ -0,0 +1,16 @@
+package com.taskbit.backend.task.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchTaskRequest {
+    @NotEmpty(message = "Debe enviar al menos una operación")
+    @Size(max = 500, message = "No se pueden enviar más de 500 operaciones por lote")
+    @Valid
+    private List<BatchTaskOperation> operations;
+}
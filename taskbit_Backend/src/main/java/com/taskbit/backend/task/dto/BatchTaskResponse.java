@@ -0,0 +1,18 @@
+package com.taskbit.backend.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTaskResponse {
+    private List<BatchTaskResult> results;
+    private int succeeded;
+    private int failed;
+}
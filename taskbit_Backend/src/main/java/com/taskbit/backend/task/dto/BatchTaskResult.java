@@ -0,0 +1,19 @@
+package com.taskbit.backend.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTaskResult {
+    private int index;        // posición de la operación en la petición
+    private String op;
+    private Long id;
+    private boolean success;
+    private String message;   // motivo del fallo, si lo hay
+    private TaskResponse task; // estado resultante (null en delete o si falla)
+}
@@ -0,0 +1,22 @@
+package com.taskbit.backend.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCalendarDay {
+    private LocalDate date;
+    private int pending;     // Pendiente
+    private int inProgress;  // En progreso
+    private int completed;   // Completada
+    private int total;
+    private List<TaskResponse> tasks; // las primeras tareas del día; total indica cuántas hay
+}
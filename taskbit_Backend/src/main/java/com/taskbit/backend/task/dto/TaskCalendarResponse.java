@@ -0,0 +1,19 @@
+package com.taskbit.backend.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCalendarResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private List<TaskCalendarDay> days; // solo los días con tareas, en orden de fecha
+}
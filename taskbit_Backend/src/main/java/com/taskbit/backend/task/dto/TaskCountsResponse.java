@@ -0,0 +1,17 @@
+package com.taskbit.backend.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCountsResponse {
+    private int pending;     // Pendiente
+    private int inProgress;  // En progreso
+    private int completed;   // Completada
+    private int total;
+}
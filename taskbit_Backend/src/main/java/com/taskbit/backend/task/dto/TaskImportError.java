@@ -0,0 +1,15 @@
+package com.taskbit.backend.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportError {
+    private long row; // número de registro en el archivo (1 = primera fila de datos)
+    private String message;
+}
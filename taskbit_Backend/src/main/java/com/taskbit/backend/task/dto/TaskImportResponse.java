@@ -0,0 +1,20 @@
+package com.taskbit.backend.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportResponse {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private List<TaskImportError> errors;
+    private boolean errorsTruncated; // true si hubo más errores de los que se devuelven
+}
@@ -0,0 +1,24 @@
+package com.taskbit.backend.task.dto;
+
+import lombok.Data;
+
+@Data
+public class TaskListRequest {
+    private String status;
+
+    private String priority;
+
+    private String course;
+
+    private String title; // búsqueda parcial, sin distinguir mayúsculas
+
+    private String sortBy = "none"; // none, dueDate, priority, title
+
+    private String sortOrder = "asc"; // asc, desc
+
+    private String cursor; // token opaco devuelto en nextCursor
+
+    private Integer limit;
+
+    private boolean includeArchived; // también las tareas movidas al archivo
+}
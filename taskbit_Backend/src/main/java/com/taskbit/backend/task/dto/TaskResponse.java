@@ -23,6 +23,8 @@ public class TaskResponse {
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
     private OffsetDateTime completedAt;
+    // Versión para el control de concurrencia optimista (enviarla en PUT/PATCH)
+    private Long version;
 }
 
 
@@ -0,0 +1,23 @@
+package com.taskbit.backend.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSearchResponse {
+    private Long id;
+    private String title;
+    private String status;
+    private LocalDate dueDate;
+    private String course;
+    private double rank;
+    private String titleHighlight;       // título con coincidencias entre <mark></mark>
+    private String descriptionHighlight; // fragmento de la descripción con coincidencias
+}
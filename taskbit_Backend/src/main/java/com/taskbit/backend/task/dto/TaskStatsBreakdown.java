@@ -0,0 +1,19 @@
+package com.taskbit.backend.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsBreakdown {
+    private String key;                     // curso o prioridad; null = sin curso / sin prioridad
+    private long total;
+    private long completed;
+    private double completionRate;          // completadas / total (0 a 1)
+    private Double averageCompletionHours;  // null si no hay completadas con fechas
+    private long overdue;                   // vencidas sin completar
+}
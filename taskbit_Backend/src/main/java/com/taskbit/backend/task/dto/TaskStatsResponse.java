@@ -0,0 +1,22 @@
+package com.taskbit.backend.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsResponse {
+    private long total;
+    private long completed;
+    private double completionRate;
+    private Double averageCompletionHours;
+    private long overdue;
+    private List<TaskStatsBreakdown> byCourse;
+    private List<TaskStatsBreakdown> byPriority;
+}
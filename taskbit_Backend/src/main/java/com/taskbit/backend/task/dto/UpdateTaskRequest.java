@@ -21,6 +21,9 @@ public class UpdateTaskRequest {
 
     @Pattern(regexp = "^(Pendiente|En progreso|Completada)$", message = "Estado no válido", flags = Pattern.Flag.CASE_INSENSITIVE)
     private String status;
+
+    // Opcional: si se envía, la edición solo se aplica si la tarea sigue en esa versión (409 si no)
+    private Long version;
 }
 
 
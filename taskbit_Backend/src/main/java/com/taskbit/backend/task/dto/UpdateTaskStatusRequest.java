@@ -9,5 +9,8 @@ public class UpdateTaskStatusRequest {
     @NotBlank(message = "El estado es obligatorio")
     @Pattern(regexp = "^(Pendiente|En progreso|Completada)$", message = "Estado no válido", flags = Pattern.Flag.CASE_INSENSITIVE)
     private String status;
+
+    // Opcional: si se envía, el cambio solo se aplica si la tarea sigue en esa versión (409 si no)
+    private Long version;
 }
 
@@ -1,5 +1,7 @@
 package com.taskbit.backend.user;
 
+import com.taskbit.backend.config.CacheConfig;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -7,5 +9,7 @@ import java.util.Optional;
 
 @Repository
 public interface AppUserRepository extends JpaRepository<AppUser, Long> {
+    // Solo se cachean los usuarios encontrados; UserService desaloja la entrada al modificarlos
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_EMAIL, unless = "#result == null")
     Optional<AppUser> findByEmail(String email);
-}
\ No newline at end of file
+}
@@ -0,0 +1,2 @@
+-- Alertas por estado y hora programada: precarga del despachador (rango sobre las activas)
+CREATE INDEX IF NOT EXISTS ix_alert_status_scheduled_for ON alert (status, scheduled_for, id);
@@ -0,0 +1,19 @@
+-- Cola de trabajos en segundo plano (ver JobQueue y JobWorker)
+CREATE TABLE IF NOT EXISTS job (
+    id BIGSERIAL PRIMARY KEY,
+    type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDIENTE', -- PENDIENTE, EN_CURSO, COMPLETADO, FALLIDO
+    attempts INTEGER NOT NULL DEFAULT 0,
+    max_attempts INTEGER NOT NULL DEFAULT 5,
+    run_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    locked_by VARCHAR(100),
+    locked_until TIMESTAMP WITH TIME ZONE,
+    last_error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Trabajos listos y concesiones vencidas: las dos ramas del reclamo
+CREATE INDEX IF NOT EXISTS ix_job_status_run_at ON job (status, run_at);
+CREATE INDEX IF NOT EXISTS ix_job_status_locked_until ON job (status, locked_until);
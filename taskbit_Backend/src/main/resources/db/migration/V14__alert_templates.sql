@@ -0,0 +1,15 @@
+-- Plantillas de alertas reutilizables: un nombre y una lista ordenada de tiempos de aviso
+CREATE TABLE IF NOT EXISTS alert_template (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES app_user(id),
+    name VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT ux_alert_template_name UNIQUE (user_id, name)
+);
+
+CREATE TABLE IF NOT EXISTS alert_template_time_before (
+    template_id BIGINT NOT NULL REFERENCES alert_template(id) ON DELETE CASCADE,
+    item_order INTEGER NOT NULL,
+    time_before VARCHAR(50) NOT NULL,
+    PRIMARY KEY (template_id, item_order)
+);
@@ -0,0 +1,16 @@
+-- Desfase de cada alerta en minutos respecto a la medianoche (UTC) del día de entrega.
+-- La reprogramación recalcula scheduled_for con él sin volver a interpretar time_before.
+ALTER TABLE alert ADD COLUMN IF NOT EXISTS offset_minutes INTEGER;
+
+-- Misma interpretación que AlertService.parseTimeBefore: "N hour(s)" u "N day(s)"
+UPDATE alert
+SET offset_minutes = CAST(SUBSTRING(time_before FROM 1 FOR POSITION(' ' IN time_before) - 1) AS INTEGER)
+    * CASE WHEN LOWER(time_before) LIKE '%hour%' THEN 60 ELSE 1440 END
+WHERE offset_minutes IS NULL;
+
+ALTER TABLE alert ALTER COLUMN offset_minutes SET NOT NULL;
+
+-- Hasta ahora scheduled_for no se actualizaba al cambiar la fecha de entrega: se encola un
+-- recálculo completo (AlertRescheduleJob) para corregir las alertas activas desfasadas
+INSERT INTO job (type, payload, status, attempts, max_attempts, run_at, created_at)
+VALUES ('alert.reschedule', '{"afterId":0}', 'PENDIENTE', 0, 5, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
@@ -0,0 +1,7 @@
+-- Momento en que la alerta disparada entró en un resumen (ver AlertDigestService).
+-- El trabajo alert.digest de cada usuario agrupa las alertas ejecutadas con digested_at nulo
+-- y las marca en la misma transacción en que encola el correo: ninguna se pierde ni se repite.
+ALTER TABLE alert ADD COLUMN IF NOT EXISTS digested_at TIMESTAMP WITH TIME ZONE;
+
+-- Las alertas ya disparadas antes de esta migración no se reenvían
+UPDATE alert SET digested_at = CURRENT_TIMESTAMP WHERE status = 'ejecutada' AND digested_at IS NULL;
@@ -0,0 +1,5 @@
+-- El listado ordena por task.priority directamente, con las tareas sin prioridad como las de
+-- menor prioridad: ASC NULLS FIRST / DESC NULLS LAST. Con NULLS FIRST en el índice, los dos
+-- sentidos son un recorrido de ix_task_user_priority (hacia delante o hacia atrás) sin ordenar.
+DROP INDEX IF EXISTS ix_task_user_priority;
+CREATE INDEX IF NOT EXISTS ix_task_user_priority ON task (user_id, priority NULLS FIRST, id);
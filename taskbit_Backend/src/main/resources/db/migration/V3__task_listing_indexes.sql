@@ -0,0 +1,7 @@
+-- Índices para el listado paginado de tareas (filtros + keyset por columna de orden e id)
+CREATE INDEX IF NOT EXISTS ix_task_user_id ON task (user_id, id);
+CREATE INDEX IF NOT EXISTS ix_task_user_status ON task (user_id, status, id);
+CREATE INDEX IF NOT EXISTS ix_task_user_priority ON task (user_id, priority, id);
+CREATE INDEX IF NOT EXISTS ix_task_user_course ON task (user_id, course, id);
+CREATE INDEX IF NOT EXISTS ix_task_user_due_date ON task (user_id, due_date, id);
+CREATE INDEX IF NOT EXISTS ix_task_user_title ON task (user_id, lower(title), id);
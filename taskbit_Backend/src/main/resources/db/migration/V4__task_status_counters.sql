@@ -0,0 +1,17 @@
+-- Contadores por usuario y estado, mantenidos por TaskService en la misma transacción
+CREATE TABLE IF NOT EXISTS task_status_counter (
+    user_id BIGINT PRIMARY KEY REFERENCES app_user(id),
+    pending INTEGER NOT NULL DEFAULT 0,
+    in_progress INTEGER NOT NULL DEFAULT 0,
+    completed INTEGER NOT NULL DEFAULT 0
+);
+
+INSERT INTO task_status_counter (user_id, pending, in_progress, completed)
+SELECT u.id,
+       COALESCE(SUM(CASE WHEN t.status = 'Pendiente' THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN t.status = 'En progreso' THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN t.status = 'Completada' THEN 1 ELSE 0 END), 0)
+FROM app_user u
+LEFT JOIN task t ON t.user_id = u.id
+WHERE NOT EXISTS (SELECT 1 FROM task_status_counter c WHERE c.user_id = u.id)
+GROUP BY u.id;
@@ -0,0 +1,3 @@
+-- Columna de versión para el bloqueo optimista (@Version) de tareas y alertas
+ALTER TABLE task ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE alert ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -1,10 +1,10 @@
 package com.taskbit.backend;
 
+import com.taskbit.backend.support.ApiTestSupport;
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
-class TaskBitBackendApplicationTests {
+// Mismo contexto que los tests de endpoints: su worker de trabajos también envía al SMTP de pruebas
+class TaskBitBackendApplicationTests extends ApiTestSupport {
 
 	@Test
 	void contextLoads() {
@@ -0,0 +1,105 @@
+package com.taskbit.backend.alert;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskbit.backend.email.AlertDigestEmailJob;
+import com.taskbit.backend.job.Job;
+import com.taskbit.backend.job.JobRepository;
+import com.taskbit.backend.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AlertDigestTest extends ApiTestSupport {
+
+    @Autowired
+    private AlertDigestService alertDigestService;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Test
+    void firedAlertsAreDigestedOnceFromTheJobQueue() throws Exception {
+        String email = newEmail();
+        String auth = registerAndLogin(email);
+        long taskId = createTask(auth, "Quiz de álgebra", LocalDate.now().plusDays(1));
+        long alertId = createAlert(auth, taskId, "48 hours");
+        waitForStatus(auth, taskId, "ejecutada");
+        Long userId = alertRepository.findUserIdsByIdIn(List.of(alertId)).get(0);
+
+        // La ventana es un trabajo persistido que vence al final de taskbit.alerts.digest.window
+        List<Job> windows = jobsOf(AlertDigestJob.TYPE, "{\"userId\":" + userId + "}");
+        assertEquals(1, windows.size());
+        assertTrue(windows.get(0).getRunAt().isAfter(OffsetDateTime.now().plusMinutes(4)));
+
+        long version = alertRepository.findById(alertId).orElseThrow().getVersion();
+        alertDigestService.sendDigest(userId);
+        Alert digested = alertRepository.findById(alertId).orElseThrow();
+        assertNotNull(digested.getDigestedAt());
+        // La sincronización vuelve a enviar la alerta: tiene que llegar con otra versión
+        assertEquals(version + 1, digested.getVersion());
+        List<Job> emails = jobsOf(AlertDigestEmailJob.TYPE, email);
+        assertEquals(1, emails.size());
+        assertTrue(emails.get(0).getPayload().contains("Quiz de álgebra"));
+
+        // Otro trabajo del mismo usuario (p. ej. de otra instancia) no repite el resumen
+        alertDigestService.sendDigest(userId);
+        assertEquals(1, jobsOf(AlertDigestEmailJob.TYPE, email).size());
+    }
+
+    private List<Job> jobsOf(String type, String payloadFragment) {
+        return jobRepository.findAll().stream()
+                .filter(job -> job.getType().equals(type) && job.getPayload().contains(payloadFragment))
+                .toList();
+    }
+
+    private long createTask(String auth, String title, LocalDate dueDate) throws Exception {
+        return read(mockMvc.perform(post("/api/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("title", title, "dueDate", dueDate.toString()))))
+                .andExpect(status().isCreated())
+                .andReturn()).get("id").asLong();
+    }
+
+    private long createAlert(String auth, long taskId, String timeBefore) throws Exception {
+        return read(mockMvc.perform(post("/api/alerts")
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("taskId", taskId, "timeBefore", timeBefore))))
+                .andExpect(status().isCreated())
+                .andReturn()).get("id").asLong();
+    }
+
+    private void waitForStatus(String auth, long taskId, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            JsonNode alert = read(mockMvc.perform(get("/api/alerts/task/{taskId}", taskId)
+                            .header(HttpHeaders.AUTHORIZATION, auth))
+                    .andExpect(status().isOk())
+                    .andReturn()).get(0);
+            if (expected.equals(alert.get("status").asText())) {
+                return;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("La alerta de la tarea " + taskId + " no pasó a " + expected);
+            }
+            Thread.sleep(50);
+        }
+    }
+}
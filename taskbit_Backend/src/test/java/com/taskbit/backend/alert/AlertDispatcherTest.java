@@ -0,0 +1,74 @@
+package com.taskbit.backend.alert;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskbit.backend.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AlertDispatcherTest extends ApiTestSupport {
+
+    @Autowired
+    private AlertDispatcher alertDispatcher;
+
+    @Test
+    void staleWheelEntryDoesNotFireARescheduledAlert() throws Exception {
+        String auth = registerAndLogin();
+        long laterTaskId = createTask(auth, "Exposición");
+        long laterAlertId = createAlert(auth, laterTaskId, "24 hours");
+
+        // Como la rueda de otra instancia que aún tiene la hora anterior a una reprogramación
+        alertDispatcher.schedule(laterAlertId, OffsetDateTime.now().minusMinutes(1));
+
+        // Una alerta que sí venció, para saber cuándo el pool ya procesó los lotes
+        long dueTaskId = createTask(auth, "Quiz", LocalDate.now().plusDays(1));
+        createAlert(auth, dueTaskId, "48 hours");
+        waitForStatus(auth, dueTaskId, "ejecutada");
+
+        assertEquals("activa", alertOf(auth, laterTaskId).get("status").asText());
+    }
+
+    private long createTask(String auth, String title, LocalDate dueDate) throws Exception {
+        return read(mockMvc.perform(post("/api/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("title", title, "dueDate", dueDate.toString()))))
+                .andExpect(status().isCreated())
+                .andReturn()).get("id").asLong();
+    }
+
+    private long createAlert(String auth, long taskId, String timeBefore) throws Exception {
+        return read(mockMvc.perform(post("/api/alerts")
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("taskId", taskId, "timeBefore", timeBefore))))
+                .andExpect(status().isCreated())
+                .andReturn()).get("id").asLong();
+    }
+
+    private JsonNode alertOf(String auth, long taskId) throws Exception {
+        return read(mockMvc.perform(get("/api/alerts/task/{taskId}", taskId).header(HttpHeaders.AUTHORIZATION, auth))
+                .andExpect(status().isOk())
+                .andReturn()).get(0);
+    }
+
+    private void waitForStatus(String auth, long taskId, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!expected.equals(alertOf(auth, taskId).get("status").asText())) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("La alerta de la tarea " + taskId + " no pasó a " + expected);
+            }
+            Thread.sleep(50);
+        }
+    }
+}
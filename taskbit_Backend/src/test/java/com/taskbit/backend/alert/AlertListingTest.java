@@ -0,0 +1,130 @@
+package com.taskbit.backend.alert;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskbit.backend.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/alerts: solo las alertas del usuario, filtro por estado y paginación por cursor
+ * en orden de scheduledFor, id.
+ */
+class AlertListingTest extends ApiTestSupport {
+
+    @Test
+    void cursorPagesCoverTheUsersAlertsOnceInScheduleOrder() throws Exception {
+        String auth = registerAndLogin();
+        List<Long> created = new ArrayList<>();
+        long first = createTask(auth, "Ensayo");
+        for (String timeBefore : List.of("1 days", "3 days", "2 days")) {
+            created.add(createAlert(auth, first, timeBefore));
+        }
+        long second = createTask(auth, "Exposición");
+        for (String timeBefore : List.of("4 days", "1 hours")) {
+            created.add(createAlert(auth, second, timeBefore));
+        }
+        // Alerta de otro usuario: no debe aparecer
+        String other = registerAndLogin();
+        long foreign = createAlert(other, createTask(other, "Ajena"), "1 days");
+
+        List<JsonNode> items = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JsonNode page = read(mockMvc.perform(listAlerts(auth, null, cursor, 2))
+                    .andExpect(status().isOk())
+                    .andReturn());
+            assertTrue(page.get("items").size() <= 2);
+            page.get("items").forEach(items::add);
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(Set.copyOf(created), Set.copyOf(items.stream().map(item -> item.get("id").asLong()).toList()));
+        assertEquals(created.size(), items.size());
+        assertFalse(items.stream().anyMatch(item -> item.get("id").asLong() == foreign));
+        for (int i = 1; i < items.size(); i++) {
+            OffsetDateTime previous = OffsetDateTime.parse(items.get(i - 1).get("scheduledFor").asText());
+            OffsetDateTime current = OffsetDateTime.parse(items.get(i).get("scheduledFor").asText());
+            assertFalse(current.isBefore(previous), "Página fuera de orden en la posición " + i);
+        }
+    }
+
+    @Test
+    void statusFilterAppliesAcrossPages() throws Exception {
+        String auth = registerAndLogin();
+        long kept = createTask(auth, "Proyecto");
+        createAlert(auth, kept, "1 days");
+        createAlert(auth, kept, "2 days");
+        createAlert(auth, kept, "3 days");
+        long cancelled = createTask(auth, "Cancelada");
+        createAlert(auth, cancelled, "1 days");
+        createAlert(auth, cancelled, "2 days");
+        mockMvc.perform(post("/api/tasks/{id}/deactivate-alerts", cancelled).header(HttpHeaders.AUTHORIZATION, auth))
+                .andExpect(status().isNoContent());
+
+        JsonNode firstPage = read(mockMvc.perform(listAlerts(auth, "activa", null, 2))
+                .andExpect(status().isOk())
+                .andReturn());
+        assertEquals(2, firstPage.get("items").size());
+        JsonNode lastPage = read(mockMvc.perform(listAlerts(auth, "activa", firstPage.get("nextCursor").asText(), 2))
+                .andExpect(status().isOk())
+                .andReturn());
+        assertEquals(1, lastPage.get("items").size());
+        assertTrue(lastPage.get("nextCursor").isNull());
+        for (JsonNode page : List.of(firstPage, lastPage)) {
+            page.get("items").forEach(item -> assertEquals(kept, item.get("taskId").asLong()));
+        }
+
+        JsonNode deactivated = read(mockMvc.perform(listAlerts(auth, "desactivada", null, null))
+                .andExpect(status().isOk())
+                .andReturn());
+        assertEquals(2, deactivated.get("items").size());
+        deactivated.get("items").forEach(item -> assertEquals("desactivada", item.get("status").asText()));
+    }
+
+    @Test
+    void unknownStatusIsRejected() throws Exception {
+        mockMvc.perform(listAlerts(registerAndLogin(), "pendiente", null, null))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder listAlerts(String auth, String status, String cursor, Integer limit) {
+        MockHttpServletRequestBuilder request = get("/api/alerts").header(HttpHeaders.AUTHORIZATION, auth);
+        if (status != null) {
+            request.param("status", status);
+        }
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        if (limit != null) {
+            request.param("limit", String.valueOf(limit));
+        }
+        return request;
+    }
+
+    private long createAlert(String auth, long taskId, String timeBefore) throws Exception {
+        return read(mockMvc.perform(post("/api/alerts")
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("taskId", taskId, "timeBefore", timeBefore))))
+                .andExpect(status().isCreated())
+                .andReturn()).get("id").asLong();
+    }
+}
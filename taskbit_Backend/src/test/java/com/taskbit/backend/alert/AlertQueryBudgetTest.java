@@ -0,0 +1,74 @@
+package com.taskbit.backend.alert;
+
+import com.taskbit.backend.support.ApiTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Sentencias SQL y filas leídas por endpoint de /api/alerts.
+ */
+class AlertQueryBudgetTest extends ApiTestSupport {
+
+    private String auth;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        auth = registerAndLogin();
+    }
+
+    @Test
+    void listingsDoNotGrowWithTheNumberOfAlerts() throws Exception {
+        long firstTask = createTask(auth, "Parcial");
+        createAlert(firstTask, "24 hours");
+        int list = statements(get("/api/alerts").header(HttpHeaders.AUTHORIZATION, auth));
+        int active = statements(get("/api/alerts/active").header(HttpHeaders.AUTHORIZATION, auth));
+
+        for (int i = 1; i <= 5; i++) {
+            long taskId = createTask(auth, "Parcial " + i);
+            createAlert(taskId, "24 hours");
+            createAlert(taskId, "2 hours");
+        }
+
+        assertEquals(list, statements(get("/api/alerts").header(HttpHeaders.AUTHORIZATION, auth)),
+                "GET /api/alerts hace más sentencias con más alertas (N+1)");
+        assertEquals(active, statements(get("/api/alerts/active").header(HttpHeaders.AUTHORIZATION, auth)),
+                "GET /api/alerts/active hace más sentencias con más alertas (N+1)");
+        assertBudget(1, 11, get("/api/alerts").header(HttpHeaders.AUTHORIZATION, auth));
+        // Una página lee limit + 1 filas (la extra indica si hay más)
+        assertBudget(1, 4, get("/api/alerts").param("limit", "3").header(HttpHeaders.AUTHORIZATION, auth));
+        assertBudget(1, 11, get("/api/alerts/active").header(HttpHeaders.AUTHORIZATION, auth));
+    }
+
+    @Test
+    void createAndTaskAlertsStayWithinBudget() throws Exception {
+        long taskId = createTask(auth, "Proyecto");
+
+        assertBudget(3, 2, alertRequest(taskId, "24 hours"));
+        assertBudget(1, 1, get("/api/alerts/task/{taskId}", taskId).header(HttpHeaders.AUTHORIZATION, auth));
+    }
+
+    @Test
+    void subscribingToTheStreamStaysWithinBudget() throws Exception {
+        assertBudget(0, 0, get("/api/alerts/stream").header(HttpHeaders.AUTHORIZATION, auth));
+    }
+
+    private void createAlert(long taskId, String timeBefore) throws Exception {
+        statements(alertRequest(taskId, timeBefore));
+    }
+
+    private MockHttpServletRequestBuilder alertRequest(long taskId, String timeBefore) throws Exception {
+        return post("/api/alerts")
+                .header(HttpHeaders.AUTHORIZATION, auth)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("taskId", taskId, "timeBefore", timeBefore)));
+    }
+}
@@ -0,0 +1,99 @@
+package com.taskbit.backend.alert;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskbit.backend.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * scheduledFor sigue a la fecha de entrega: al editar la tarea y en el recálculo completo
+ * por bloques desde la cola de trabajos.
+ */
+class AlertRescheduleTest extends ApiTestSupport {
+
+    @Autowired
+    private AlertRescheduleService alertRescheduleService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void changingTheDueDateReschedulesTheActiveAlerts() throws Exception {
+        String auth = registerAndLogin();
+        long taskId = createTask(auth, "Entrega de maqueta");
+        long dayBefore = createAlert(auth, taskId, "1 days");
+        long hoursBefore = createAlert(auth, taskId, "6 hours");
+
+        LocalDate newDueDate = LocalDate.now().plusDays(12);
+        Map<String, Object> update = new HashMap<>();
+        update.put("title", "Entrega de maqueta");
+        update.put("dueDate", newDueDate.toString());
+        update.put("priority", "alta");
+        mockMvc.perform(put("/api/tasks/{id}", taskId)
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(update)))
+                .andExpect(status().isOk());
+
+        Map<Long, JsonNode> alerts = taskAlerts(auth, taskId);
+        assertScheduled(AlertService.calculateScheduledFor(newDueDate, 1440), alerts.get(dayBefore));
+        assertScheduled(AlertService.calculateScheduledFor(newDueDate, 360), alerts.get(hoursBefore));
+    }
+
+    @Test
+    void fullRescheduleJobRepairsStaleActiveAlerts() throws Exception {
+        String auth = registerAndLogin();
+        long taskId = createTask(auth, "Tesina"); // vence en 7 días
+        long alertId = createAlert(auth, taskId, "2 days");
+        OffsetDateTime expected = AlertService.calculateScheduledFor(LocalDate.now().plusDays(7), 2 * 1440);
+
+        // Alerta desfasada, como las anteriores a V15: la hora no corresponde a la fecha de entrega
+        jdbcTemplate.update("UPDATE alert SET scheduled_for = ? WHERE id = ?",
+                Timestamp.from(expected.plusDays(30).toInstant()), alertId);
+
+        alertRescheduleService.rescheduleAll();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!OffsetDateTime.parse(taskAlerts(auth, taskId).get(alertId).get("scheduledFor").asText()).isEqual(expected)) {
+            assertTrue(System.currentTimeMillis() < deadline, "El trabajo alert.reschedule no corrigió la alerta");
+            Thread.sleep(50);
+        }
+    }
+
+    private static void assertScheduled(OffsetDateTime expected, JsonNode alert) {
+        OffsetDateTime actual = OffsetDateTime.parse(alert.get("scheduledFor").asText());
+        assertTrue(actual.isEqual(expected), "scheduledFor " + actual + ", se esperaba " + expected);
+    }
+
+    private Map<Long, JsonNode> taskAlerts(String auth, long taskId) throws Exception {
+        Map<Long, JsonNode> alerts = new HashMap<>();
+        read(mockMvc.perform(get("/api/alerts/task/{taskId}", taskId).header(HttpHeaders.AUTHORIZATION, auth))
+                .andExpect(status().isOk())
+                .andReturn()).forEach(alert -> alerts.put(alert.get("id").asLong(), alert));
+        return alerts;
+    }
+
+    private long createAlert(String auth, long taskId, String timeBefore) throws Exception {
+        return read(mockMvc.perform(post("/api/alerts")
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("taskId", taskId, "timeBefore", timeBefore))))
+                .andExpect(status().isCreated())
+                .andReturn()).get("id").asLong();
+    }
+}
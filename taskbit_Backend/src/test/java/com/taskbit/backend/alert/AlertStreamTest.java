@@ -0,0 +1,79 @@
+package com.taskbit.backend.alert;
+
+import com.taskbit.backend.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * GET /api/alerts/stream: máximo de conexiones por usuario y heartbeat.
+ */
+class AlertStreamTest extends ApiTestSupport {
+
+    @Autowired
+    private AlertStreamService alertStreamService;
+
+    @Value("${taskbit.alerts.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Test
+    void connectionsAboveTheCapCloseTheOldestOnes() throws Exception {
+        String auth = registerAndLogin();
+        List<MvcResult> streams = new ArrayList<>();
+        for (int i = 0; i < maxConnectionsPerUser + 1; i++) {
+            MvcResult stream = subscribe(auth);
+            awaitContent(stream.getResponse(), "event:ready");
+            streams.add(stream);
+        }
+
+        // La más antigua se completa (el cliente reconectaría); el resto sigue abierto
+        streams.get(0).getAsyncResult(5_000);
+        for (MvcResult open : streams.subList(1, streams.size())) {
+            assertThrows(IllegalStateException.class, () -> open.getAsyncResult(100));
+        }
+
+        // Las conexiones de otro usuario no cuentan para este máximo
+        MvcResult other = subscribe(registerAndLogin());
+        awaitContent(other.getResponse(), "event:ready");
+        assertThrows(IllegalStateException.class, () -> streams.get(1).getAsyncResult(100));
+    }
+
+    @Test
+    void heartbeatSendsACommentToOpenConnections() throws Exception {
+        MvcResult stream = subscribe(registerAndLogin());
+        awaitContent(stream.getResponse(), "event:ready");
+        assertFalse(stream.getResponse().getContentAsString().contains(":ping"));
+
+        alertStreamService.heartbeat();
+
+        awaitContent(stream.getResponse(), ":ping");
+        assertThrows(IllegalStateException.class, () -> stream.getAsyncResult(100));
+    }
+
+    private MvcResult subscribe(String auth) throws Exception {
+        return mockMvc.perform(get("/api/alerts/stream").header(HttpHeaders.AUTHORIZATION, auth))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    // Los eventos se escriben en un hilo virtual del servicio
+    private static void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!response.getContentAsString().contains(expected)) {
+            assertTrue(System.currentTimeMillis() < deadline, "No llegó '" + expected + "': " + response.getContentAsString());
+            Thread.sleep(20);
+        }
+    }
+}
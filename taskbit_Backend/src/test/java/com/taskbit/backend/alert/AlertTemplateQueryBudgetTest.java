@@ -0,0 +1,75 @@
+package com.taskbit.backend.alert;
+
+import com.taskbit.backend.support.ApiTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Sentencias SQL y filas leídas por endpoint de /api/alert-templates.
+ */
+class AlertTemplateQueryBudgetTest extends ApiTestSupport {
+
+    private String auth;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        auth = registerAndLogin();
+    }
+
+    @Test
+    void createListAndDeleteStayWithinBudget() throws Exception {
+        long templateId = read(assertBudget(3, 1, createTemplate("Entregas"))).get("id").asLong();
+        createTemplate("Exámenes");
+
+        assertBudget(1, 2, get("/api/alert-templates").header(HttpHeaders.AUTHORIZATION, auth));
+        assertBudget(3, 2, delete("/api/alert-templates/{id}", templateId).header(HttpHeaders.AUTHORIZATION, auth));
+    }
+
+    @Test
+    void applyDoesNotGrowWithTheNumberOfTasks() throws Exception {
+        long templateId = read(mockMvc.perform(createTemplate("Entregas")).andReturn()).get("id").asLong();
+        List<Long> taskIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            taskIds.add(createTask(auth, "Tarea " + i));
+        }
+
+        // En H2 cada alerta nueva es un INSERT (id IDENTITY, sin lotes) que devuelve su clave;
+        // en PostgreSQL todas van en un único INSERT ... SELECT unnest. Filas: la plantilla con
+        // sus 2 tiempos, una por tarea y una por alerta creada
+        assertBudget(3 + 2, 2 + 1 + 2, apply(templateId, Map.of("taskIds", taskIds.subList(0, 1))));
+        assertBudget(3 + 9 * 2, 2 + 9 + 9 * 2, apply(templateId, Map.of("taskIds", taskIds.subList(1, 10))));
+
+        // Reaplicar: todas las alertas ya existen y se omiten
+        int withOne = statements(apply(templateId, Map.of("taskIds", taskIds.subList(0, 1))));
+        int withTen = statements(apply(templateId, Map.of("taskIds", taskIds)));
+        assertEquals(withOne, withTen, "POST /api/alert-templates/{id}/apply hace más sentencias con más tareas (N+1)");
+        // Filas: la plantilla con sus 2 tiempos, una por tarea y una por alerta existente
+        assertBudget(withTen, 2 + 10 + 10 * 2, apply(templateId, Map.of("course", "Cálculo")));
+    }
+
+    private MockHttpServletRequestBuilder createTemplate(String name) throws Exception {
+        return post("/api/alert-templates")
+                .header(HttpHeaders.AUTHORIZATION, auth)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("name", name, "timeBefores", List.of("1 days", "2 hours"))));
+    }
+
+    private MockHttpServletRequestBuilder apply(long templateId, Map<String, Object> body) throws Exception {
+        return post("/api/alert-templates/{id}/apply", templateId)
+                .header(HttpHeaders.AUTHORIZATION, auth)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(body));
+    }
+}
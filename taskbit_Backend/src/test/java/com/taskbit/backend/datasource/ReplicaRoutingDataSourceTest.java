@@ -0,0 +1,133 @@
+package com.taskbit.backend.datasource;
+
+import com.taskbit.backend.security.AuthenticatedUser;
+import jakarta.servlet.http.Cookie;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Enrutado entre dos bases H2 (primario y réplica), cada una con una fila que la identifica.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = h2("routing-primary");
+    private final DataSource replica = h2("routing-replica");
+    private final List<ReplicaRoutingDataSource> routers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        new JdbcTemplate(primary).execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20)); DELETE FROM node; INSERT INTO node VALUES ('primario')");
+        new JdbcTemplate(replica).execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20)); DELETE FROM node; INSERT INTO node VALUES ('réplica')");
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(1L, "lector@taskbit.test"), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+        for (ReplicaRoutingDataSource router : routers) {
+            router.close();
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        ReplicaRoutingDataSource router = router(Duration.ofSeconds(5));
+
+        assertEquals("réplica", node(router, true));
+        assertEquals("primario", node(router, false));
+    }
+
+    @Test
+    void readAfterAWriteGoesToThePrimaryUntilTheWindowEnds() throws Exception {
+        ReplicaRoutingDataSource router = router(Duration.ofMillis(300));
+
+        node(router, false);
+        assertEquals("primario", node(router, true));
+
+        Thread.sleep(400);
+        assertEquals("réplica", node(router, true));
+    }
+
+    @Test
+    void anotherInstanceHonoursTheReadYourWritesCookie() {
+        // Escritura en una instancia: la respuesta lleva la cookie
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), writeResponse));
+        node(router(Duration.ofSeconds(5)), false);
+        Cookie cookie = writeResponse.getCookie(ReadYourWritesCookie.NAME);
+        assertNotNull(cookie, "La escritura no envió la cookie de lectura tras escritura");
+
+        // La siguiente lectura llega a otra instancia (sin el registro en memoria de la primera)
+        ReplicaRoutingDataSource other = router(Duration.ofSeconds(5));
+        MockHttpServletRequest readRequest = new MockHttpServletRequest();
+        readRequest.setCookies(cookie);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(readRequest, new MockHttpServletResponse()));
+        assertEquals("primario", node(other, true));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), new MockHttpServletResponse()));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(2L, "otro@taskbit.test"), null, List.of()));
+        assertEquals("réplica", node(other, true));
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaIsDown() {
+        // IFEXISTS sobre una base que no existe: la réplica rechaza todas las conexiones
+        JdbcDataSource down = new JdbcDataSource();
+        down.setURL("jdbc:h2:mem:routing-down;IFEXISTS=TRUE");
+        ReplicaRoutingDataSource router = router(Duration.ofSeconds(5), new ReplicaTarget("replica-0", down));
+
+        assertEquals("primario", node(router, true));
+    }
+
+    private String node(ReplicaRoutingDataSource router, boolean readOnly) {
+        // Mismo montaje que DataSourceConfig: la conexión se pide con la transacción ya marcada
+        DataSource dataSource = new LazyConnectionDataSourceProxy(router);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private ReplicaRoutingDataSource router(Duration readYourWritesWindow) {
+        return router(readYourWritesWindow, new ReplicaTarget("replica-0", replica));
+    }
+
+    private ReplicaRoutingDataSource router(Duration readYourWritesWindow, ReplicaTarget target) {
+        ReplicaRoutingProperties properties = new ReplicaRoutingProperties();
+        properties.setReadYourWritesWindow(readYourWritesWindow);
+        properties.setHealthCheckInterval(Duration.ofHours(1));
+        properties.setLagQuery("");
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(target), properties);
+        routers.add(router);
+        return router;
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
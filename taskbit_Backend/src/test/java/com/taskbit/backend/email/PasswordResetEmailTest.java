@@ -0,0 +1,93 @@
+package com.taskbit.backend.email;
+
+import com.taskbit.backend.job.Job;
+import com.taskbit.backend.job.JobRepository;
+import com.taskbit.backend.job.JobStatus;
+import com.taskbit.backend.support.ApiTestSupport;
+import com.taskbit.backend.support.SmtpStub;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * El correo de recuperación sale por la cola de trabajos y las sesiones SMTP reutilizadas
+ * hasta un servidor SMTP real (de pruebas); un fallo temporal del servidor se reintenta.
+ */
+class PasswordResetEmailTest extends ApiTestSupport {
+
+    private static final Pattern RESET_LINK = Pattern.compile("reset-password\\?token=([\\w-]+)");
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @DynamicPropertySource
+    static void jobProperties(DynamicPropertyRegistry registry) {
+        // Reintentos rápidos para no esperar el backoff de producción
+        registry.add("taskbit.jobs.poll-interval", () -> "100ms");
+        registry.add("taskbit.jobs.backoff-base", () -> "100ms");
+        registry.add("taskbit.jobs.backoff-max", () -> "200ms");
+    }
+
+    @Test
+    void resetEmailIsDeliveredAndRetriedAfterATransientFailure() throws Exception {
+        String email = newEmail();
+        register(email);
+        SMTP.failNextMessagesTo(email, 1);
+
+        mockMvc.perform(post("/api/auth/forgot-password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("email", email))))
+                .andExpect(status().isOk());
+
+        SMTP.awaitMessages(messages -> messages.stream().anyMatch(m -> m.recipients().contains(email)), 10_000);
+        List<SmtpStub.Message> delivered = SMTP.messagesTo(email);
+        assertEquals(1, delivered.size());
+        assertEquals("Recuperación de Contraseña - TaskBit", delivered.get(0).toMimeMessage().getSubject());
+
+        // El primer intento recibió 451: el trabajo se completó en el segundo
+        Job job = waitForCompletedJob(email);
+        assertEquals(2, job.getAttempts());
+
+        // El enlace recibido sirve para cambiar la contraseña
+        Matcher link = RESET_LINK.matcher(delivered.get(0).text());
+        assertTrue(link.find(), "El correo no contiene el enlace de recuperación");
+        mockMvc.perform(post("/api/auth/reset-password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("token", link.group(1), "password", "NuevaClave2!"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("email", email, "password", "NuevaClave2!"))))
+                .andExpect(status().isOk());
+    }
+
+    private Job waitForCompletedJob(String email) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (true) {
+            Job job = jobRepository.findAll().stream()
+                    .filter(candidate -> candidate.getType().equals(PasswordResetEmailJob.TYPE)
+                            && candidate.getPayload().contains(email))
+                    .findFirst()
+                    .orElseThrow();
+            if (job.getStatus() == JobStatus.COMPLETADO) {
+                return job;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("El trabajo del correo quedó en " + job.getStatus());
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.taskbit.backend.email;
+
+import com.taskbit.backend.support.SmtpStub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sesiones SMTP reutilizadas contra un servidor SMTP de pruebas: lotes sobre pocas conexiones,
+ * reconexión si el servidor corta la sesión, cierre tras idle-timeout y rendimiento frente a una
+ * conexión por mensaje.
+ */
+class PooledMailSenderTest {
+
+    private final SmtpStub smtp = new SmtpStub();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PooledMailSender pooledMailSender;
+
+    @AfterEach
+    void stop() {
+        if (pooledMailSender != null) {
+            pooledMailSender.stop();
+        }
+        smtp.close();
+    }
+
+    @Test
+    void queuedMessagesAreSentInBatchesOverFewConnections() throws Exception {
+        // Mientras se abren las sesiones, los mensajes se acumulan en la cola
+        smtp.setConnectDelayMillis(200);
+        pooledMailSender = start(2, Duration.ofSeconds(30));
+
+        ExecutorService callers = Executors.newFixedThreadPool(40);
+        try {
+            List<Future<?>> sends = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                String to = "destino-" + i + "@taskbit.test";
+                sends.add(callers.submit(() -> pooledMailSender.send(message(to))));
+            }
+            for (Future<?> send : sends) {
+                send.get();
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(40, smtp.getMessages().size());
+        assertTrue(smtp.getConnectionsOpened() <= 2, "Conexiones abiertas: " + smtp.getConnectionsOpened());
+        assertTrue(meterRegistry.get("email.batch.size").summary().max() > 1, "Los mensajes no se agruparon en lotes");
+    }
+
+    @Test
+    void lostSessionIsReopenedAndTheMessageRetried() throws Exception {
+        pooledMailSender = start(1, Duration.ofSeconds(30));
+        pooledMailSender.send(message("primero@taskbit.test"));
+
+        // El servidor corta la sesión sin confirmar el siguiente mensaje
+        smtp.dropNextConnections(1);
+        pooledMailSender.send(message("segundo@taskbit.test"));
+
+        assertEquals(1, smtp.messagesTo("segundo@taskbit.test").size());
+        assertEquals(2, smtp.getConnectionsOpened());
+    }
+
+    @Test
+    void idleSessionIsClosed() throws Exception {
+        pooledMailSender = start(1, Duration.ofMillis(200));
+        pooledMailSender.send(message("inactivo@taskbit.test"));
+        assertEquals(1, smtp.getConnectionsOpen());
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (smtp.getConnectionsOpen() > 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "La sesión inactiva no se cerró");
+            Thread.sleep(20);
+        }
+
+        // El siguiente mensaje abre una sesión nueva
+        pooledMailSender.send(message("despues@taskbit.test"));
+        assertEquals(2, smtp.getConnectionsOpened());
+    }
+
+    @Test
+    void pooledSessionsSendFasterOverFewerConnectionsThanOneConnectionPerMessage() throws Exception {
+        // 20 ms por saludo hacen las veces de TLS + AUTH
+        smtp.setConnectDelayMillis(20);
+        int messages = 60;
+        int callers = 3;
+
+        JavaMailSenderImpl perMessage = mailSender();
+        long perMessageNanos = timeSends(messages, callers, "directo", to -> perMessage.send(message(to)));
+        int perMessageConnections = smtp.getConnectionsOpened();
+
+        pooledMailSender = start(callers, Duration.ofSeconds(30));
+        long pooledNanos = timeSends(messages, callers, "pool", to -> pooledMailSender.send(message(to)));
+        int pooledConnections = smtp.getConnectionsOpened() - perMessageConnections;
+
+        String rates = String.format("una conexión por mensaje: %.0f msg/s, pool: %.0f msg/s",
+                messages * 1e9 / perMessageNanos, messages * 1e9 / pooledNanos);
+        assertEquals(2 * messages, smtp.getMessages().size());
+        assertEquals(messages, perMessageConnections, rates);
+        assertTrue(pooledConnections <= callers, "Conexiones del pool: " + pooledConnections + "; " + rates);
+        assertTrue(pooledNanos < perMessageNanos, rates);
+    }
+
+    private long timeSends(int messages, int callers, String prefix, Consumer<String> send) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> sends = new ArrayList<>();
+            for (int i = 0; i < messages; i++) {
+                String to = prefix + "-" + i + "@taskbit.test";
+                sends.add(executor.submit(() -> send.accept(to)));
+            }
+            for (Future<?> future : sends) {
+                future.get();
+            }
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private PooledMailSender start(int poolSize, Duration idleTimeout) {
+        PooledMailSender sender = new PooledMailSender(mailSender(), meterRegistry, true, poolSize, 20, 100,
+                idleTimeout, Duration.ofSeconds(10), 1000);
+        sender.start();
+        return sender;
+    }
+
+    private JavaMailSenderImpl mailSender() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.getPort());
+        mailSender.setProtocol("smtp");
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "5000");
+        return mailSender;
+    }
+
+    private SimpleMailMessage message(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("taskbit@taskbit.test");
+        message.setTo(to);
+        message.setSubject("Recordatorio - TaskBit");
+        message.setText("Tienes tareas próximas a vencer.");
+        return message;
+    }
+}
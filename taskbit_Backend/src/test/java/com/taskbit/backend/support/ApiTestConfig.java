@@ -0,0 +1,43 @@
+package com.taskbit.backend.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Ajustes de los tests de endpoints (ver ApiTestSupport).
+ */
+@TestConfiguration
+public class ApiTestConfig {
+
+    // El DataSource de la aplicación cuenta las filas leídas (RowCounter)
+    @Bean
+    static BeanPostProcessor rowCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && beanName.equals("dataSource")
+                        ? RowCounter.wrap(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    // Las respuestas en streaming (exportación) se escriben en el hilo del test, de modo que
+    // sus sentencias y filas entran en el recuento de la petición
+    @Bean
+    WebMvcConfigurer synchronousStreamingResponses() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(new TaskExecutorAdapter(new SyncTaskExecutor()));
+            }
+        };
+    }
+}
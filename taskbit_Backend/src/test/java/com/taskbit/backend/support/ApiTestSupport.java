@@ -0,0 +1,129 @@
+package com.taskbit.backend.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Base de los tests de endpoints: contexto completo sobre H2 con MockMvc, alta de usuarios
+ * y tareas por la API, y el presupuesto de cada petición: sentencias SQL (StatementCounter) y
+ * filas leídas (RowCounter). Un N+1 nuevo hace crecer las sentencias con el número de filas, y
+ * una consulta sin límite hace crecer las filas leídas; en los dos casos el test falla.
+ * Todos los contextos envían el correo al mismo servidor SMTP de pruebas ({@link #SMTP}): comparten
+ * la base H2, y el worker de cualquiera de ellos puede reclamar un trabajo de correo.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(ApiTestConfig.class)
+public abstract class ApiTestSupport {
+
+    protected static final String PASSWORD = "Secreta1!";
+
+    protected static final SmtpStub SMTP = new SmtpStub();
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", SMTP::getPort);
+    }
+
+    protected String newEmail() {
+        return "user-" + UUID.randomUUID() + "@taskbit.test";
+    }
+
+    protected void register(String email) throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("name", "Usuario de prueba", "email", email, "password", PASSWORD))))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Registra un usuario nuevo y devuelve la cabecera Authorization con su token.
+     */
+    protected String registerAndLogin() throws Exception {
+        return registerAndLogin(newEmail());
+    }
+
+    protected String registerAndLogin(String email) throws Exception {
+        register(email);
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("email", email, "password", PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn();
+        return "Bearer " + read(result).get("token").asText();
+    }
+
+    protected long createTask(String auth, String title) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of(
+                                "title", title,
+                                "description", "Descripción de " + title,
+                                "dueDate", LocalDate.now().plusDays(7).toString(),
+                                "priority", "alta",
+                                "course", "Cálculo"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return read(result).get("id").asLong();
+    }
+
+    /**
+     * Ejecuta la petición, comprueba que responde 2xx y devuelve cuántas sentencias SQL hizo.
+     */
+    protected int statements(MockHttpServletRequestBuilder request) throws Exception {
+        StatementCounter.reset();
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        return StatementCounter.current();
+    }
+
+    /**
+     * Ejecuta la petición y comprueba que responde 2xx sin pasar de maxStatements sentencias SQL
+     * ni de maxRows filas leídas. Devuelve el resultado para seguir con la respuesta.
+     */
+    protected MvcResult assertBudget(int maxStatements, int maxRows, MockHttpServletRequestBuilder request) throws Exception {
+        StatementCounter.reset();
+        RowCounter.reset();
+        MvcResult result = mockMvc.perform(request).andExpect(status().is2xxSuccessful()).andReturn();
+        int executed = StatementCounter.current();
+        int rows = RowCounter.current();
+        String endpoint = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        assertTrue(executed <= maxStatements,
+                endpoint + " ejecutó " + executed + " sentencias SQL (máximo " + maxStatements + ")");
+        assertTrue(rows <= maxRows, endpoint + " leyó " + rows + " filas (máximo " + maxRows + ")");
+        return result;
+    }
+
+    protected String json(Object value) throws Exception {
+        return objectMapper.writeValueAsString(value);
+    }
+
+    protected JsonNode read(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
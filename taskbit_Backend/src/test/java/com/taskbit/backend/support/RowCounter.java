@@ -0,0 +1,82 @@
+package com.taskbit.backend.support;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Cuenta las filas leídas de la base de datos en el hilo actual: envuelve el DataSource de la
+ * aplicación (ver ApiTestConfig) y suma cada ResultSet.next() que devuelve true, tanto en las
+ * consultas de Hibernate como en las de JDBC directo. Junto con StatementCounter da el
+ * presupuesto de cada endpoint: una consulta sin límite hace crecer las filas con los datos.
+ */
+public final class RowCounter {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    private RowCounter() {
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int current() {
+        return COUNT.get()[0];
+    }
+
+    static DataSource wrap(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return proxy(Connection.class, super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return proxy(Connection.class, super.getConnection(username, password));
+            }
+        };
+    }
+
+    private static Class<? extends Statement> statementType(Object statement) {
+        if (statement instanceof CallableStatement) {
+            return CallableStatement.class;
+        }
+        return statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+    }
+
+    // Envuelve las sentencias que crea la conexión y los ResultSet que devuelven las sentencias
+    private static <T> T proxy(Class<T> type, Object target) {
+        return type.cast(Proxy.newProxyInstance(RowCounter.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (type == ResultSet.class) {
+                        if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                            COUNT.get()[0]++;
+                        }
+                        return result;
+                    }
+                    if (result instanceof ResultSet && method.getReturnType() == ResultSet.class) {
+                        return proxy(ResultSet.class, result);
+                    }
+                    if (type == Connection.class && result instanceof Statement) {
+                        return proxy(statementType(result), result);
+                    }
+                    return result;
+                }));
+    }
+}
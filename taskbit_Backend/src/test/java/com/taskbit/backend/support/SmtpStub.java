@@ -0,0 +1,224 @@
+package com.taskbit.backend.support;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Servidor SMTP mínimo para los tests (sin AUTH ni STARTTLS), en un puerto libre de localhost.
+ * Guarda los mensajes recibidos y cuenta las conexiones, y puede simular fallos: responder
+ * 451 al final del DATA o cortar la conexión sin responder.
+ */
+public class SmtpStub implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    // Hilos de plataforma: JavaMail hace la E/S dentro de métodos synchronized, que fijan el hilo
+    // portador de un cliente virtual; con pocos portadores el servidor no llegaría a responder
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "smtp-stub");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<Message> messages = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connectionsOpened = new AtomicInteger();
+    private final AtomicInteger connectionsOpen = new AtomicInteger();
+    private final AtomicInteger transientFailures = new AtomicInteger();
+    private volatile String failingRecipient;
+    private final AtomicInteger droppedConnections = new AtomicInteger();
+    private volatile int connectDelayMillis;
+
+    public SmtpStub() {
+        try {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        executor.execute(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public List<Message> getMessages() {
+        return List.copyOf(messages);
+    }
+
+    public List<Message> messagesTo(String recipient) {
+        return messages.stream().filter(message -> message.recipients().contains(recipient)).toList();
+    }
+
+    public int getConnectionsOpened() {
+        return connectionsOpened.get();
+    }
+
+    public int getConnectionsOpen() {
+        return connectionsOpen.get();
+    }
+
+    // Los próximos n mensajes al destinatario reciben 451 (fallo temporal) al terminar el DATA
+    public void failNextMessagesTo(String recipient, int n) {
+        failingRecipient = recipient;
+        transientFailures.set(n);
+    }
+
+    // En los próximos n mensajes se lee el DATA y se corta la conexión sin responder
+    public void dropNextConnections(int n) {
+        droppedConnections.set(n);
+    }
+
+    // Retardo antes del saludo, como el de TCP + STARTTLS + AUTH de un servidor real
+    public void setConnectDelayMillis(int connectDelayMillis) {
+        this.connectDelayMillis = connectDelayMillis;
+    }
+
+    public void awaitMessages(Predicate<List<Message>> condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!condition.test(getMessages())) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("El servidor SMTP no recibió los mensajes esperados; recibidos: " + messages.size());
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+            // ya cerrado
+        }
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                executor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        connectionsOpened.incrementAndGet();
+        connectionsOpen.incrementAndGet();
+        try (socket) {
+            if (connectDelayMillis > 0) {
+                Thread.sleep(connectDelayMillis);
+            }
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream out = socket.getOutputStream();
+            reply(out, "220 localhost SMTP de pruebas");
+            String from = null;
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase(Locale.ROOT);
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    reply(out, "250 localhost");
+                } else if (command.startsWith("MAIL FROM:")) {
+                    from = address(line);
+                    recipients.clear();
+                    reply(out, "250 OK");
+                } else if (command.startsWith("RCPT TO:")) {
+                    recipients.add(address(line));
+                    reply(out, "250 OK");
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 Fin con <CRLF>.<CRLF>");
+                    String data = readData(in);
+                    if (consume(droppedConnections)) {
+                        return;
+                    }
+                    if (recipients.contains(failingRecipient) && consume(transientFailures)) {
+                        reply(out, "451 4.3.0 Fallo temporal");
+                    } else {
+                        messages.add(new Message(from, List.copyOf(recipients), data));
+                        reply(out, "250 OK");
+                    }
+                } else if (command.equals("RSET") || command.equals("NOOP")) {
+                    reply(out, "250 OK");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 Adiós");
+                    return;
+                } else {
+                    reply(out, "500 Comando no reconocido");
+                }
+            }
+        } catch (IOException e) {
+            // el cliente cerró la conexión
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connectionsOpen.decrementAndGet();
+        }
+    }
+
+    private String readData(BufferedReader in) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(".")) {
+            data.append(line.startsWith("..") ? line.substring(1) : line).append("\n");
+        }
+        return data.toString();
+    }
+
+    private static boolean consume(AtomicInteger counter) {
+        return counter.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0;
+    }
+
+    private static String address(String line) {
+        int start = line.indexOf('<');
+        int end = line.indexOf('>');
+        return start >= 0 && end > start ? line.substring(start + 1, end) : line.substring(line.indexOf(':') + 1).trim();
+    }
+
+    private static void reply(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    public record Message(String from, List<String> recipients, String data) {
+
+        public MimeMessage toMimeMessage() {
+            try {
+                return new MimeMessage(Session.getInstance(new Properties()),
+                        new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)));
+            } catch (MessagingException e) {
+                throw new IllegalStateException("Mensaje SMTP no válido", e);
+            }
+        }
+
+        // Cuerpo de texto ya decodificado (quoted-printable, base64...)
+        public String text() {
+            try {
+                return String.valueOf(toMimeMessage().getContent());
+            } catch (MessagingException | IOException e) {
+                throw new IllegalStateException("Mensaje SMTP no válido", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.taskbit.backend.sync;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskbit.backend.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Sentencias SQL y filas leídas por /api/sync: cada página lee como mucho limit + 1 cambios por lista.
+ */
+class SyncQueryBudgetTest extends ApiTestSupport {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void syncPagesStayWithinBudget() throws Exception {
+        String email = newEmail();
+        String auth = registerAndLogin(email);
+        for (int i = 0; i < 10; i++) {
+            createTask(auth, "Tarea " + i);
+        }
+        // En H2 no están los triggers de V7: se numeran los cambios como lo haría PostgreSQL
+        jdbcTemplate.update("UPDATE task SET change_xid = 1, change_seq = id "
+                + "WHERE user_id = (SELECT id FROM app_user WHERE email = ?)", email);
+
+        JsonNode firstPage = read(assertBudget(3, 5, get("/api/sync").param("limit", "4")
+                .header(HttpHeaders.AUTHORIZATION, auth)));
+        assertEquals(4, firstPage.get("tasks").size());
+        JsonNode secondPage = read(assertBudget(3, 5, get("/api/sync")
+                .param("since", firstPage.get("cursor").asText()).param("limit", "4")
+                .header(HttpHeaders.AUTHORIZATION, auth)));
+        assertEquals(4, secondPage.get("tasks").size());
+    }
+}
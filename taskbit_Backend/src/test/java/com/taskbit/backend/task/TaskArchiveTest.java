@@ -0,0 +1,59 @@
+package com.taskbit.backend.task;
+
+import com.taskbit.backend.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskArchiveTest extends ApiTestSupport {
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void archivedAlertsKeepTheirOffsetAndDigestTime() throws Exception {
+        String auth = registerAndLogin();
+        long taskId = createTask(auth, "Proyecto entregado");
+        long alertId = read(mockMvc.perform(post("/api/alerts")
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("taskId", taskId, "timeBefore", "2 days"))))
+                .andExpect(status().isCreated())
+                .andReturn()).get("id").asLong();
+        mockMvc.perform(patch("/api/tasks/{id}/status", taskId)
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("status", "Completada"))))
+                .andExpect(status().isOk());
+
+        // Completada hace más de taskbit.archive.completed-for, con la alerta ya incluida en un resumen
+        Timestamp longAgo = Timestamp.from(Instant.now().minus(100, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS));
+        jdbcTemplate.update("UPDATE task SET completed_at = ? WHERE id = ?", longAgo, taskId);
+        jdbcTemplate.update("UPDATE alert SET digested_at = ? WHERE id = ?", longAgo, alertId);
+
+        assertTrue(taskArchiveService.archiveCompletedTasks() >= 1);
+
+        Map<String, Object> archived = jdbcTemplate.queryForMap(
+                "SELECT offset_minutes, digested_at FROM alert_archive WHERE id = ?", alertId);
+        assertEquals(2 * 1440, ((Number) archived.get("offset_minutes")).intValue());
+        assertNotNull(archived.get("digested_at"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM alert WHERE id = ?", Integer.class, alertId));
+    }
+}
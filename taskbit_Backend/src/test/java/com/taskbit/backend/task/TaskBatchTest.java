@@ -0,0 +1,54 @@
+package com.taskbit.backend.task;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskbit.backend.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskBatchTest extends ApiTestSupport {
+
+    @Test
+    void failedUpdateDoesNotRescheduleAlerts() throws Exception {
+        String auth = registerAndLogin();
+        long taskId = createTask(auth, "Entrega final");
+        mockMvc.perform(post("/api/alerts")
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("taskId", taskId, "timeBefore", "24 hours"))))
+                .andExpect(status().isCreated());
+        String scheduledBefore = alertsOf(auth, taskId).get(0).get("scheduledFor").asText();
+
+        // Nueva fecha válida pero estado inválido: la operación falla entera
+        JsonNode response = read(mockMvc.perform(post("/api/tasks/batch")
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("operations", List.of(Map.of(
+                                "op", "update",
+                                "id", taskId,
+                                "title", "Entrega final",
+                                "dueDate", LocalDate.now().plusDays(20).toString(),
+                                "status", "Archivada"))))))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertFalse(response.get("results").get(0).get("success").asBoolean());
+        assertEquals(scheduledBefore, alertsOf(auth, taskId).get(0).get("scheduledFor").asText());
+    }
+
+    private JsonNode alertsOf(String auth, long taskId) throws Exception {
+        return read(mockMvc.perform(get("/api/alerts/task/{taskId}", taskId).header(HttpHeaders.AUTHORIZATION, auth))
+                .andExpect(status().isOk())
+                .andReturn());
+    }
+}
@@ -0,0 +1,65 @@
+package com.taskbit.backend.task;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskbit.backend.support.ApiTestSupport;
+import com.taskbit.backend.user.AppUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Contadores por estado cuando la fila del usuario todavía no existe.
+ */
+class TaskCountsTest extends ApiTestSupport {
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private TaskStatusCounterRepository counterRepository;
+
+    @Autowired
+    private TaskStatusCounterUpsert counterUpsert;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void missingCounterIsRebuiltOnTheNextWrite() throws Exception {
+        String email = newEmail();
+        String auth = registerAndLogin(email);
+        createTask(auth, "Primera");
+        long userId = userId(email);
+        counterRepository.deleteById(userId);
+
+        createTask(auth, "Segunda");
+
+        assertEquals(2, counts(auth).get("pending").asInt());
+        assertEquals(2, counts(auth).get("total").asInt());
+    }
+
+    @Test
+    void upsertAddsTheDeltaWhenAnotherWriterCreatedTheRow() throws Exception {
+        String email = newEmail();
+        String auth = registerAndLogin(email);
+        long userId = userId(email);
+
+        // La fila ya existe (la creó otra transacción): se suma el cambio, no se reemplaza
+        transactionTemplate.executeWithoutResult(status ->
+                counterUpsert.upsert(userId, new int[]{5, 0, 0}, new int[]{1, 0, 0}));
+
+        assertEquals(1, counts(auth).get("pending").asInt());
+    }
+
+    private JsonNode counts(String auth) throws Exception {
+        return read(mockMvc.perform(get("/api/tasks/counts").header(HttpHeaders.AUTHORIZATION, auth)).andReturn());
+    }
+
+    private long userId(String email) {
+        return userRepository.findByEmail(email).orElseThrow().getId();
+    }
+}
@@ -0,0 +1,70 @@
+package com.taskbit.backend.task;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskbit.backend.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskImportTest extends ApiTestSupport {
+
+    @Test
+    void oversizedRowsAreReportedAsRowErrors() throws Exception {
+        String auth = registerAndLogin();
+        String dueDate = LocalDate.now().plusDays(3).toString();
+        String csv = "title,dueDate,course\n"
+                + "Tarea válida," + dueDate + ",Física\n"
+                + "x".repeat(201) + "," + dueDate + ",Física\n"
+                + "Curso largo," + dueDate + "," + "c".repeat(101) + "\n"
+                + "x".repeat(200) + "," + dueDate + "," + "c".repeat(100) + "\n";
+        MockMultipartFile file = new MockMultipartFile("file", "tareas.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+
+        JsonNode response = read(mockMvc.perform(multipart("/api/tasks/import")
+                        .file(file)
+                        .header(HttpHeaders.AUTHORIZATION, auth))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertEquals(4, response.get("totalRows").asLong());
+        assertEquals(2, response.get("imported").asLong());
+        assertEquals(2, response.get("failed").asLong());
+        assertEquals(2, response.get("errors").get(0).get("row").asLong());
+        assertEquals("El título no puede superar 200 caracteres", response.get("errors").get(0).get("message").asText());
+        assertEquals(3, response.get("errors").get(1).get("row").asLong());
+        assertEquals("El curso no puede superar 100 caracteres", response.get("errors").get(1).get("message").asText());
+    }
+
+    @Test
+    void largeFilesAreCommittedChunkByChunk() throws Exception {
+        String auth = registerAndLogin();
+        // Un bloque completo (5000 filas) y una fila más en el segundo
+        StringBuilder csv = new StringBuilder("title,dueDate\n");
+        String dueDate = LocalDate.now().plusDays(3).toString();
+        for (int i = 0; i < 5001; i++) {
+            csv.append("Tarea ").append(i).append(',').append(dueDate).append('\n');
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "tareas.csv", "text/csv",
+                csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        JsonNode response = read(mockMvc.perform(multipart("/api/tasks/import")
+                        .file(file)
+                        .header(HttpHeaders.AUTHORIZATION, auth))
+                .andExpect(status().isOk())
+                .andReturn());
+        assertEquals(5001, response.get("imported").asLong());
+
+        JsonNode counts = read(mockMvc.perform(get("/api/tasks/counts").header(HttpHeaders.AUTHORIZATION, auth))
+                .andExpect(status().isOk())
+                .andReturn());
+        assertEquals(5001, counts.get("pending").asInt());
+    }
+}
@@ -0,0 +1,69 @@
+package com.taskbit.backend.task;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskbit.backend.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskListingTest extends ApiTestSupport {
+
+    @Test
+    void priorityPagesTreatMissingPriorityAsTheLowest() throws Exception {
+        String auth = registerAndLogin();
+        createTask(auth, "A", "alta");
+        createTask(auth, "B", "media");
+        createTask(auth, "C", "baja");
+        createTask(auth, "D", null);
+        createTask(auth, "E", "alta");
+        createTask(auth, "F", null);
+
+        // Páginas de 2 para que el cursor caiga dentro de cada bloque, incluido el de nulos
+        assertEquals(List.of("E", "A", "B", "C", "F", "D"), titlesInPages(auth, "desc"));
+        assertEquals(List.of("D", "F", "C", "B", "A", "E"), titlesInPages(auth, "asc"));
+    }
+
+    private List<String> titlesInPages(String auth, String sortOrder) throws Exception {
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/tasks")
+                    .header(HttpHeaders.AUTHORIZATION, auth)
+                    .param("sortBy", "priority")
+                    .param("sortOrder", sortOrder)
+                    .param("limit", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = read(mockMvc.perform(request).andExpect(status().isOk()).andReturn());
+            page.get("items").forEach(item -> titles.add(item.get("title").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+        return titles;
+    }
+
+    private void createTask(String auth, String title, String priority) throws Exception {
+        Map<String, Object> body = new HashMap<>();
+        body.put("title", title);
+        body.put("dueDate", LocalDate.now().plusDays(7).toString());
+        if (priority != null) {
+            body.put("priority", priority);
+        }
+        mockMvc.perform(post("/api/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(body)))
+                .andExpect(status().isCreated());
+    }
+}
@@ -0,0 +1,159 @@
+package com.taskbit.backend.task;
+
+import com.taskbit.backend.support.ApiTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Sentencias SQL y filas leídas por endpoint de /api/tasks.
+ */
+class TaskQueryBudgetTest extends ApiTestSupport {
+
+    // Los ids salen de task_id_seq en bloques de 50: cualquier alta puede pedir el bloque
+    // siguiente (una sentencia y una fila más), según cuántos ids hayan gastado los tests anteriores
+    private static final int ID_BLOCK_FETCH = 1;
+
+    private String auth;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        auth = registerAndLogin();
+    }
+
+    @Test
+    void listingDoesNotGrowWithTheNumberOfTasks() throws Exception {
+        createTask(auth, "Tarea 0");
+        int withOne = statements(get("/api/tasks").header(HttpHeaders.AUTHORIZATION, auth));
+
+        for (int i = 1; i <= 10; i++) {
+            createTask(auth, "Tarea " + i);
+        }
+        int withEleven = statements(get("/api/tasks").header(HttpHeaders.AUTHORIZATION, auth));
+
+        assertEquals(withOne, withEleven, "GET /api/tasks hace más sentencias con más tareas (N+1)");
+        // Una página lee limit + 1 filas (la extra indica si hay más)
+        assertBudget(1, 6, get("/api/tasks").param("sortBy", "priority").param("limit", "5")
+                .header(HttpHeaders.AUTHORIZATION, auth));
+        assertBudget(1, 11, get("/api/tasks").header(HttpHeaders.AUTHORIZATION, auth));
+    }
+
+    @Test
+    void exportStreamsEveryTaskInOneQuery() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            createTask(auth, "Tarea " + i);
+        }
+
+        assertBudget(1, 10, get("/api/tasks/export").header(HttpHeaders.AUTHORIZATION, auth));
+        assertBudget(1, 10, get("/api/tasks/export").param("format", "csv").header(HttpHeaders.AUTHORIZATION, auth));
+    }
+
+    @Test
+    void importDoesNotGrowWithTheNumberOfRows() throws Exception {
+        int withOne = statements(importFile(1));
+        int withTwenty = statements(importFile(20));
+
+        assertTrue(withTwenty <= withOne + ID_BLOCK_FETCH, "POST /api/tasks/import hace más sentencias con más filas (N+1)");
+        assertBudget(3 + ID_BLOCK_FETCH, 1 + ID_BLOCK_FETCH, importFile(20));
+    }
+
+    @Test
+    void createStaysWithinBudget() throws Exception {
+        assertBudget(2 + ID_BLOCK_FETCH, ID_BLOCK_FETCH, post("/api/tasks")
+                .header(HttpHeaders.AUTHORIZATION, auth)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("title", "Nueva", "dueDate", LocalDate.now().plusDays(3).toString()))));
+    }
+
+    @Test
+    void readEndpointsStayWithinBudget() throws Exception {
+        long taskId = createTask(auth, "Informe de laboratorio");
+
+        assertBudget(1, 1, get("/api/tasks/{id}", taskId).header(HttpHeaders.AUTHORIZATION, auth));
+        assertBudget(1, 1, get("/api/tasks/counts").header(HttpHeaders.AUTHORIZATION, auth));
+        assertBudget(1, 1, get("/api/tasks/search").param("q", "informe").header(HttpHeaders.AUTHORIZATION, auth));
+        assertBudget(3, 1, get("/api/tasks/stats").header(HttpHeaders.AUTHORIZATION, auth));
+        assertBudget(2, 2, get("/api/tasks/calendar")
+                .param("from", LocalDate.now().toString())
+                .param("to", LocalDate.now().plusDays(30).toString())
+                .header(HttpHeaders.AUTHORIZATION, auth));
+    }
+
+    @Test
+    void writeEndpointsStayWithinBudget() throws Exception {
+        long taskId = createTask(auth, "Ensayo");
+
+        assertBudget(3, 1, put("/api/tasks/{id}", taskId)
+                .header(HttpHeaders.AUTHORIZATION, auth)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("title", "Ensayo final", "dueDate", LocalDate.now().plusDays(9).toString(),
+                        "priority", "media"))));
+        assertBudget(3, 1, patch("/api/tasks/{id}/status", taskId)
+                .header(HttpHeaders.AUTHORIZATION, auth)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("status", "En progreso"))));
+        assertBudget(7, 2, delete("/api/tasks/{id}", taskId).header(HttpHeaders.AUTHORIZATION, auth));
+    }
+
+    @Test
+    void deactivateAlertsDoesNotGrowWithTheNumberOfAlerts() throws Exception {
+        long taskId = createTask(auth, "Examen final");
+        for (String timeBefore : List.of("1 hours", "2 hours", "3 hours", "1 days", "2 days")) {
+            mockMvc.perform(post("/api/alerts")
+                    .header(HttpHeaders.AUTHORIZATION, auth)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(json(Map.of("taskId", taskId, "timeBefore", timeBefore))));
+        }
+
+        // Lee la tarea y los ids de sus alertas activas para sacarlas del temporizador
+        assertBudget(3, 6, post("/api/tasks/{id}/deactivate-alerts", taskId).header(HttpHeaders.AUTHORIZATION, auth));
+    }
+
+    @Test
+    void batchDoesNotGrowWithTheNumberOfOperations() throws Exception {
+        int withOne = statements(batch(1));
+        int withTen = statements(batch(10));
+
+        assertTrue(withTen <= withOne + ID_BLOCK_FETCH, "POST /api/tasks/batch hace más sentencias con más operaciones (N+1)");
+        assertBudget(2 + ID_BLOCK_FETCH, ID_BLOCK_FETCH, batch(10));
+    }
+
+    private MockHttpServletRequestBuilder importFile(int rows) {
+        StringBuilder csv = new StringBuilder("title,dueDate,priority,course\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Importada ").append(i).append(',').append(LocalDate.now().plusDays(5)).append(",media,Física\n");
+        }
+        return multipart("/api/tasks/import")
+                .file(new MockMultipartFile("file", "tareas.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8)))
+                .header(HttpHeaders.AUTHORIZATION, auth);
+    }
+
+    private MockHttpServletRequestBuilder batch(int creates) throws Exception {
+        List<Map<String, Object>> operations = new ArrayList<>();
+        for (int i = 0; i < creates; i++) {
+            operations.add(Map.of("op", "create", "title", "Lote " + i, "dueDate", LocalDate.now().plusDays(5).toString()));
+        }
+        return post("/api/tasks/batch")
+                .header(HttpHeaders.AUTHORIZATION, auth)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("operations", operations)));
+    }
+}
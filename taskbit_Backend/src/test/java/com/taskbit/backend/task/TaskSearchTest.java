@@ -0,0 +1,29 @@
+package com.taskbit.backend.task;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskbit.backend.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskSearchTest extends ApiTestSupport {
+
+    @Test
+    void highlightEscapesTaskText() throws Exception {
+        String auth = registerAndLogin();
+        createTask(auth, "<img src=x onerror=alert(1)> Parcial & \"repaso\"");
+
+        JsonNode results = read(mockMvc.perform(get("/api/tasks/search")
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .param("q", "parcial"))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertEquals(1, results.size());
+        assertEquals("&lt;img src=x onerror=alert(1)&gt; <mark>Parcial</mark> &amp; &quot;repaso&quot;",
+                results.get(0).get("titleHighlight").asText());
+    }
+}
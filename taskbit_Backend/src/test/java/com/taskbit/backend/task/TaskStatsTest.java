@@ -0,0 +1,119 @@
+package com.taskbit.backend.task;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskbit.backend.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskStatsTest extends ApiTestSupport {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void statsAggregateCompletionAndOverdueByCourseAndPriority() throws Exception {
+        String auth = registerAndLogin();
+        // Dos completadas de Cálculo (10 h y 30 h), una vencida de Física y una sin curso ni prioridad
+        completeTaking(auth, createTask(auth, "Parcial 1", "Cálculo", "alta"), 10);
+        completeTaking(auth, createTask(auth, "Parcial 2", "Cálculo", "alta"), 30);
+        long overdueId = createTask(auth, "Laboratorio", "Física", "baja");
+        jdbcTemplate.update("UPDATE task SET due_date = ? WHERE id = ?", Date.valueOf(LocalDate.now().minusDays(1)), overdueId);
+        createTask(auth, "Lectura", null, null);
+
+        JsonNode stats = read(mockMvc.perform(get("/api/tasks/stats").header(HttpHeaders.AUTHORIZATION, auth))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertEquals(4, stats.get("total").asLong());
+        assertEquals(2, stats.get("completed").asLong());
+        assertEquals(0.5, stats.get("completionRate").asDouble(), 1e-9);
+        assertEquals(20.0, stats.get("averageCompletionHours").asDouble(), 0.01);
+        assertEquals(1, stats.get("overdue").asLong());
+
+        // Cursos con más tareas primero
+        JsonNode byCourse = stats.get("byCourse");
+        assertEquals(3, byCourse.size());
+        JsonNode calculo = byCourse.get(0);
+        assertEquals("Cálculo", calculo.get("key").asText());
+        assertEquals(2, calculo.get("completed").asLong());
+        assertEquals(1.0, calculo.get("completionRate").asDouble(), 1e-9);
+        assertEquals(20.0, calculo.get("averageCompletionHours").asDouble(), 0.01);
+        JsonNode fisica = breakdown(byCourse, "Física");
+        assertEquals(1, fisica.get("overdue").asLong());
+        assertTrue(fisica.get("averageCompletionHours").isNull());
+
+        // Prioridades de alta a baja y sin prioridad al final
+        JsonNode byPriority = stats.get("byPriority");
+        assertEquals(3, byPriority.size());
+        assertEquals("alta", byPriority.get(0).get("key").asText());
+        assertEquals("baja", byPriority.get(1).get("key").asText());
+        assertEquals(1, byPriority.get(1).get("overdue").asLong());
+        assertTrue(byPriority.get(2).get("key").isNull());
+        assertEquals(1, byPriority.get(2).get("total").asLong());
+    }
+
+    @Test
+    void userWithoutTasksGetsEmptyStats() throws Exception {
+        JsonNode stats = read(mockMvc.perform(get("/api/tasks/stats").header(HttpHeaders.AUTHORIZATION, registerAndLogin()))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertEquals(0, stats.get("total").asLong());
+        assertEquals(0.0, stats.get("completionRate").asDouble());
+        assertTrue(stats.get("averageCompletionHours").isNull());
+        assertEquals(0, stats.get("byCourse").size());
+    }
+
+    private long createTask(String auth, String title, String course, String priority) throws Exception {
+        Map<String, Object> body = new HashMap<>();
+        body.put("title", title);
+        body.put("dueDate", LocalDate.now().plusDays(7).toString());
+        body.put("course", course);
+        body.put("priority", priority);
+        return read(mockMvc.perform(post("/api/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(body)))
+                .andExpect(status().isCreated())
+                .andReturn()).get("id").asLong();
+    }
+
+    // Completa la tarea y fija created_at/completed_at para que haya tardado las horas indicadas
+    private void completeTaking(String auth, long taskId, int hours) throws Exception {
+        mockMvc.perform(patch("/api/tasks/{id}/status", taskId)
+                        .header(HttpHeaders.AUTHORIZATION, auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("status", "Completada"))))
+                .andExpect(status().isOk());
+        Instant completedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        jdbcTemplate.update("UPDATE task SET created_at = ?, completed_at = ? WHERE id = ?",
+                Timestamp.from(completedAt.minus(hours, ChronoUnit.HOURS)), Timestamp.from(completedAt), taskId);
+    }
+
+    private static JsonNode breakdown(JsonNode breakdowns, String key) {
+        for (JsonNode breakdown : breakdowns) {
+            if (key.equals(breakdown.get("key").asText(null))) {
+                return breakdown;
+            }
+        }
+        throw new AssertionError("Sin desglose para " + key);
+    }
+}
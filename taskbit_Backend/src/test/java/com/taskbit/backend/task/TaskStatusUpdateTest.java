@@ -0,0 +1,79 @@
+package com.taskbit.backend.task;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.taskbit.backend.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PATCH /api/tasks/{id}/status con la versión que el cliente leyó: un UPDATE condicional que
+ * responde 409 si otra petición modificó la tarea entretanto.
+ */
+class TaskStatusUpdateTest extends ApiTestSupport {
+
+    @Test
+    void currentVersionUpdatesTheStatusAndBumpsTheVersion() throws Exception {
+        String auth = registerAndLogin();
+        long taskId = createTask(auth, "Informe de laboratorio");
+        long version = task(auth, taskId).get("version").asLong();
+
+        JsonNode updated = read(mockMvc.perform(updateStatus(auth, taskId, "En progreso", version))
+                .andExpect(status().isOk())
+                .andReturn());
+        assertEquals("En progreso", updated.get("status").asText());
+        assertEquals(version + 1, updated.get("version").asLong());
+    }
+
+    @Test
+    void staleVersionIsRejectedWithConflict() throws Exception {
+        String auth = registerAndLogin();
+        long taskId = createTask(auth, "Práctica de redes");
+        long version = task(auth, taskId).get("version").asLong();
+
+        // Otro cliente cambia el estado con la misma versión leída
+        mockMvc.perform(updateStatus(auth, taskId, "En progreso", version))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(updateStatus(auth, taskId, "Completada", version))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+
+        // La escritura rechazada no se aplicó
+        JsonNode task = task(auth, taskId);
+        assertEquals("En progreso", task.get("status").asText());
+        assertEquals(version + 1, task.get("version").asLong());
+    }
+
+    @Test
+    void unknownTaskIsNotReportedAsAConflict() throws Exception {
+        String auth = registerAndLogin();
+        long taskId = createTask(auth, "Tarea ajena");
+
+        // Con versión, pero de otro usuario: la tarea no existe para él
+        mockMvc.perform(updateStatus(registerAndLogin(), taskId, "Completada", 0L))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private MockHttpServletRequestBuilder updateStatus(String auth, long taskId, String status, long version) throws Exception {
+        return patch("/api/tasks/{id}/status", taskId)
+                .header(HttpHeaders.AUTHORIZATION, auth)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("status", status, "version", version)));
+    }
+
+    private JsonNode task(String auth, long taskId) throws Exception {
+        return read(mockMvc.perform(get("/api/tasks/{id}", taskId).header(HttpHeaders.AUTHORIZATION, auth))
+                .andExpect(status().isOk())
+                .andReturn());
+    }
+}
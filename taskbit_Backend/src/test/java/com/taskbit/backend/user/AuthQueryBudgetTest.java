@@ -0,0 +1,43 @@
+package com.taskbit.backend.user;
+
+import com.taskbit.backend.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Sentencias SQL y filas leídas por endpoint de /api/auth.
+ */
+class AuthQueryBudgetTest extends ApiTestSupport {
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Test
+    void authEndpointsStayWithinBudget() throws Exception {
+        String email = newEmail();
+
+        assertBudget(5, 2, post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("name", "Usuario de prueba", "email", email, "password", PASSWORD))));
+        assertBudget(1, 1, post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("email", email, "password", PASSWORD))));
+        assertBudget(3, 2, post("/api/auth/forgot-password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("email", email))));
+
+        Long userId = userRepository.findByEmail(email).orElseThrow().getId();
+        String token = passwordResetTokenRepository.findByUserIdAndUsedFalse(userId).get(0).getToken();
+        assertBudget(4, 2, post("/api/auth/reset-password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("token", token, "password", "NuevaClave2!"))));
+    }
+}